@@ -0,0 +1,81 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.util.random.RandomGenerator;
+
+final class AliasTable {
+
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    private AliasTable(double[] probabilities, int[] aliases) {
+        this.probabilities = probabilities;
+        this.aliases = aliases;
+    }
+
+    static AliasTable of(double[] weights) {
+        int size = weights.length;
+        if (size == 0) {
+            throw new IllegalArgumentException("weights must not be empty");
+        }
+
+        double total = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("weights must be finite and non-negative");
+            }
+            total += weight;
+        }
+        if (!(total > 0) || Double.isInfinite(total)) {
+            throw new IllegalArgumentException("weights must have a positive finite sum");
+        }
+
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int index = 0; index < size; index++) {
+            scaled[index] = weights[index] * size / total;
+            if (scaled[index] < 1.0) {
+                small[smallCount++] = index;
+            } else {
+                large[largeCount++] = index;
+            }
+        }
+
+        double[] probabilities = new double[size];
+        int[] aliases = new int[size];
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            probabilities[index] = 1.0;
+            aliases[index] = index;
+        }
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            probabilities[index] = 1.0;
+            aliases[index] = index;
+        }
+        return new AliasTable(probabilities, aliases);
+    }
+
+    int size() {
+        return probabilities.length;
+    }
+
+    int sample(RandomGenerator random) {
+        int column = random.nextInt(probabilities.length);
+        return random.nextDouble() < probabilities[column] ? column : aliases[column];
+    }
+}
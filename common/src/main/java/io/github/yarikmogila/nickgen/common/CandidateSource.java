@@ -0,0 +1,55 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.util.random.RandomGenerator;
+
+final class CandidateSource {
+
+    private final NicknameProfileGenerator profileGenerator;
+    private final NicknameRequestContext context;
+    private final String userWord;
+    private final UserWordSupport.UserWordPosition userWordPosition;
+    private final UserWordSupport.UserWordStyle userWordStyle;
+    private final boolean direct;
+
+    CandidateSource(
+            NicknameProfileGenerator profileGenerator,
+            NicknameRequestContext context,
+            String userWord,
+            UserWordSupport.UserWordPosition userWordPosition,
+            UserWordSupport.UserWordStyle userWordStyle,
+            boolean appendCandidates
+    ) {
+        this.profileGenerator = profileGenerator;
+        this.context = context;
+        this.userWord = userWord;
+        this.userWordPosition = userWordPosition;
+        this.userWordStyle = userWordStyle;
+        this.direct = appendCandidates && userWord == null;
+    }
+
+    // Returns null when the attempt produced nothing usable; the result may be the scratch buffer itself.
+    CharSequence next(RandomGenerator random, StringBuilder scratch) {
+        CharSequence candidate;
+        if (direct) {
+            scratch.setLength(0);
+            profileGenerator.appendCandidate(context, random, scratch);
+            candidate = scratch;
+        } else {
+            String generated = profileGenerator.generateCandidate(context, random);
+            if (generated == null || generated.isBlank()) {
+                return null;
+            }
+            candidate = UserWordSupport.applyUserWord(generated, userWord, userWordPosition, userWordStyle, random);
+        }
+        return isBlank(candidate) ? null : candidate;
+    }
+
+    private static boolean isBlank(CharSequence candidate) {
+        for (int index = 0; index < candidate.length(); index++) {
+            if (!Character.isWhitespace(candidate.charAt(index))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+final class CharTranslationTable {
+
+    static final char NO_MAPPING = '\uFFFF';
+
+    private static final int DENSE_LIMIT = 0x0530;
+
+    private final char[] folded;
+    private final char[] exact;
+    private final boolean preserveCase;
+
+    private CharTranslationTable(char[] folded, char[] exact, boolean preserveCase) {
+        this.folded = folded;
+        this.exact = exact;
+        this.preserveCase = preserveCase;
+    }
+
+    static CharTranslationTable of(Map<Character, Character> mapping, boolean preserveCase) {
+        Objects.requireNonNull(mapping, "mapping must not be null");
+        int limit = DENSE_LIMIT;
+        for (Map.Entry<Character, Character> entry : mapping.entrySet()) {
+            if (entry.getValue() == NO_MAPPING) {
+                throw new IllegalStateException("Character mapping must not target U+FFFF");
+            }
+            limit = Math.max(limit, entry.getKey() + 1);
+        }
+
+        char[] exact = new char[limit];
+        Arrays.fill(exact, NO_MAPPING);
+        for (Map.Entry<Character, Character> entry : mapping.entrySet()) {
+            exact[entry.getKey()] = entry.getValue();
+        }
+
+        char[] folded = new char[limit];
+        for (int symbol = 0; symbol < limit; symbol++) {
+            folded[symbol] = resolve(exact, (char) symbol, preserveCase);
+        }
+        return new CharTranslationTable(folded, exact, preserveCase);
+    }
+
+    char translate(char symbol) {
+        if (symbol < folded.length) {
+            return folded[symbol];
+        }
+        return resolve(exact, symbol, preserveCase);
+    }
+
+    private static char resolve(char[] exact, char symbol, boolean preserveCase) {
+        char lower = Character.toLowerCase(symbol);
+        if (lower >= exact.length || exact[lower] == NO_MAPPING) {
+            return NO_MAPPING;
+        }
+        char mapped = exact[lower];
+        return preserveCase && Character.isUpperCase(symbol) ? Character.toUpperCase(mapped) : mapped;
+    }
+}
@@ -0,0 +1,361 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+final class ConfigBundle {
+
+    static final String RESOURCE_PATH = "/nickgen-config.bundle";
+    static final String ENABLED_PROPERTY = "nickgen.configBundle";
+
+    private static final int MAGIC = 0x4E474231;
+    private static final int FORMAT_VERSION = 3;
+    private static final System.Logger LOGGER = System.getLogger(ConfigBundle.class.getName());
+
+    private final Map<String, Map<String, String>> properties;
+    private final Map<String, Map<Character, Character>> charMaps;
+    private final Map<String, WordTable> wordLists;
+    private final Map<String, Map<String, List<String>>> dictionaries;
+
+    private ConfigBundle(
+            Map<String, Map<String, String>> properties,
+            Map<String, Map<Character, Character>> charMaps,
+            Map<String, WordTable> wordLists,
+            Map<String, Map<String, List<String>>> dictionaries
+    ) {
+        this.properties = properties;
+        this.charMaps = charMaps;
+        this.wordLists = wordLists;
+        this.dictionaries = dictionaries;
+    }
+
+    static ConfigBundle classpath() {
+        return ClasspathHolder.BUNDLE;
+    }
+
+    Properties properties(String resourcePath) {
+        Map<String, String> values = properties.get(resourcePath);
+        if (values == null) {
+            return null;
+        }
+        Properties copy = new Properties();
+        copy.putAll(values);
+        return copy;
+    }
+
+    Map<Character, Character> charMap(String resourcePath, String key) {
+        return charMaps.get(charMapKey(resourcePath, key));
+    }
+
+    WordTable wordList(String resourcePath) {
+        return wordLists.get(resourcePath);
+    }
+
+    Map<String, List<String>> dictionary(String resourcePath) {
+        return dictionaries.get(resourcePath);
+    }
+
+    static ConfigBundle compile(ConfigSource textSource) {
+        Set<String> recorded = ConcurrentHashMap.newKeySet();
+        ConfigSource recording = ConfigSource.recording(textSource, recorded);
+        ExtensibleNicknameGenerator.EngineConfig.load(recording);
+        for (Function<ConfigSource, NicknameProfileGenerator> factory
+                : StandardNicknameGenerators.factories().values()) {
+            factory.apply(recording);
+        }
+        // Dictionaries are read on loader threads; the paths are sorted only once every factory has returned.
+        Set<String> resourcePaths = new TreeSet<>(recorded);
+
+        Set<String> dictionaryPaths = new TreeSet<>(DictionaryLoader.dictionaryPaths(
+                ConfigResourceSupport.loadProperties(textSource, DictionaryLoader.DICTIONARY_CONFIG_PATH)
+        ));
+
+        Map<String, Map<String, String>> properties = new TreeMap<>();
+        Map<String, Map<Character, Character>> charMaps = new TreeMap<>();
+        Map<String, WordTable> wordLists = new TreeMap<>();
+        Map<String, Map<String, List<String>>> dictionaries = new TreeMap<>();
+        for (String resourcePath : resourcePaths) {
+            if (resourcePath.endsWith(".properties")) {
+                Properties loaded = ConfigResourceSupport.loadProperties(textSource, resourcePath);
+                Map<String, String> values = new TreeMap<>();
+                for (String key : loaded.stringPropertyNames()) {
+                    String value = loaded.getProperty(key);
+                    values.put(key, value);
+                    if (key.endsWith("Map")) {
+                        Map<Character, Character> mapping = ConfigResourceSupport.parseCharMap(key, value.trim());
+                        charMaps.put(charMapKey(resourcePath, key), mapping);
+                    }
+                }
+                properties.put(resourcePath, values);
+            } else if (dictionaryPaths.contains(resourcePath)) {
+                dictionaries.put(resourcePath, DictionaryLoader.readGroupedWords(textSource, resourcePath));
+            } else {
+                wordLists.put(resourcePath, ConfigResourceSupport.loadWordList(textSource, resourcePath));
+            }
+        }
+        return new ConfigBundle(properties, charMaps, wordLists, dictionaries);
+    }
+
+    void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.write(file, toBytes());
+    }
+
+    byte[] toBytes() {
+        StringArena strings = new StringArena();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream sections = new DataOutputStream(bytes)) {
+            sections.writeInt(properties.size());
+            for (Map.Entry<String, Map<String, String>> file : properties.entrySet()) {
+                sections.writeInt(strings.intern(file.getKey()));
+                sections.writeInt(file.getValue().size());
+                for (Map.Entry<String, String> entry : file.getValue().entrySet()) {
+                    sections.writeInt(strings.intern(entry.getKey()));
+                    sections.writeInt(strings.intern(entry.getValue()));
+                }
+            }
+
+            sections.writeInt(charMaps.size());
+            for (Map.Entry<String, Map<Character, Character>> charMap : charMaps.entrySet()) {
+                sections.writeInt(strings.intern(charMap.getKey()));
+                Map<Character, Character> sorted = new TreeMap<>(charMap.getValue());
+                sections.writeInt(sorted.size());
+                for (Map.Entry<Character, Character> entry : sorted.entrySet()) {
+                    sections.writeChar(entry.getKey());
+                    sections.writeChar(entry.getValue());
+                }
+            }
+
+            sections.writeInt(wordLists.size());
+            for (Map.Entry<String, WordTable> wordList : wordLists.entrySet()) {
+                sections.writeInt(strings.intern(wordList.getKey()));
+                writeRun(sections, strings, wordList.getValue());
+            }
+
+            sections.writeInt(dictionaries.size());
+            for (Map.Entry<String, Map<String, List<String>>> dictionary : dictionaries.entrySet()) {
+                sections.writeInt(strings.intern(dictionary.getKey()));
+                Map<String, List<String>> groups = new TreeMap<>(dictionary.getValue());
+                sections.writeInt(groups.size());
+                for (Map.Entry<String, List<String>> group : groups.entrySet()) {
+                    sections.writeInt(strings.intern(group.getKey()));
+                    writeRun(sections, strings, WordTable.of(group.getValue()));
+                }
+            }
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed to encode config bundle", exception);
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.size() + strings.encodedSize());
+        try (DataOutputStream header = new DataOutputStream(output)) {
+            header.writeInt(MAGIC);
+            header.writeInt(FORMAT_VERSION);
+            strings.writeTo(header);
+            bytes.writeTo(header);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed to encode config bundle", exception);
+        }
+        return output.toByteArray();
+    }
+
+    static ConfigBundle read(ByteBuffer buffer) {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalStateException("Not a config bundle");
+            }
+            int version = buffer.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported config bundle version: " + version);
+            }
+
+            int stringCount = buffer.getInt();
+            int[] offsets = new int[stringCount + 1];
+            buffer.asIntBuffer().get(offsets);
+            buffer.position(buffer.position() + offsets.length * Integer.BYTES);
+            for (int index = 0; index < stringCount; index++) {
+                if (offsets[index] < 0 || offsets[index] > offsets[index + 1]) {
+                    throw new IllegalStateException("Config bundle has an invalid string table");
+                }
+            }
+            char[] chars = new char[offsets[stringCount]];
+            buffer.asCharBuffer().get(chars);
+            buffer.position(buffer.position() + chars.length * Character.BYTES);
+            WordTable strings = WordTable.view(chars, offsets, 0, stringCount, null);
+
+            int propertiesCount = buffer.getInt();
+            Map<String, Map<String, String>> properties = new HashMap<>();
+            for (int file = 0; file < propertiesCount; file++) {
+                String resourcePath = strings.get(buffer.getInt());
+                int entryCount = buffer.getInt();
+                Map<String, String> values = new HashMap<>();
+                for (int entry = 0; entry < entryCount; entry++) {
+                    values.put(strings.get(buffer.getInt()), strings.get(buffer.getInt()));
+                }
+                properties.put(resourcePath, Collections.unmodifiableMap(values));
+            }
+
+            int charMapCount = buffer.getInt();
+            Map<String, Map<Character, Character>> charMaps = new HashMap<>();
+            for (int map = 0; map < charMapCount; map++) {
+                String key = strings.get(buffer.getInt());
+                int entryCount = buffer.getInt();
+                Map<Character, Character> mapping = new HashMap<>();
+                for (int entry = 0; entry < entryCount; entry++) {
+                    mapping.put(buffer.getChar(), buffer.getChar());
+                }
+                charMaps.put(key, Map.copyOf(mapping));
+            }
+
+            int wordListCount = buffer.getInt();
+            Map<String, WordTable> wordLists = new HashMap<>();
+            for (int list = 0; list < wordListCount; list++) {
+                String resourcePath = strings.get(buffer.getInt());
+                wordLists.put(resourcePath, readRun(buffer, chars, offsets));
+            }
+
+            int dictionaryCount = buffer.getInt();
+            Map<String, Map<String, List<String>>> dictionaries = new HashMap<>();
+            for (int dictionary = 0; dictionary < dictionaryCount; dictionary++) {
+                String resourcePath = strings.get(buffer.getInt());
+                int groupCount = buffer.getInt();
+                Map<String, List<String>> groups = new LinkedHashMap<>();
+                for (int group = 0; group < groupCount; group++) {
+                    String name = strings.get(buffer.getInt());
+                    groups.put(name, readRun(buffer, chars, offsets));
+                }
+                dictionaries.put(resourcePath, Collections.unmodifiableMap(groups));
+            }
+
+            if (buffer.hasRemaining()) {
+                throw new IllegalStateException("Config bundle has trailing data");
+            }
+            return new ConfigBundle(properties, charMaps, wordLists, dictionaries);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                 | NegativeArraySizeException exception) {
+            throw new IllegalStateException("Config bundle is corrupted", exception);
+        }
+    }
+
+    private static void writeRun(DataOutputStream output, StringArena strings, WordTable words) throws IOException {
+        output.writeInt(strings.appendRun(words));
+        output.writeInt(words.size());
+        output.writeBoolean(words.weighted());
+        if (words.weighted()) {
+            for (int index = 0; index < words.size(); index++) {
+                output.writeDouble(words.weight(index));
+            }
+        }
+    }
+
+    private static WordTable readRun(ByteBuffer buffer, char[] chars, int[] offsets) {
+        int first = buffer.getInt();
+        int size = buffer.getInt();
+        double[] weights = null;
+        if (buffer.get() != 0) {
+            weights = new double[size];
+            buffer.asDoubleBuffer().get(weights);
+            buffer.position(buffer.position() + size * Double.BYTES);
+        }
+        return WordTable.view(chars, offsets, first, size, weights);
+    }
+
+    private static String charMapKey(String resourcePath, String key) {
+        return resourcePath + '#' + key;
+    }
+
+    private static ConfigBundle loadClasspathBundle() {
+        if (!Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"))) {
+            return null;
+        }
+        try (InputStream stream = ConfigBundle.class.getResourceAsStream(RESOURCE_PATH)) {
+            if (stream == null) {
+                return null;
+            }
+            return read(ByteBuffer.wrap(stream.readAllBytes()));
+        } catch (IOException | IllegalStateException exception) {
+            LOGGER.log(
+                    System.Logger.Level.WARNING,
+                    "Ignoring unreadable config bundle " + RESOURCE_PATH + ", falling back to text resources",
+                    exception
+            );
+            return null;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: ConfigBundle <output file>");
+        }
+        Path output = Path.of(args[0]);
+        compile(ConfigSource.classpathText()).write(output);
+    }
+
+    private static final class ClasspathHolder {
+        private static final ConfigBundle BUNDLE = loadClasspathBundle();
+    }
+
+    private static final class StringArena {
+        private final Map<String, Integer> interned = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private long charCount;
+
+        private int intern(String value) {
+            return interned.computeIfAbsent(value, this::add);
+        }
+
+        private int appendRun(List<String> words) {
+            int first = strings.size();
+            for (String word : words) {
+                add(word);
+            }
+            return first;
+        }
+
+        private int add(String value) {
+            charCount += value.length();
+            if (charCount > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Config bundle string arena is too large");
+            }
+            strings.add(value);
+            return strings.size() - 1;
+        }
+
+        private int encodedSize() {
+            return (int) (Integer.BYTES * (strings.size() + 2L) + Character.BYTES * charCount);
+        }
+
+        private void writeTo(DataOutputStream output) throws IOException {
+            output.writeInt(strings.size());
+            int offset = 0;
+            output.writeInt(offset);
+            for (String value : strings) {
+                offset += value.length();
+                output.writeInt(offset);
+            }
+            for (String value : strings) {
+                output.writeChars(value);
+            }
+        }
+    }
+}
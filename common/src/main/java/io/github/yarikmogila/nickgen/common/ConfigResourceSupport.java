@@ -5,26 +5,37 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 
 final class ConfigResourceSupport {
 
+    static final long MAPPED_WORD_LIST_MIN_BYTES = 1L << 20;
+
     private ConfigResourceSupport() {
     }
 
-    static Properties loadProperties(String resourcePath) {
+    static Properties loadProperties(ConfigSource source, String resourcePath) {
+        Objects.requireNonNull(source, "source must not be null");
         Objects.requireNonNull(resourcePath, "resourcePath must not be null");
 
-        InputStream inputStream = ConfigResourceSupport.class.getResourceAsStream(resourcePath);
-        if (inputStream == null) {
-            throw new IllegalStateException("Config resource is missing: " + resourcePath);
+        ConfigBundle bundle = source.bundle(resourcePath);
+        if (bundle != null) {
+            Properties bundled = bundle.properties(resourcePath);
+            if (bundled != null) {
+                return bundled;
+            }
         }
 
         Properties properties = new Properties();
-        try (InputStream stream = inputStream) {
+        try (InputStream stream = source.open(resourcePath)) {
+            if (stream == null) {
+                throw new IllegalStateException("Config resource is missing: " + resourcePath);
+            }
             properties.load(new InputStreamReader(stream, StandardCharsets.UTF_8));
         } catch (IOException exception) {
             throw new IllegalStateException("Failed to read config resource: " + resourcePath, exception);
@@ -32,23 +43,44 @@ final class ConfigResourceSupport {
         return properties;
     }
 
-    static List<String> loadWordList(String resourcePath) {
+    static WordTable loadWordList(ConfigSource source, String resourcePath) {
+        Objects.requireNonNull(source, "source must not be null");
         Objects.requireNonNull(resourcePath, "resourcePath must not be null");
 
-        InputStream inputStream = ConfigResourceSupport.class.getResourceAsStream(resourcePath);
+        ConfigBundle bundle = source.bundle(resourcePath);
+        if (bundle != null) {
+            WordTable bundled = bundle.wordList(resourcePath);
+            if (bundled != null) {
+                return bundled;
+            }
+        }
+
+        Path mappedFile = mappableFile(source, resourcePath);
+        if (mappedFile != null) {
+            return MappedWordList.map(mappedFile, resourcePath);
+        }
+
+        InputStream inputStream;
+        try {
+            inputStream = source.open(resourcePath);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed to read word list resource: " + resourcePath, exception);
+        }
         if (inputStream == null) {
             throw new IllegalStateException("Word list resource is missing: " + resourcePath);
         }
 
-        List<String> words = new ArrayList<>();
+        WordTableBuilder words = new WordTableBuilder();
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
             String line;
+            int lineNumber = 0;
             while ((line = reader.readLine()) != null) {
+                lineNumber++;
                 String trimmed = line.trim();
                 if (trimmed.isEmpty() || trimmed.startsWith("#")) {
                     continue;
                 }
-                words.add(trimmed);
+                words.addLine(trimmed, resourcePath, lineNumber);
             }
         } catch (IOException exception) {
             throw new IllegalStateException("Failed to read word list resource: " + resourcePath, exception);
@@ -57,7 +89,56 @@ final class ConfigResourceSupport {
         if (words.isEmpty()) {
             throw new IllegalStateException("Word list resource is empty: " + resourcePath);
         }
-        return List.copyOf(words);
+        return words.build();
+    }
+
+    static Path mappableFile(ConfigSource source, String resourcePath) {
+        Path file = source.file(resourcePath);
+        if (file == null) {
+            return null;
+        }
+        try {
+            return Files.size(file) >= MAPPED_WORD_LIST_MIN_BYTES ? file : null;
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed to read word list resource: " + resourcePath, exception);
+        }
+    }
+
+    static Map<Character, Character> requiredCharMap(
+            ConfigSource source,
+            String resourcePath,
+            Properties properties,
+            String key
+    ) {
+        ConfigBundle bundle = source.bundle(resourcePath);
+        if (bundle != null) {
+            Map<Character, Character> bundled = bundle.charMap(resourcePath, key);
+            if (bundled != null) {
+                return bundled;
+            }
+        }
+        return parseCharMap(key, requiredString(properties, key));
+    }
+
+    static Map<Character, Character> parseCharMap(String key, String raw) {
+        Map<Character, Character> mapping = new HashMap<>();
+        for (String pair : raw.split(",")) {
+            String trimmed = pair.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] parts = trimmed.split(":");
+            if (parts.length != 2 || parts[0].length() != 1 || parts[1].length() != 1) {
+                throw new IllegalStateException("Invalid " + key + " mapping entry: " + trimmed);
+            }
+            mapping.put(parts[0].charAt(0), parts[1].charAt(0));
+        }
+
+        if (mapping.isEmpty()) {
+            throw new IllegalStateException(key + " must contain at least one entry");
+        }
+
+        return Map.copyOf(mapping);
     }
 
     static String requiredString(Properties properties, String key) {
@@ -88,6 +169,14 @@ final class ConfigResourceSupport {
         return requiredInt(properties, key, 0, 100);
     }
 
+    static boolean optionalBoolean(Properties properties, String key, boolean defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        return requiredBoolean(properties, key);
+    }
+
     static boolean requiredBoolean(Properties properties, String key) {
         String raw = requiredString(properties, key);
         if ("true".equalsIgnoreCase(raw)) {
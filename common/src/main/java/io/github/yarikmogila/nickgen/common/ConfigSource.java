@@ -0,0 +1,121 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Set;
+
+interface ConfigSource {
+
+    InputStream open(String resourcePath) throws IOException;
+
+    default Path file(String resourcePath) {
+        return null;
+    }
+
+    default ConfigBundle bundle(String resourcePath) {
+        return null;
+    }
+
+    static ConfigSource classpath() {
+        return new ConfigSource() {
+            @Override
+            public InputStream open(String resourcePath) {
+                return ConfigSource.class.getResourceAsStream(resourcePath);
+            }
+
+            @Override
+            public ConfigBundle bundle(String resourcePath) {
+                return ConfigBundle.classpath();
+            }
+        };
+    }
+
+    static ConfigSource classpathText() {
+        return ConfigSource.class::getResourceAsStream;
+    }
+
+    static ConfigSource overlay(Path directory) {
+        return new DirectoryOverlay(directory);
+    }
+
+    // Loaders read resources on several threads at once, so every add happens under the set's own lock; callers may
+    // read the set once loading has returned.
+    static ConfigSource recording(ConfigSource delegate, Set<String> resourcePaths) {
+        Objects.requireNonNull(delegate, "delegate must not be null");
+        Objects.requireNonNull(resourcePaths, "resourcePaths must not be null");
+        return new ConfigSource() {
+            @Override
+            public InputStream open(String resourcePath) throws IOException {
+                record(resourcePaths, resourcePath);
+                return delegate.open(resourcePath);
+            }
+
+            @Override
+            public Path file(String resourcePath) {
+                record(resourcePaths, resourcePath);
+                return delegate.file(resourcePath);
+            }
+
+            @Override
+            public ConfigBundle bundle(String resourcePath) {
+                record(resourcePaths, resourcePath);
+                return delegate.bundle(resourcePath);
+            }
+        };
+    }
+
+    private static void record(Set<String> resourcePaths, String resourcePath) {
+        synchronized (resourcePaths) {
+            resourcePaths.add(resourcePath);
+        }
+    }
+
+    final class DirectoryOverlay implements ConfigSource {
+        private final Path root;
+
+        private DirectoryOverlay(Path root) {
+            this.root = Objects.requireNonNull(root, "directory must not be null").toAbsolutePath().normalize();
+        }
+
+        Path root() {
+            return root;
+        }
+
+        Path resolve(String resourcePath) {
+            String relative = resourcePath.startsWith("/") ? resourcePath.substring(1) : resourcePath;
+            Path file = root.resolve(relative).normalize();
+            if (!file.startsWith(root)) {
+                throw new IllegalStateException("Config resource escapes config directory: " + resourcePath);
+            }
+            return file;
+        }
+
+        String toResourcePath(Path file) {
+            Path relative = root.relativize(file.toAbsolutePath().normalize());
+            return "/" + relative.toString().replace(file.getFileSystem().getSeparator(), "/");
+        }
+
+        @Override
+        public Path file(String resourcePath) {
+            Path file = resolve(resourcePath);
+            return Files.isRegularFile(file) ? file : null;
+        }
+
+        @Override
+        public ConfigBundle bundle(String resourcePath) {
+            return Files.isRegularFile(resolve(resourcePath)) ? null : ConfigBundle.classpath();
+        }
+
+        @Override
+        public InputStream open(String resourcePath) throws IOException {
+            Path file = resolve(resourcePath);
+            if (Files.isRegularFile(file)) {
+                return Files.newInputStream(file);
+            }
+            return ConfigSource.class.getResourceAsStream(resourcePath);
+        }
+    }
+}
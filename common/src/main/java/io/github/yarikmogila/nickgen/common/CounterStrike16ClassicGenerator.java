@@ -1,23 +1,26 @@
 package io.github.yarikmogila.nickgen.common;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Properties;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 final class CounterStrike16ClassicGenerator implements NicknameProfileGenerator {
 
     private static final CounterStrike16Config CONFIG = CounterStrike16Config.loadDefault();
 
+    private static final ThreadLocal<TokenBuffer> TOKEN_BUFFERS = ThreadLocal.withInitial(TokenBuffer::new);
+
     private final CounterStrike16Config config;
 
     CounterStrike16ClassicGenerator() {
         this(CONFIG);
     }
 
+    CounterStrike16ClassicGenerator(ConfigSource source) {
+        this(CounterStrike16Config.load(source));
+    }
+
     private CounterStrike16ClassicGenerator(CounterStrike16Config config) {
         this.config = config;
     }
@@ -38,242 +41,265 @@ final class CounterStrike16ClassicGenerator implements NicknameProfileGenerator
     }
 
     @Override
-    public String generateCandidate(NicknameRequestContext context, Random random) {
+    public String generateCandidate(NicknameRequestContext context, RandomGenerator random) {
+        return buildNickname(random).toString();
+    }
+
+    @Override
+    public void appendCandidate(NicknameRequestContext context, RandomGenerator random, StringBuilder target) {
+        target.append(buildNickname(random));
+    }
+
+    private StringBuilder buildNickname(RandomGenerator random) {
+        TokenBuffer buffer = TOKEN_BUFFERS.get().reset();
+        StringBuilder tokens = buffer.tokens;
+
         int tokenCount = randomBetween(random, config.tokenMin(), config.tokenMax());
-        String separator = pick(config.separators(), random);
+        StringBuilder separator = buffer.separator;
+        sampleInto(separator, config.separators(), random);
         if (isAggressiveSeparator(separator)) {
             tokenCount = Math.min(tokenCount, 2);
         }
 
-        List<String> tokens = new ArrayList<>(tokenCount);
-
         for (int index = 0; index < tokenCount; index++) {
-            String source = pickSourceToken(random);
-            String transformed = transformToken(source, random);
-            if (!transformed.isBlank()) {
-                tokens.add(transformed);
+            int start = tokens.length();
+            appendSourceToken(tokens, random);
+            transformToken(tokens, start, random);
+            if (isBlank(tokens, start)) {
+                tokens.setLength(start);
+            } else {
+                buffer.endToken();
             }
         }
 
-        if (tokens.isEmpty()) {
-            tokens.add(transformToken(pick(config.coreWords(), random), random));
+        if (buffer.count == 0) {
+            WordTable coreWords = config.coreWords();
+            coreWords.appendTo(tokens, coreWords.sample(random));
+            transformToken(tokens, 0, random);
+            buffer.endToken();
         }
 
-        if (tokens.size() > 1 && containsHardSeparator(tokens.get(0))) {
-            tokens = List.of(tokens.get(0), normalizeSecondaryToken(tokens.get(1)));
-            separator = "_";
+        if (buffer.count > 1 && containsHardSeparator(tokens, 0, buffer.end(0))) {
+            buffer.truncate(2);
+            normalizeSecondaryToken(tokens, buffer.start(1), buffer.end(1));
+            separator.setLength(0);
+            separator.append('_');
         }
 
-        if (tokens.size() > 1 && isAggressiveSeparator(separator) && containsHardSeparator(tokens.get(1))) {
-            separator = "_";
+        if (buffer.count > 1 && isAggressiveSeparator(separator)
+                && containsHardSeparator(tokens, buffer.start(1), buffer.end(1))) {
+            separator.setLength(0);
+            separator.append('_');
         }
 
-        String nickname = String.join(separator, tokens);
+        StringBuilder nickname = buffer.nickname;
+        for (int index = 0; index < buffer.count; index++) {
+            if (index > 0) {
+                nickname.append(separator);
+            }
+            nickname.append(tokens, buffer.start(index), buffer.end(index));
+        }
 
-        nickname = maybeInjectMathSymbol(nickname, separator, random);
-        nickname = maybeWrapDecorations(nickname, random);
-        nickname = maybeAppendNumber(nickname, random);
+        maybeInjectMathSymbol(nickname, separator, buffer.word, random);
+        maybeWrapDecorations(nickname, buffer.word, random);
+        maybeAppendNumber(nickname, random);
 
         return nickname;
     }
 
-    private String pickSourceToken(Random random) {
+    private void appendSourceToken(StringBuilder target, RandomGenerator random) {
+        WordTable words = pickSourceWords(random);
+        words.appendTo(target, words.sample(random));
+    }
+
+    private WordTable pickSourceWords(RandomGenerator random) {
         int roll = random.nextInt(100);
         if (roll < config.coreChancePercent()) {
-            return pick(config.coreWords(), random);
+            return config.coreWords();
         }
         roll -= config.coreChancePercent();
         if (roll < config.gameChancePercent()) {
-            return pick(config.gameWords(), random);
+            return config.gameWords();
         }
         roll -= config.gameChancePercent();
         if (roll < config.memeChancePercent()) {
-            return pick(config.memeWords(), random);
+            return config.memeWords();
         }
-        return pick(config.randomWords(), random);
+        return config.randomWords();
     }
 
-    private String transformToken(String token, Random random) {
-        String transformed = token;
+    private void transformToken(StringBuilder token, int start, RandomGenerator random) {
         if (!config.normalizeMixedTokenScript()) {
-            transformed = maybeMixScripts(transformed, random);
+            maybeMixScripts(token, start, random);
         }
-        transformed = maybeLeetReplace(transformed, random);
-        transformed = applyCasePattern(transformed, random);
+        maybeLeetReplace(token, start, random);
+        applyCasePattern(token, start, random);
         if (config.normalizeMixedTokenScript()) {
-            transformed = normalizeMixedScripts(transformed);
+            normalizeMixedScripts(token, start);
         }
-        return transformed;
     }
 
-    private String maybeMixScripts(String token, Random random) {
-        if (containsBothScripts(token)) {
-            return token;
+    private void maybeMixScripts(StringBuilder token, int start, RandomGenerator random) {
+        if (containsBothScripts(token, start)) {
+            return;
         }
 
         int replacements = 0;
-        StringBuilder builder = new StringBuilder(token.length());
-        for (int index = 0; index < token.length(); index++) {
-            char symbol = token.charAt(index);
+        for (int index = start; index < token.length(); index++) {
             if (random.nextInt(100) >= config.scriptMixChancePercent()
                     || replacements >= config.scriptMixMaxReplacements()) {
-                builder.append(symbol);
                 continue;
             }
 
-            Character mapped = mapCrossScriptChar(symbol);
-            if (mapped != null) {
-                builder.append(mapped);
+            char mapped = mapCrossScriptChar(token.charAt(index));
+            if (mapped != CharTranslationTable.NO_MAPPING) {
+                token.setCharAt(index, mapped);
                 replacements++;
-                continue;
             }
-
-            builder.append(symbol);
         }
-        return builder.toString();
     }
 
-    private String maybeLeetReplace(String token, Random random) {
-        StringBuilder builder = new StringBuilder(token.length());
-        for (int index = 0; index < token.length(); index++) {
-            char symbol = token.charAt(index);
-            char lower = Character.toLowerCase(symbol);
-            Character replacement = config.leetMap().get(lower);
-            if (replacement != null && random.nextInt(100) < config.leetChancePercent()) {
-                builder.append(replacement);
-            } else {
-                builder.append(symbol);
+    private void maybeLeetReplace(StringBuilder token, int start, RandomGenerator random) {
+        for (int index = start; index < token.length(); index++) {
+            char replacement = config.leetTable().translate(token.charAt(index));
+            if (replacement != CharTranslationTable.NO_MAPPING && random.nextInt(100) < config.leetChancePercent()) {
+                token.setCharAt(index, replacement);
             }
         }
-        return builder.toString();
     }
 
-    private String applyCasePattern(String token, Random random) {
+    private void applyCasePattern(StringBuilder token, int start, RandomGenerator random) {
         int totalWeight = config.caseWeightUpper() + config.caseWeightLower()
                 + config.caseWeightAlternating() + config.caseWeightContrast();
         int roll = random.nextInt(totalWeight);
 
         if (roll < config.caseWeightUpper()) {
-            return token.toUpperCase(Locale.ROOT);
+            TextCase.upperCase(token, start, token.length());
+            return;
         }
         roll -= config.caseWeightUpper();
 
         if (roll < config.caseWeightLower()) {
-            return token.toLowerCase(Locale.ROOT);
+            TextCase.lowerCase(token, start, token.length());
+            return;
         }
         roll -= config.caseWeightLower();
 
         if (roll < config.caseWeightAlternating()) {
-            return alternatingCase(token);
+            alternatingCase(token, start);
+            return;
         }
 
-        return contrastCase(token);
+        contrastCase(token, start);
     }
 
-    private String alternatingCase(String token) {
-        StringBuilder builder = new StringBuilder(token.length());
+    private void alternatingCase(StringBuilder token, int start) {
         boolean upper = true;
-        for (int index = 0; index < token.length(); index++) {
+        for (int index = start; index < token.length(); index++) {
             char symbol = token.charAt(index);
             if (!Character.isLetter(symbol)) {
-                builder.append(symbol);
                 continue;
             }
-            builder.append(upper ? Character.toUpperCase(symbol) : Character.toLowerCase(symbol));
+            token.setCharAt(index, upper ? Character.toUpperCase(symbol) : Character.toLowerCase(symbol));
             upper = !upper;
         }
-        return builder.toString();
     }
 
-    private String contrastCase(String token) {
-        if (token.length() < 2) {
-            return token.toUpperCase(Locale.ROOT);
+    private void contrastCase(StringBuilder token, int start) {
+        int length = token.length() - start;
+        if (length < 2) {
+            TextCase.upperCase(token, start, token.length());
+            return;
         }
 
-        int split = token.length() / 2;
-        String head = token.substring(0, split).toLowerCase(Locale.ROOT);
+        int split = start + length / 2;
+        if (TextCase.hasSimpleCaseMapping(token, start, token.length())) {
+            TextCase.lowerCase(token, start, split);
+            TextCase.upperCase(token, split, token.length());
+            return;
+        }
+
+        String head = token.substring(start, split).toLowerCase(Locale.ROOT);
         String tail = token.substring(split).toUpperCase(Locale.ROOT);
-        return head + tail;
+        token.setLength(start);
+        token.append(head).append(tail);
     }
 
-    private String maybeInjectMathSymbol(String nickname, String separator, Random random) {
+    private void maybeInjectMathSymbol(
+            StringBuilder nickname,
+            CharSequence separator,
+            StringBuilder symbol,
+            RandomGenerator random
+    ) {
         if (separator.isEmpty()) {
-            return nickname;
+            return;
         }
         if (random.nextInt(100) >= config.mathSymbolChancePercent()) {
-            return nickname;
+            return;
         }
 
-        int separatorIndex = nickname.indexOf(separator);
+        int separatorIndex = indexOf(nickname, separator);
         if (separatorIndex < 0) {
-            return nickname;
+            return;
         }
 
-        String symbol = pick(config.mathSymbols(), random);
-        return nickname.substring(0, separatorIndex) + symbol + nickname.substring(separatorIndex + separator.length());
+        sampleInto(symbol, config.mathSymbols(), random);
+        nickname.delete(separatorIndex, separatorIndex + separator.length())
+                .insert(separatorIndex, symbol, 0, symbol.length());
     }
 
-    private String maybeWrapDecorations(String nickname, Random random) {
+    private void maybeWrapDecorations(StringBuilder nickname, StringBuilder decoration, RandomGenerator random) {
         if (random.nextInt(100) >= config.decorationChancePercent()) {
-            return nickname;
+            return;
         }
 
-        String decoration = pick(config.decorations(), random);
-        return decoration + nickname + decoration;
+        sampleInto(decoration, config.decorations(), random);
+        nickname.insert(0, decoration, 0, decoration.length()).append(decoration);
     }
 
-    private String maybeAppendNumber(String nickname, Random random) {
+    private void maybeAppendNumber(StringBuilder nickname, RandomGenerator random) {
         if (random.nextInt(100) >= config.numberChancePercent()) {
-            return nickname;
+            return;
         }
 
-        int number = randomBetween(random, config.numberMin(), config.numberMax());
-        return nickname + number;
+        nickname.append(randomBetween(random, config.numberMin(), config.numberMax()));
     }
 
-    private int randomBetween(Random random, int min, int max) {
+    private int randomBetween(RandomGenerator random, int min, int max) {
         return min + random.nextInt(max - min + 1);
     }
 
-    private Character mapCrossScriptChar(char symbol) {
-        char lower = Character.toLowerCase(symbol);
-
-        Character latinToCyr = config.latinToCyrMap().get(lower);
-        if (latinToCyr != null) {
-            return Character.isUpperCase(symbol) ? Character.toUpperCase(latinToCyr) : latinToCyr;
-        }
-
-        Character cyrToLatin = config.cyrToLatinMap().get(lower);
-        if (cyrToLatin != null) {
-            return Character.isUpperCase(symbol) ? Character.toUpperCase(cyrToLatin) : cyrToLatin;
+    private char mapCrossScriptChar(char symbol) {
+        char latinToCyr = config.latinToCyrTable().translate(symbol);
+        if (latinToCyr != CharTranslationTable.NO_MAPPING) {
+            return latinToCyr;
         }
-
-        return null;
+        return config.cyrToLatinTable().translate(symbol);
     }
 
-    private String normalizeMixedScripts(String token) {
-        Script dominantScript = resolveDominantScript(token);
+    private void normalizeMixedScripts(StringBuilder token, int start) {
+        Script dominantScript = resolveDominantScript(token, start);
         if (dominantScript == null) {
-            return token;
+            return;
         }
 
-        StringBuilder builder = new StringBuilder(token.length());
-        for (int index = 0; index < token.length(); index++) {
-            char symbol = token.charAt(index);
-            Character mapped = dominantScript == Script.LATIN
-                    ? mapToLatin(symbol)
-                    : mapToCyrillic(symbol);
-            builder.append(mapped != null ? mapped : symbol);
+        CharTranslationTable table = dominantScript == Script.LATIN
+                ? config.cyrToLatinTable()
+                : config.latinToCyrTable();
+        for (int index = start; index < token.length(); index++) {
+            char mapped = table.translate(token.charAt(index));
+            if (mapped != CharTranslationTable.NO_MAPPING) {
+                token.setCharAt(index, mapped);
+            }
         }
-        return builder.toString();
     }
 
-    private Script resolveDominantScript(String token) {
+    private Script resolveDominantScript(CharSequence token, int start) {
         int latinCount = 0;
         int cyrillicCount = 0;
         Script firstLetterScript = null;
 
-        for (int index = 0; index < token.length(); index++) {
+        for (int index = start; index < token.length(); index++) {
             char symbol = token.charAt(index);
             if (!Character.isLetter(symbol)) {
                 continue;
@@ -302,29 +328,11 @@ final class CounterStrike16ClassicGenerator implements NicknameProfileGenerator
         return latinCount > cyrillicCount ? Script.LATIN : Script.CYRILLIC;
     }
 
-    private Character mapToLatin(char symbol) {
-        char lower = Character.toLowerCase(symbol);
-        Character mapped = config.cyrToLatinMap().get(lower);
-        if (mapped == null) {
-            return null;
-        }
-        return Character.isUpperCase(symbol) ? Character.toUpperCase(mapped) : mapped;
-    }
-
-    private Character mapToCyrillic(char symbol) {
-        char lower = Character.toLowerCase(symbol);
-        Character mapped = config.latinToCyrMap().get(lower);
-        if (mapped == null) {
-            return null;
-        }
-        return Character.isUpperCase(symbol) ? Character.toUpperCase(mapped) : mapped;
-    }
-
-    private boolean containsBothScripts(String token) {
+    private boolean containsBothScripts(CharSequence token, int start) {
         boolean hasLatin = false;
         boolean hasCyrillic = false;
 
-        for (int index = 0; index < token.length(); index++) {
+        for (int index = start; index < token.length(); index++) {
             char symbol = token.charAt(index);
             if (!Character.isLetter(symbol)) {
                 continue;
@@ -345,19 +353,39 @@ final class CounterStrike16ClassicGenerator implements NicknameProfileGenerator
         return false;
     }
 
-    private boolean isAggressiveSeparator(String separator) {
-        return "/".equals(separator) || "|".equals(separator);
+    private static boolean isBlank(CharSequence token, int start) {
+        for (int index = start; index < token.length(); index++) {
+            if (!Character.isWhitespace(token.charAt(index))) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private boolean containsHardSeparator(String token) {
-        return token.contains("/") || token.contains("|") || token.contains("::") || token.contains("__");
+    private boolean isAggressiveSeparator(CharSequence separator) {
+        return separator.length() == 1 && (separator.charAt(0) == '/' || separator.charAt(0) == '|');
     }
 
-    private String normalizeSecondaryToken(String token) {
-        if (token == null || token.isBlank()) {
-            return "X";
+    private boolean containsHardSeparator(CharSequence token, int start, int end) {
+        for (int index = start; index < end; index++) {
+            char symbol = token.charAt(index);
+            if (symbol == '/' || symbol == '|') {
+                return true;
+            }
+            if ((symbol == ':' || symbol == '_') && index + 1 < end && token.charAt(index + 1) == symbol) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void normalizeSecondaryToken(StringBuilder tokens, int start, int end) {
+        for (int index = start; index < end; index++) {
+            char symbol = tokens.charAt(index);
+            if (symbol == '/' || symbol == '|' || symbol == ':') {
+                tokens.setCharAt(index, '_');
+            }
         }
-        return token.replace('/', '_').replace('|', '_').replace(':', '_');
     }
 
     private enum Script {
@@ -365,23 +393,75 @@ final class CounterStrike16ClassicGenerator implements NicknameProfileGenerator
         CYRILLIC
     }
 
-    private String pick(List<String> values, Random random) {
-        return values.get(random.nextInt(values.size()));
+    private static final class TokenBuffer {
+        private final StringBuilder tokens = new StringBuilder(64);
+        private final StringBuilder nickname = new StringBuilder(64);
+        private final StringBuilder separator = new StringBuilder(8);
+        private final StringBuilder word = new StringBuilder(16);
+        private int[] ends = new int[12];
+        private int count;
+
+        private TokenBuffer reset() {
+            tokens.setLength(0);
+            nickname.setLength(0);
+            count = 0;
+            return this;
+        }
+
+        private void endToken() {
+            if (count == ends.length) {
+                ends = Arrays.copyOf(ends, count << 1);
+            }
+            ends[count++] = tokens.length();
+        }
+
+        private int start(int index) {
+            return index == 0 ? 0 : ends[index - 1];
+        }
+
+        private int end(int index) {
+            return ends[index];
+        }
+
+        private void truncate(int newCount) {
+            count = newCount;
+            tokens.setLength(ends[newCount - 1]);
+        }
+    }
+
+    // Replaces the contents of target with a sampled word, without materializing it as a String.
+    private void sampleInto(StringBuilder target, WordTable values, RandomGenerator random) {
+        target.setLength(0);
+        values.appendTo(target, values.sample(random));
+    }
+
+    private static int indexOf(CharSequence text, CharSequence part) {
+        int last = text.length() - part.length();
+        for (int start = 0; start <= last; start++) {
+            int matched = 0;
+            while (matched < part.length() && text.charAt(start + matched) == part.charAt(matched)) {
+                matched++;
+            }
+            if (matched == part.length()) {
+                return start;
+            }
+        }
+        return -1;
     }
 
     private record CounterStrike16Config(
             String displayName,
             String description,
-            List<String> coreWords,
-            List<String> memeWords,
-            List<String> gameWords,
-            List<String> randomWords,
-            List<String> separators,
-            List<String> decorations,
-            List<String> mathSymbols,
-            Map<Character, Character> leetMap,
-            Map<Character, Character> latinToCyrMap,
-            Map<Character, Character> cyrToLatinMap,
+            WordTable coreWords,
+            WordTable memeWords,
+            WordTable gameWords,
+            WordTable randomWords,
+            WordTable separators,
+            WordTable decorations,
+            WordTable mathSymbols,
+            CharTranslationTable leetTable,
+            CharTranslationTable latinToCyrTable,
+            CharTranslationTable cyrToLatinTable,
             int tokenMin,
             int tokenMax,
             int coreChancePercent,
@@ -404,41 +484,55 @@ final class CounterStrike16ClassicGenerator implements NicknameProfileGenerator
         private static final String RESOURCE_PATH = "/generators/cs16-classic.properties";
 
         private static CounterStrike16Config loadDefault() {
-            Properties properties = ConfigResourceSupport.loadProperties(RESOURCE_PATH);
+            return load(ConfigSource.classpath());
+        }
+
+        private static CounterStrike16Config load(ConfigSource source) {
+            Properties properties = ConfigResourceSupport.loadProperties(source, RESOURCE_PATH);
 
             String displayName = ConfigResourceSupport.requiredString(properties, "displayName");
             String description = ConfigResourceSupport.requiredString(properties, "description");
 
-            List<String> coreWords = ConfigResourceSupport.loadWordList(
+            WordTable coreWords = ConfigResourceSupport.loadWordList(
+                    source,
                     ConfigResourceSupport.requiredString(properties, "coreWordsFile")
             );
-            List<String> memeWords = ConfigResourceSupport.loadWordList(
+            WordTable memeWords = ConfigResourceSupport.loadWordList(
+                    source,
                     ConfigResourceSupport.requiredString(properties, "memeWordsFile")
             );
-            List<String> gameWords = ConfigResourceSupport.loadWordList(
+            WordTable gameWords = ConfigResourceSupport.loadWordList(
+                    source,
                     ConfigResourceSupport.requiredString(properties, "gameWordsFile")
             );
-            List<String> randomWords = ConfigResourceSupport.loadWordList(
+            WordTable randomWords = ConfigResourceSupport.loadWordList(
+                    source,
                     ConfigResourceSupport.requiredString(properties, "randomWordsFile")
             );
-            List<String> separators = ConfigResourceSupport.loadWordList(
+            WordTable separators = ConfigResourceSupport.loadWordList(
+                    source,
                     ConfigResourceSupport.requiredString(properties, "separatorsFile")
             );
-            List<String> decorations = ConfigResourceSupport.loadWordList(
+            WordTable decorations = ConfigResourceSupport.loadWordList(
+                    source,
                     ConfigResourceSupport.requiredString(properties, "decorationsFile")
             );
-            List<String> mathSymbols = ConfigResourceSupport.loadWordList(
+            WordTable mathSymbols = ConfigResourceSupport.loadWordList(
+                    source,
                     ConfigResourceSupport.requiredString(properties, "mathSymbolsFile")
             );
 
-            Map<Character, Character> leetMap = parseCharMap(
-                    ConfigResourceSupport.requiredString(properties, "leetMap")
+            CharTranslationTable leetTable = CharTranslationTable.of(
+                    ConfigResourceSupport.requiredCharMap(source, RESOURCE_PATH, properties, "leetMap"),
+                    false
             );
-            Map<Character, Character> latinToCyrMap = parseCharMap(
-                    ConfigResourceSupport.requiredString(properties, "latinToCyrMap")
+            CharTranslationTable latinToCyrTable = CharTranslationTable.of(
+                    ConfigResourceSupport.requiredCharMap(source, RESOURCE_PATH, properties, "latinToCyrMap"),
+                    true
             );
-            Map<Character, Character> cyrToLatinMap = parseCharMap(
-                    ConfigResourceSupport.requiredString(properties, "cyrToLatinMap")
+            CharTranslationTable cyrToLatinTable = CharTranslationTable.of(
+                    ConfigResourceSupport.requiredCharMap(source, RESOURCE_PATH, properties, "cyrToLatinMap"),
+                    true
             );
 
             int tokenMin = ConfigResourceSupport.requiredInt(properties, "tokenMin", 1, 10);
@@ -488,9 +582,9 @@ final class CounterStrike16ClassicGenerator implements NicknameProfileGenerator
                     separators,
                     decorations,
                     mathSymbols,
-                    leetMap,
-                    latinToCyrMap,
-                    cyrToLatinMap,
+                    leetTable,
+                    latinToCyrTable,
+                    cyrToLatinTable,
                     tokenMin,
                     tokenMax,
                     coreChancePercent,
@@ -511,27 +605,5 @@ final class CounterStrike16ClassicGenerator implements NicknameProfileGenerator
                     caseWeightContrast
             );
         }
-
-        private static Map<Character, Character> parseCharMap(String raw) {
-            String[] pairs = raw.split(",");
-            Map<Character, Character> mapping = new HashMap<>();
-            for (String pair : pairs) {
-                String trimmed = pair.trim();
-                if (trimmed.isEmpty()) {
-                    continue;
-                }
-                String[] parts = trimmed.split(":");
-                if (parts.length != 2 || parts[0].length() != 1 || parts[1].length() != 1) {
-                    throw new IllegalStateException("Invalid mapping entry: " + trimmed);
-                }
-                mapping.put(parts[0].charAt(0), parts[1].charAt(0));
-            }
-
-            if (mapping.isEmpty()) {
-                throw new IllegalStateException("Mapping must contain at least one entry");
-            }
-
-            return Map.copyOf(mapping);
-        }
     }
 }
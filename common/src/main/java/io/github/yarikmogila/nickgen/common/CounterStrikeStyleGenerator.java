@@ -1,19 +1,26 @@
 package io.github.yarikmogila.nickgen.common;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
+import java.util.OptionalLong;
 import java.util.Properties;
-import java.util.Random;
+import java.util.Set;
+import java.util.random.RandomGenerator;
 
 final class CounterStrikeStyleGenerator implements NicknameProfileGenerator {
 
     private static final CounterStrikeConfig CONFIG = CounterStrikeConfig.loadDefault();
-
-    private final List<String> stems;
-    private final List<String> suffixes;
-    private final Map<Character, Character> leetMap;
+    private static final int MAX_PRECOMPUTED_VARIANTS = 1 << 20;
+    private static final String EMPTY_MARKER = "<empty>";
+
+    private final String displayName;
+    private final String description;
+    private final WordTable stems;
+    private final WordTable suffixes;
+    private final CharTranslationTable leetTable;
     private final int leetChancePercent;
     private final int bareNumberChancePercent;
     private final int numberMin;
@@ -22,27 +29,41 @@ final class CounterStrikeStyleGenerator implements NicknameProfileGenerator {
     private final int caseWeightUpper;
     private final int caseWeightCapitalized;
     private final int caseWeightTailUpper;
+    private final WordTable stemVariants;
 
     CounterStrikeStyleGenerator() {
+        this(CONFIG);
+    }
+
+    CounterStrikeStyleGenerator(ConfigSource source) {
+        this(CounterStrikeConfig.load(source));
+    }
+
+    private CounterStrikeStyleGenerator(CounterStrikeConfig config) {
         this(
-                CONFIG.stems(),
-                CONFIG.suffixes(),
-                CONFIG.leetMap(),
-                CONFIG.leetChancePercent(),
-                CONFIG.bareNumberChancePercent(),
-                CONFIG.numberMin(),
-                CONFIG.numberMax(),
-                CONFIG.caseWeightLower(),
-                CONFIG.caseWeightUpper(),
-                CONFIG.caseWeightCapitalized(),
-                CONFIG.caseWeightTailUpper()
+                config.displayName(),
+                config.description(),
+                config.stems(),
+                config.suffixes(),
+                config.leetTable(),
+                config.leetChancePercent(),
+                config.bareNumberChancePercent(),
+                config.numberMin(),
+                config.numberMax(),
+                config.caseWeightLower(),
+                config.caseWeightUpper(),
+                config.caseWeightCapitalized(),
+                config.caseWeightTailUpper(),
+                config.precomputeVariants()
         );
     }
 
     private CounterStrikeStyleGenerator(
-            List<String> stems,
-            List<String> suffixes,
-            Map<Character, Character> leetMap,
+            String displayName,
+            String description,
+            WordTable stems,
+            WordTable suffixes,
+            CharTranslationTable leetTable,
             int leetChancePercent,
             int bareNumberChancePercent,
             int numberMin,
@@ -50,11 +71,14 @@ final class CounterStrikeStyleGenerator implements NicknameProfileGenerator {
             int caseWeightLower,
             int caseWeightUpper,
             int caseWeightCapitalized,
-            int caseWeightTailUpper
+            int caseWeightTailUpper,
+            boolean precomputeVariants
     ) {
-        this.stems = List.copyOf(stems);
-        this.suffixes = List.copyOf(suffixes);
-        this.leetMap = Map.copyOf(leetMap);
+        this.displayName = displayName;
+        this.description = description;
+        this.stems = stems;
+        this.suffixes = suffixes;
+        this.leetTable = leetTable;
         this.leetChancePercent = leetChancePercent;
         this.bareNumberChancePercent = bareNumberChancePercent;
         this.numberMin = numberMin;
@@ -63,6 +87,7 @@ final class CounterStrikeStyleGenerator implements NicknameProfileGenerator {
         this.caseWeightUpper = caseWeightUpper;
         this.caseWeightCapitalized = caseWeightCapitalized;
         this.caseWeightTailUpper = caseWeightTailUpper;
+        this.stemVariants = precomputeVariants ? precomputeStemVariants() : null;
     }
 
     @Override
@@ -72,82 +97,225 @@ final class CounterStrikeStyleGenerator implements NicknameProfileGenerator {
 
     @Override
     public String displayName() {
-        return CONFIG.displayName();
+        return displayName;
     }
 
     @Override
     public String description() {
-        return CONFIG.description();
+        return description;
+    }
+
+    @Override
+    public String generateCandidate(NicknameRequestContext context, RandomGenerator random) {
+        StringBuilder nickname = new StringBuilder(24);
+        appendCandidate(context, random, nickname);
+        return nickname.toString();
     }
 
     @Override
-    public String generateCandidate(NicknameRequestContext context, Random random) {
-        String stem = pick(stems, random);
-        String withLeet = applyLeet(stem, random);
-        String withCase = applyCase(withLeet, random);
-        String suffix = pick(suffixes, random);
+    public void appendCandidate(NicknameRequestContext context, RandomGenerator random, StringBuilder target) {
+        if (stemVariants != null) {
+            stemVariants.appendTo(target, stemVariants.sample(random));
+        } else {
+            int stemStart = target.length();
+            appendWord(target, stems, random);
+            applyLeet(target, stemStart, random);
+            applyCase(target, stemStart, casePattern(random));
+        }
 
-        if (suffix.isEmpty() && random.nextInt(100) < bareNumberChancePercent) {
-            return withCase + randomBetween(random, numberMin, numberMax);
+        int suffixStart = target.length();
+        appendWord(target, suffixes, random);
+        if (target.length() == suffixStart && random.nextInt(100) < bareNumberChancePercent) {
+            target.append(randomBetween(random, numberMin, numberMax));
         }
-        return withCase + suffix;
     }
 
-    private int randomBetween(Random random, int min, int max) {
+    private int randomBetween(RandomGenerator random, int min, int max) {
         return min + random.nextInt(max - min + 1);
     }
 
-    private String applyLeet(String stem, Random random) {
-        StringBuilder builder = new StringBuilder(stem.length());
-        for (char symbol : stem.toCharArray()) {
-            char lower = Character.toLowerCase(symbol);
-            if (random.nextInt(100) < leetChancePercent && leetMap.containsKey(lower)) {
-                builder.append(leetMap.get(lower));
-            } else {
-                builder.append(symbol);
+    private void applyLeet(StringBuilder stem, int start, RandomGenerator random) {
+        for (int index = start; index < stem.length(); index++) {
+            char replacement = leetTable.translate(stem.charAt(index));
+            if (random.nextInt(100) < leetChancePercent && replacement != CharTranslationTable.NO_MAPPING) {
+                stem.setCharAt(index, replacement);
+            }
+        }
+    }
+
+    // Distinct stem variants times distinct suffix outputs. This is an upper bound, not the exact output space: a
+    // variant followed by one suffix can spell the same nickname as another variant followed by a different suffix.
+    OptionalLong candidateSpaceUpperBound() {
+        if (stemVariants == null) {
+            return OptionalLong.empty();
+        }
+
+        Set<String> distinctSuffixes = new HashSet<>();
+        long suffixOutputs = 0;
+        for (String suffix : suffixes) {
+            String value = EMPTY_MARKER.equals(suffix) ? "" : suffix;
+            if (!distinctSuffixes.add(value)) {
+                continue;
+            }
+            if (!value.isEmpty()) {
+                suffixOutputs++;
+                continue;
+            }
+            if (bareNumberChancePercent < 100) {
+                suffixOutputs++;
+            }
+            if (bareNumberChancePercent > 0) {
+                suffixOutputs += (long) numberMax - numberMin + 1;
+            }
+        }
+        return OptionalLong.of(stemVariants.size() * suffixOutputs);
+    }
+
+    private WordTable precomputeStemVariants() {
+        Map<String, Double> variants = new LinkedHashMap<>();
+        double stemTotal = stems.totalWeight();
+        int caseTotal = caseWeightLower + caseWeightUpper + caseWeightCapitalized + caseWeightTailUpper;
+        long expanded = 0;
+
+        for (int index = 0; index < stems.size(); index++) {
+            String stem = stems.get(index);
+            if (EMPTY_MARKER.equals(stem)) {
+                stem = "";
+            }
+            List<Integer> leetPositions = new ArrayList<>();
+            for (int position = 0; position < stem.length(); position++) {
+                if (leetTable.translate(stem.charAt(position)) != CharTranslationTable.NO_MAPPING) {
+                    leetPositions.add(position);
+                }
+            }
+
+            expanded += (1L << Math.min(leetPositions.size(), 40)) * CasePattern.values().length;
+            if (expanded > MAX_PRECOMPUTED_VARIANTS) {
+                throw new IllegalStateException(
+                        "precomputeVariants expands to more than " + MAX_PRECOMPUTED_VARIANTS + " stem variants"
+                );
+            }
+
+            double stemProbability = stems.weight(index) / stemTotal;
+            for (int mask = 0; mask < 1 << leetPositions.size(); mask++) {
+                double leetProbability = stemProbability;
+                char[] chars = stem.toCharArray();
+                for (int bit = 0; bit < leetPositions.size(); bit++) {
+                    if ((mask & 1 << bit) != 0) {
+                        int position = leetPositions.get(bit);
+                        chars[position] = leetTable.translate(chars[position]);
+                        leetProbability *= leetChancePercent / 100.0;
+                    } else {
+                        leetProbability *= (100 - leetChancePercent) / 100.0;
+                    }
+                }
+                if (leetProbability == 0) {
+                    continue;
+                }
+
+                StringBuilder variant = new StringBuilder(chars.length);
+                for (CasePattern pattern : CasePattern.values()) {
+                    int caseWeight = caseWeight(pattern);
+                    if (caseWeight > 0) {
+                        double probability = leetProbability * caseWeight / caseTotal;
+                        variant.setLength(0);
+                        applyCase(variant.append(chars), 0, pattern);
+                        variants.merge(variant.toString(), probability, Double::sum);
+                    }
+                }
             }
         }
-        return builder.toString();
+
+        double[] weights = new double[variants.size()];
+        int index = 0;
+        for (double weight : variants.values()) {
+            weights[index++] = weight;
+        }
+        return WordTable.of(variants.keySet(), weights);
     }
 
-    private String applyCase(String stem, Random random) {
+    private CasePattern casePattern(RandomGenerator random) {
         int totalWeight = caseWeightLower + caseWeightUpper + caseWeightCapitalized + caseWeightTailUpper;
         int roll = random.nextInt(totalWeight);
 
         if (roll < caseWeightLower) {
-            return stem.toLowerCase(Locale.ROOT);
+            return CasePattern.LOWER;
         }
         roll -= caseWeightLower;
 
         if (roll < caseWeightUpper) {
-            return stem.toUpperCase(Locale.ROOT);
+            return CasePattern.UPPER;
         }
         roll -= caseWeightUpper;
 
         if (roll < caseWeightCapitalized) {
-            return Character.toUpperCase(stem.charAt(0)) + stem.substring(1).toLowerCase(Locale.ROOT);
+            return CasePattern.CAPITALIZED;
         }
+        return CasePattern.TAIL_UPPER;
+    }
 
-        if (stem.length() < 2) {
-            return stem;
+    private int caseWeight(CasePattern pattern) {
+        return switch (pattern) {
+            case LOWER -> caseWeightLower;
+            case UPPER -> caseWeightUpper;
+            case CAPITALIZED -> caseWeightCapitalized;
+            case TAIL_UPPER -> caseWeightTailUpper;
+        };
+    }
+
+    // Cases the stem from start to the end of the builder in place. TAIL_UPPER cases the tail first because full case
+    // mapping may change the length of the text it touches.
+    private void applyCase(StringBuilder stem, int start, CasePattern pattern) {
+        int end = stem.length();
+        if (pattern == CasePattern.LOWER) {
+            TextCase.lowerCase(stem, start, end);
+        } else if (pattern == CasePattern.UPPER) {
+            TextCase.upperCase(stem, start, end);
+        } else if (pattern == CasePattern.CAPITALIZED) {
+            if (end > start) {
+                stem.setCharAt(start, Character.toUpperCase(stem.charAt(start)));
+                TextCase.lowerCase(stem, start + 1, end);
+            }
+        } else if (end - start >= 2) {
+            TextCase.upperCase(stem, end - 2, end);
+            TextCase.lowerCase(stem, start, end - 2);
         }
+    }
 
-        String head = stem.substring(0, stem.length() - 2).toLowerCase(Locale.ROOT);
-        String tail = stem.substring(stem.length() - 2).toUpperCase(Locale.ROOT);
-        return head + tail;
+    // Appends a sampled word straight into the candidate; the <empty> marker stands for no text at all.
+    private void appendWord(StringBuilder target, WordTable words, RandomGenerator random) {
+        int start = target.length();
+        words.appendTo(target, words.sample(random));
+        if (isEmptyMarker(target, start)) {
+            target.setLength(start);
+        }
     }
 
-    private String pick(List<String> words, Random random) {
-        String value = words.get(random.nextInt(words.size()));
-        return "<empty>".equals(value) ? "" : value;
+    private static boolean isEmptyMarker(CharSequence text, int start) {
+        if (text.length() - start != EMPTY_MARKER.length()) {
+            return false;
+        }
+        for (int index = 0; index < EMPTY_MARKER.length(); index++) {
+            if (text.charAt(start + index) != EMPTY_MARKER.charAt(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private enum CasePattern {
+        LOWER,
+        UPPER,
+        CAPITALIZED,
+        TAIL_UPPER
     }
 
     private record CounterStrikeConfig(
             String displayName,
             String description,
-            List<String> stems,
-            List<String> suffixes,
-            Map<Character, Character> leetMap,
+            WordTable stems,
+            WordTable suffixes,
+            CharTranslationTable leetTable,
             int leetChancePercent,
             int bareNumberChancePercent,
             int numberMin,
@@ -155,25 +323,33 @@ final class CounterStrikeStyleGenerator implements NicknameProfileGenerator {
             int caseWeightLower,
             int caseWeightUpper,
             int caseWeightCapitalized,
-            int caseWeightTailUpper
+            int caseWeightTailUpper,
+            boolean precomputeVariants
     ) {
         private static final String RESOURCE_PATH = "/generators/cs-pro.properties";
 
         private static CounterStrikeConfig loadDefault() {
-            Properties properties = ConfigResourceSupport.loadProperties(RESOURCE_PATH);
+            return load(ConfigSource.classpath());
+        }
+
+        private static CounterStrikeConfig load(ConfigSource source) {
+            Properties properties = ConfigResourceSupport.loadProperties(source, RESOURCE_PATH);
 
             String displayName = ConfigResourceSupport.requiredString(properties, "displayName");
             String description = ConfigResourceSupport.requiredString(properties, "description");
 
-            List<String> stems = ConfigResourceSupport.loadWordList(
+            WordTable stems = ConfigResourceSupport.loadWordList(
+                    source,
                     ConfigResourceSupport.requiredString(properties, "stemsFile")
             );
-            List<String> suffixes = ConfigResourceSupport.loadWordList(
+            WordTable suffixes = ConfigResourceSupport.loadWordList(
+                    source,
                     ConfigResourceSupport.requiredString(properties, "suffixesFile")
             );
 
-            Map<Character, Character> leetMap = parseLeetMap(
-                    ConfigResourceSupport.requiredString(properties, "leetMap")
+            CharTranslationTable leetTable = CharTranslationTable.of(
+                    ConfigResourceSupport.requiredCharMap(source, RESOURCE_PATH, properties, "leetMap"),
+                    false
             );
 
             int leetChancePercent = ConfigResourceSupport.requiredPercent(properties, "leetChancePercent");
@@ -192,13 +368,18 @@ final class CounterStrikeStyleGenerator implements NicknameProfileGenerator {
             if (caseWeightLower + caseWeightUpper + caseWeightCapitalized + caseWeightTailUpper < 1) {
                 throw new IllegalStateException("At least one case weight must be > 0");
             }
+            boolean precomputeVariants = ConfigResourceSupport.optionalBoolean(
+                    properties,
+                    "precomputeVariants",
+                    false
+            );
 
             return new CounterStrikeConfig(
                     displayName,
                     description,
                     stems,
                     suffixes,
-                    leetMap,
+                    leetTable,
                     leetChancePercent,
                     bareNumberChancePercent,
                     numberMin,
@@ -206,30 +387,9 @@ final class CounterStrikeStyleGenerator implements NicknameProfileGenerator {
                     caseWeightLower,
                     caseWeightUpper,
                     caseWeightCapitalized,
-                    caseWeightTailUpper
+                    caseWeightTailUpper,
+                    precomputeVariants
             );
         }
-
-        private static Map<Character, Character> parseLeetMap(String raw) {
-            String[] pairs = raw.split(",");
-            Map<Character, Character> mapping = new HashMap<>();
-            for (String pair : pairs) {
-                String trimmed = pair.trim();
-                if (trimmed.isEmpty()) {
-                    continue;
-                }
-                String[] parts = trimmed.split(":");
-                if (parts.length != 2 || parts[0].length() != 1 || parts[1].length() != 1) {
-                    throw new IllegalStateException("Invalid leet mapping entry: " + trimmed);
-                }
-                mapping.put(parts[0].charAt(0), parts[1].charAt(0));
-            }
-
-            if (mapping.isEmpty()) {
-                throw new IllegalStateException("leetMap must contain at least one entry");
-            }
-
-            return Map.copyOf(mapping);
-        }
     }
 }
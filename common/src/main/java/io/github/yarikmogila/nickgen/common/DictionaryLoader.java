@@ -5,53 +5,91 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
+import java.util.function.Supplier;
 
 final class DictionaryLoader {
 
-    private static final String DICTIONARY_CONFIG_PATH = "/generators/dictionary.properties";
+    static final String DICTIONARY_CONFIG_PATH = "/generators/dictionary.properties";
+
+    private static final List<NicknameLocale> LOCALES = List.of(NicknameLocale.EN, NicknameLocale.RU);
 
     private DictionaryLoader() {
     }
 
     static EnumMap<NicknameLocale, DictionaryNicknameGenerator.LocaleWordBank> loadDefaultBanks() {
-        Properties properties = ConfigResourceSupport.loadProperties(DICTIONARY_CONFIG_PATH);
+        return loadBanks(ConfigSource.classpath());
+    }
+
+    static EnumMap<NicknameLocale, DictionaryNicknameGenerator.LocaleWordBank> loadBanks(ConfigSource source) {
+        Properties properties = ConfigResourceSupport.loadProperties(source, DICTIONARY_CONFIG_PATH);
+
+        List<String> paths = dictionaryPaths(properties);
+        List<Supplier<Map<String, List<String>>>> tasks = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            tasks.add(() -> readGroupedWords(source, path));
+        }
+        List<Map<String, List<String>>> groupedWords = ParallelLoader.loadAll(tasks);
 
         EnumMap<NicknameLocale, DictionaryNicknameGenerator.LocaleWordBank> banks =
                 new EnumMap<>(NicknameLocale.class);
-        banks.put(NicknameLocale.EN, loadLocaleWordBank(properties, "en"));
-        banks.put(NicknameLocale.RU, loadLocaleWordBank(properties, "ru"));
+        for (int index = 0; index < LOCALES.size(); index++) {
+            int offset = index * 3;
+            banks.put(LOCALES.get(index), DictionaryNicknameGenerator.LocaleWordBank.ofNormalized(
+                    groupedWords.get(offset),
+                    groupedWords.get(offset + 1),
+                    groupedWords.get(offset + 2)
+            ));
+        }
         return banks;
     }
 
-    private static DictionaryNicknameGenerator.LocaleWordBank loadLocaleWordBank(
-            Properties properties,
-            String localeCode
-    ) {
-        String adjectivesPath = ConfigResourceSupport.requiredString(properties, localeCode + ".adjectivesFile");
-        String nounsPath = ConfigResourceSupport.requiredString(properties, localeCode + ".nounsFile");
-        String verbsPath = ConfigResourceSupport.requiredString(properties, localeCode + ".verbsFile");
+    static List<String> dictionaryPaths(Properties properties) {
+        List<String> paths = new ArrayList<>();
+        for (NicknameLocale locale : LOCALES) {
+            String localeCode = locale.name().toLowerCase(Locale.ROOT);
+            paths.add(ConfigResourceSupport.requiredString(properties, localeCode + ".adjectivesFile"));
+            paths.add(ConfigResourceSupport.requiredString(properties, localeCode + ".nounsFile"));
+            paths.add(ConfigResourceSupport.requiredString(properties, localeCode + ".verbsFile"));
+        }
+        return paths;
+    }
 
-        Map<String, List<String>> adjectives = readGroupedWords(adjectivesPath);
-        Map<String, List<String>> nouns = readGroupedWords(nounsPath);
-        Map<String, List<String>> verbs = readGroupedWords(verbsPath);
+    // Words come back normalized to the form nicknames are composed from. The bundle stores them that way, and mapped
+    // dictionaries are normalized into a mapped copy, so neither is copied onto the heap here.
+    static Map<String, List<String>> readGroupedWords(ConfigSource source, String resourcePath) {
+        ConfigBundle bundle = source.bundle(resourcePath);
+        if (bundle != null) {
+            Map<String, List<String>> bundled = bundle.dictionary(resourcePath);
+            if (bundled != null) {
+                return bundled;
+            }
+        }
 
-        return new DictionaryNicknameGenerator.LocaleWordBank(adjectives, nouns, verbs);
-    }
+        Path mappedFile = ConfigResourceSupport.mappableFile(source, resourcePath);
+        if (mappedFile != null) {
+            return MappedWordList.mapGrouped(mappedFile, resourcePath, DictionaryLoader::normalizeWord);
+        }
 
-    private static Map<String, List<String>> readGroupedWords(String resourcePath) {
-        InputStream inputStream = DictionaryLoader.class.getResourceAsStream(resourcePath);
+        InputStream inputStream;
+        try {
+            inputStream = source.open(resourcePath);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed to read dictionary resource: " + resourcePath, exception);
+        }
         if (inputStream == null) {
             throw new IllegalStateException("Dictionary resource is missing: " + resourcePath);
         }
 
-        Map<String, List<String>> groupedWords = new HashMap<>();
+        Map<String, WordTableBuilder> groupedWords = new HashMap<>();
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
             String line;
             int lineNumber = 0;
@@ -73,7 +111,8 @@ final class DictionaryLoader {
                     throw new IllegalStateException("Invalid dictionary line at " + resourcePath + ":" + lineNumber);
                 }
 
-                groupedWords.computeIfAbsent(group, ignored -> new ArrayList<>()).add(word);
+                groupedWords.computeIfAbsent(group, ignored -> new WordTableBuilder())
+                        .addLine(word, resourcePath, lineNumber);
             }
         } catch (IOException exception) {
             throw new IllegalStateException("Failed to read dictionary resource: " + resourcePath, exception);
@@ -84,9 +123,48 @@ final class DictionaryLoader {
         }
 
         Map<String, List<String>> immutable = new HashMap<>();
-        for (Map.Entry<String, List<String>> entry : groupedWords.entrySet()) {
-            immutable.put(entry.getKey(), List.copyOf(entry.getValue()));
+        for (Map.Entry<String, WordTableBuilder> entry : groupedWords.entrySet()) {
+            immutable.put(entry.getKey(), normalizeWords(entry.getValue().build()));
         }
         return Collections.unmodifiableMap(immutable);
     }
+
+    static WordTable normalizeWords(WordTable words) {
+        List<String> normalized = new ArrayList<>(words.size());
+        double[] weights = words.weighted() ? new double[words.size()] : null;
+        for (int index = 0; index < words.size(); index++) {
+            normalized.add(normalizeWord(words.get(index)));
+            if (weights != null) {
+                weights[index] = words.weight(index);
+            }
+        }
+        return WordTable.of(normalized, weights);
+    }
+
+    static String normalizeWord(String rawWord) {
+        if (rawWord == null || rawWord.isBlank()) {
+            return "";
+        }
+
+        String normalized = rawWord.trim().replace('_', ' ').replace('-', ' ');
+        String[] parts = normalized.split("\\s+");
+
+        StringBuilder result = new StringBuilder();
+        for (String part : parts) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            result.append(capitalize(part));
+        }
+        return result.toString();
+    }
+
+    private static String capitalize(String value) {
+        if (value.length() == 1) {
+            return value.toUpperCase();
+        }
+        String first = value.substring(0, 1).toUpperCase();
+        String tail = value.substring(1).toLowerCase();
+        return first + tail;
+    }
 }
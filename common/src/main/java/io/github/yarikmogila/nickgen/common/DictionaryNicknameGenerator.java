@@ -8,9 +8,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Random;
 import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public final class DictionaryNicknameGenerator implements NicknameGenerator, NicknameProfileGenerator {
 
@@ -29,6 +28,10 @@ public final class DictionaryNicknameGenerator implements NicknameGenerator, Nic
         this(DictionaryLoader.loadDefaultBanks(), DEFAULT_CONFIG);
     }
 
+    DictionaryNicknameGenerator(ConfigSource source) {
+        this(DictionaryLoader.loadBanks(source), DictionaryConfig.load(source));
+    }
+
     @Override
     public String id() {
         return StandardNicknameGenerators.DICTIONARY;
@@ -97,9 +100,7 @@ public final class DictionaryNicknameGenerator implements NicknameGenerator, Nic
             throw new InvalidGenerationRequestException("No dictionary found for locale: " + request.locale());
         }
 
-        Random random = request.seed() != null
-                ? new Random(request.seed())
-                : ThreadLocalRandom.current();
+        RandomGenerator random = RandomAlgorithms.create(request.options(), request.seed());
         String userWord = UserWordSupport.resolveUserWord(request.options());
         UserWordSupport.UserWordPosition userWordPosition = UserWordSupport.resolveUserWordPosition(request.options());
         UserWordSupport.UserWordStyle userWordStyle = UserWordSupport.resolveUserWordStyle(request.options());
@@ -127,7 +128,7 @@ public final class DictionaryNicknameGenerator implements NicknameGenerator, Nic
     }
 
     @Override
-    public String generateCandidate(NicknameRequestContext context, Random random) {
+    public String generateCandidate(NicknameRequestContext context, RandomGenerator random) {
         if (context.locale() == null) {
             throw new InvalidGenerationRequestException("locale must not be null");
         }
@@ -170,61 +171,14 @@ public final class DictionaryNicknameGenerator implements NicknameGenerator, Nic
         }
     }
 
-    private String buildCandidate(LocaleWordBank localeWordBank, NicknameTemplate template, Random random) {
+    private String buildCandidate(LocaleWordBank localeWordBank, NicknameTemplate template, RandomGenerator random) {
         return switch (template) {
-            case ADJ_NOUN -> {
-                String group = localeWordBank.pickGroupForAdjNoun(random);
-                String adjective = localeWordBank.pickAdjective(group, random);
-                String noun = localeWordBank.pickNoun(group, random);
-                yield compose(adjective, noun);
-            }
-            case NOUN_VERB -> {
-                String group = localeWordBank.pickGroupForNounVerb(random);
-                String noun = localeWordBank.pickNoun(group, random);
-                String verb = localeWordBank.pickVerb(group, random);
-                yield compose(noun, verb);
-            }
-            case ADJ_NOUN_NUMBER -> {
-                String group = localeWordBank.pickGroupForAdjNoun(random);
-                String adjective = localeWordBank.pickAdjective(group, random);
-                String noun = localeWordBank.pickNoun(group, random);
-                int number = minNumber + random.nextInt(maxNumber - minNumber + 1);
-                yield compose(adjective, noun) + number;
-            }
+            case ADJ_NOUN -> localeWordBank.composeAdjNoun(random);
+            case NOUN_VERB -> localeWordBank.composeNounVerb(random);
+            case ADJ_NOUN_NUMBER -> localeWordBank.composeAdjNounNumber(random, minNumber, maxNumber);
         };
     }
 
-    private String compose(String first, String second) {
-        return normalizeWord(first) + normalizeWord(second);
-    }
-
-    private String normalizeWord(String rawWord) {
-        if (rawWord == null || rawWord.isBlank()) {
-            return "";
-        }
-
-        String normalized = rawWord.trim().replace('_', ' ').replace('-', ' ');
-        String[] parts = normalized.split("\\s+");
-
-        StringBuilder result = new StringBuilder();
-        for (String part : parts) {
-            if (part.isEmpty()) {
-                continue;
-            }
-            result.append(capitalize(part));
-        }
-        return result.toString();
-    }
-
-    private String capitalize(String value) {
-        if (value.length() == 1) {
-            return value.toUpperCase();
-        }
-        String first = value.substring(0, 1).toUpperCase();
-        String tail = value.substring(1).toLowerCase();
-        return first + tail;
-    }
-
     private EnumMap<NicknameLocale, LocaleWordBank> copyBanks(EnumMap<NicknameLocale, LocaleWordBank> source) {
         Objects.requireNonNull(source, "wordBanks must not be null");
 
@@ -250,7 +204,11 @@ public final class DictionaryNicknameGenerator implements NicknameGenerator, Nic
         private static final String RESOURCE_PATH = "/generators/dictionary.properties";
 
         private static DictionaryConfig loadDefault() {
-            var properties = ConfigResourceSupport.loadProperties(RESOURCE_PATH);
+            return load(ConfigSource.classpath());
+        }
+
+        private static DictionaryConfig load(ConfigSource source) {
+            var properties = ConfigResourceSupport.loadProperties(source, RESOURCE_PATH);
             String displayName = ConfigResourceSupport.requiredString(properties, "displayName");
             String description = ConfigResourceSupport.requiredString(properties, "description");
             int minAttempts = ConfigResourceSupport.requiredInt(properties, "minAttempts", 1, Integer.MAX_VALUE);
@@ -267,60 +225,68 @@ public final class DictionaryNicknameGenerator implements NicknameGenerator, Nic
     }
 
     static final class LocaleWordBank {
-        private final Map<String, List<String>> adjectivesByGroup;
-        private final Map<String, List<String>> nounsByGroup;
-        private final Map<String, List<String>> verbsByGroup;
+        private final Map<String, WordTable> nouns;
+        private final GroupIndex adjNounGroups;
+        private final GroupIndex nounVerbGroups;
 
         LocaleWordBank(
                 Map<String, List<String>> adjectivesByGroup,
                 Map<String, List<String>> nounsByGroup,
                 Map<String, List<String>> verbsByGroup
         ) {
-            this.adjectivesByGroup = copyMap(adjectivesByGroup, "adjectivesByGroup");
-            this.nounsByGroup = copyMap(nounsByGroup, "nounsByGroup");
-            this.verbsByGroup = copyMap(verbsByGroup, "verbsByGroup");
+            this(adjectivesByGroup, nounsByGroup, verbsByGroup, true);
         }
 
-        String pickGroupForAdjNoun(Random random) {
-            List<String> groups = intersectGroups(adjectivesByGroup, nounsByGroup);
-            return pickRandom(groups, random, "No compatible groups for ADJ_NOUN");
+        private LocaleWordBank(
+                Map<String, List<String>> adjectivesByGroup,
+                Map<String, List<String>> nounsByGroup,
+                Map<String, List<String>> verbsByGroup,
+                boolean normalize
+        ) {
+            Map<String, WordTable> adjectives = copyMap(adjectivesByGroup, "adjectivesByGroup", normalize);
+            Map<String, WordTable> verbs = copyMap(verbsByGroup, "verbsByGroup", normalize);
+            this.nouns = copyMap(nounsByGroup, "nounsByGroup", normalize);
+            this.adjNounGroups = GroupIndex.of(adjectives, nouns, "No compatible groups for ADJ_NOUN");
+            this.nounVerbGroups = GroupIndex.of(nouns, verbs, "No compatible groups for NOUN_VERB");
         }
 
-        String pickGroupForNounVerb(Random random) {
-            List<String> groups = intersectGroups(nounsByGroup, verbsByGroup);
-            return pickRandom(groups, random, "No compatible groups for NOUN_VERB");
+        // For groups from DictionaryLoader, which are normalized when read, mapped or bundled; their tables are used
+        // as they are, so mapped dictionaries stay off the heap.
+        static LocaleWordBank ofNormalized(
+                Map<String, List<String>> adjectivesByGroup,
+                Map<String, List<String>> nounsByGroup,
+                Map<String, List<String>> verbsByGroup
+        ) {
+            return new LocaleWordBank(adjectivesByGroup, nounsByGroup, verbsByGroup, false);
         }
 
-        String pickAdjective(String group, Random random) {
-            return pickRandom(adjectivesByGroup.get(group), random, "Missing adjective group: " + group);
+        String composeAdjNoun(RandomGenerator random) {
+            return adjNounGroups.compose(random, false, 0, 0);
         }
 
-        String pickNoun(String group, Random random) {
-            return pickRandom(nounsByGroup.get(group), random, "Missing noun group: " + group);
+        String composeNounVerb(RandomGenerator random) {
+            return nounVerbGroups.compose(random, false, 0, 0);
         }
 
-        String pickVerb(String group, Random random) {
-            return pickRandom(verbsByGroup.get(group), random, "Missing verb group: " + group);
+        String composeAdjNounNumber(RandomGenerator random, int minNumber, int maxNumber) {
+            return adjNounGroups.compose(random, true, minNumber, maxNumber);
         }
 
-        private List<String> intersectGroups(Map<String, List<String>> first, Map<String, List<String>> second) {
-            List<String> groups = new ArrayList<>();
-            for (String group : first.keySet()) {
-                if (second.containsKey(group)) {
-                    groups.add(group);
-                }
-            }
-            Collections.sort(groups);
-            return groups;
+        WordTable nouns(String group) {
+            return nouns.get(group);
         }
 
-        private static Map<String, List<String>> copyMap(Map<String, List<String>> source, String fieldName) {
+        private static Map<String, WordTable> copyMap(
+                Map<String, List<String>> source,
+                String fieldName,
+                boolean normalize
+        ) {
             Objects.requireNonNull(source, fieldName + " must not be null");
             if (source.isEmpty()) {
                 throw new IllegalArgumentException(fieldName + " must not be empty");
             }
 
-            Map<String, List<String>> copy = new HashMap<>();
+            Map<String, WordTable> copy = new HashMap<>();
             for (Map.Entry<String, List<String>> entry : source.entrySet()) {
                 String group = entry.getKey();
                 List<String> words = entry.getValue();
@@ -330,17 +296,76 @@ public final class DictionaryNicknameGenerator implements NicknameGenerator, Nic
                 if (words == null || words.isEmpty()) {
                     throw new IllegalArgumentException(fieldName + " contains empty group list");
                 }
-                copy.put(group, List.copyOf(words));
+                WordTable table = WordTable.of(words);
+                copy.put(group, normalize ? DictionaryLoader.normalizeWords(table) : table);
             }
 
             return Collections.unmodifiableMap(copy);
         }
+    }
+
+    private static final class GroupIndex {
+        private static final int MAX_NUMBER_LENGTH = 10;
 
-        private static String pickRandom(List<String> words, Random random, String errorMessage) {
-            if (words == null || words.isEmpty()) {
-                throw new IllegalStateException(errorMessage);
+        private final WordTable[] firstWords;
+        private final WordTable[] secondWords;
+        private final AliasTable sampler;
+        private final String missingMessage;
+
+        private GroupIndex(WordTable[] firstWords, WordTable[] secondWords, AliasTable sampler, String missingMessage) {
+            this.firstWords = firstWords;
+            this.secondWords = secondWords;
+            this.sampler = sampler;
+            this.missingMessage = missingMessage;
+        }
+
+        private static GroupIndex of(
+                Map<String, WordTable> first,
+                Map<String, WordTable> second,
+                String missingMessage
+        ) {
+            List<String> groups = new ArrayList<>();
+            for (String group : first.keySet()) {
+                if (second.containsKey(group)) {
+                    groups.add(group);
+                }
+            }
+            if (groups.isEmpty()) {
+                return new GroupIndex(new WordTable[0], new WordTable[0], null, missingMessage);
+            }
+            Collections.sort(groups);
+
+            WordTable[] firstWords = new WordTable[groups.size()];
+            WordTable[] secondWords = new WordTable[groups.size()];
+            double[] combinations = new double[groups.size()];
+            for (int index = 0; index < combinations.length; index++) {
+                String group = groups.get(index);
+                firstWords[index] = first.get(group);
+                secondWords[index] = second.get(group);
+                combinations[index] = firstWords[index].totalWeight() * secondWords[index].totalWeight();
+            }
+            return new GroupIndex(firstWords, secondWords, AliasTable.of(combinations), missingMessage);
+        }
+
+        private String compose(RandomGenerator random, boolean withNumber, int minNumber, int maxNumber) {
+            if (sampler == null) {
+                throw new IllegalStateException(missingMessage);
+            }
+            int group = sampler.sample(random);
+            WordTable first = firstWords[group];
+            WordTable second = secondWords[group];
+            int firstIndex = first.sample(random);
+            int secondIndex = second.sample(random);
+
+            StringBuilder nickname = new StringBuilder(
+                    first.length(firstIndex) + second.length(secondIndex) + (withNumber ? MAX_NUMBER_LENGTH : 0)
+            );
+            first.appendTo(nickname, firstIndex);
+            second.appendTo(nickname, secondIndex);
+            if (withNumber) {
+                nickname.append(minNumber + random.nextInt(maxNumber - minNumber + 1));
             }
-            return words.get(random.nextInt(words.size()));
+            return nickname.toString();
         }
     }
 }
@@ -1,18 +1,18 @@
 package io.github.yarikmogila.nickgen.common;
 
-import java.util.List;
-import java.util.Locale;
 import java.util.Properties;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 final class DotaStyleGenerator implements NicknameProfileGenerator {
 
     private static final DotaConfig CONFIG = DotaConfig.loadDefault();
 
-    private final List<String> latinBases;
-    private final List<String> cyrillicBases;
-    private final List<String> cyrillicSuffixes;
-    private final List<String> latinSuffixes;
+    private final String displayName;
+    private final String description;
+    private final WordTable latinBases;
+    private final WordTable cyrillicBases;
+    private final WordTable cyrillicSuffixes;
+    private final WordTable latinSuffixes;
     private final int patternUppercaseDigitsChancePercent;
     private final int patternCyrillicChancePercent;
     private final String uppercaseRepeatChar;
@@ -26,30 +26,42 @@ final class DotaStyleGenerator implements NicknameProfileGenerator {
     private final int latinNumberMax;
 
     DotaStyleGenerator() {
+        this(CONFIG);
+    }
+
+    DotaStyleGenerator(ConfigSource source) {
+        this(DotaConfig.load(source));
+    }
+
+    private DotaStyleGenerator(DotaConfig config) {
         this(
-                CONFIG.latinBases(),
-                CONFIG.cyrillicBases(),
-                CONFIG.cyrillicSuffixes(),
-                CONFIG.latinSuffixes(),
-                CONFIG.patternUppercaseDigitsChancePercent(),
-                CONFIG.patternCyrillicChancePercent(),
-                CONFIG.uppercaseRepeatChar(),
-                CONFIG.uppercaseRepeatMin(),
-                CONFIG.uppercaseRepeatMax(),
-                CONFIG.uppercaseNumberMin(),
-                CONFIG.uppercaseNumberMax(),
-                CONFIG.cyrillicUnderscoreChancePercent(),
-                CONFIG.latinNumberChancePercent(),
-                CONFIG.latinNumberMin(),
-                CONFIG.latinNumberMax()
+                config.displayName(),
+                config.description(),
+                config.latinBases(),
+                config.cyrillicBases(),
+                config.cyrillicSuffixes(),
+                config.latinSuffixes(),
+                config.patternUppercaseDigitsChancePercent(),
+                config.patternCyrillicChancePercent(),
+                config.uppercaseRepeatChar(),
+                config.uppercaseRepeatMin(),
+                config.uppercaseRepeatMax(),
+                config.uppercaseNumberMin(),
+                config.uppercaseNumberMax(),
+                config.cyrillicUnderscoreChancePercent(),
+                config.latinNumberChancePercent(),
+                config.latinNumberMin(),
+                config.latinNumberMax()
         );
     }
 
     private DotaStyleGenerator(
-            List<String> latinBases,
-            List<String> cyrillicBases,
-            List<String> cyrillicSuffixes,
-            List<String> latinSuffixes,
+            String displayName,
+            String description,
+            WordTable latinBases,
+            WordTable cyrillicBases,
+            WordTable cyrillicSuffixes,
+            WordTable latinSuffixes,
             int patternUppercaseDigitsChancePercent,
             int patternCyrillicChancePercent,
             String uppercaseRepeatChar,
@@ -62,10 +74,12 @@ final class DotaStyleGenerator implements NicknameProfileGenerator {
             int latinNumberMin,
             int latinNumberMax
     ) {
-        this.latinBases = List.copyOf(latinBases);
-        this.cyrillicBases = List.copyOf(cyrillicBases);
-        this.cyrillicSuffixes = List.copyOf(cyrillicSuffixes);
-        this.latinSuffixes = List.copyOf(latinSuffixes);
+        this.displayName = displayName;
+        this.description = description;
+        this.latinBases = latinBases;
+        this.cyrillicBases = cyrillicBases;
+        this.cyrillicSuffixes = cyrillicSuffixes;
+        this.latinSuffixes = latinSuffixes;
         this.patternUppercaseDigitsChancePercent = patternUppercaseDigitsChancePercent;
         this.patternCyrillicChancePercent = patternCyrillicChancePercent;
         this.uppercaseRepeatChar = uppercaseRepeatChar;
@@ -86,64 +100,72 @@ final class DotaStyleGenerator implements NicknameProfileGenerator {
 
     @Override
     public String displayName() {
-        return CONFIG.displayName();
+        return displayName;
     }
 
     @Override
     public String description() {
-        return CONFIG.description();
+        return description;
+    }
+
+    @Override
+    public String generateCandidate(NicknameRequestContext context, RandomGenerator random) {
+        StringBuilder nickname = new StringBuilder(24);
+        appendCandidate(context, random, nickname);
+        return nickname.toString();
     }
 
     @Override
-    public String generateCandidate(NicknameRequestContext context, Random random) {
+    public void appendCandidate(NicknameRequestContext context, RandomGenerator random, StringBuilder target) {
         int roll = random.nextInt(100);
         if (roll < patternUppercaseDigitsChancePercent) {
-            return uppercaseWithDigits(random);
+            appendUppercaseWithDigits(target, random);
+            return;
         }
         roll -= patternUppercaseDigitsChancePercent;
         if (roll < patternCyrillicChancePercent) {
-            return cyrillicStyle(random);
+            appendCyrillicStyle(target, random);
+            return;
         }
-        return latinStyle(random);
+        appendLatinStyle(target, random);
     }
 
-    private String uppercaseWithDigits(Random random) {
-        String base = pick(latinBases, random).toUpperCase(Locale.ROOT);
+    private void appendUppercaseWithDigits(StringBuilder target, RandomGenerator random) {
+        int start = target.length();
+        latinBases.appendTo(target, latinBases.sample(random));
+        TextCase.upperCase(target, start, target.length());
         int repeatCount = uppercaseRepeatMin + random.nextInt(uppercaseRepeatMax - uppercaseRepeatMin + 1);
-        String repeated = uppercaseRepeatChar.repeat(repeatCount);
-        int suffixNumber = uppercaseNumberMin + random.nextInt(uppercaseNumberMax - uppercaseNumberMin + 1);
-        return base + repeated + suffixNumber;
+        for (int index = 0; index < repeatCount; index++) {
+            target.append(uppercaseRepeatChar);
+        }
+        target.append(uppercaseNumberMin + random.nextInt(uppercaseNumberMax - uppercaseNumberMin + 1));
     }
 
-    private String cyrillicStyle(Random random) {
-        String base = pick(cyrillicBases, random);
-        String suffix = pick(cyrillicSuffixes, random);
+    private void appendCyrillicStyle(StringBuilder target, RandomGenerator random) {
+        int base = cyrillicBases.sample(random);
+        int suffix = cyrillicSuffixes.sample(random);
+        cyrillicBases.appendTo(target, base);
         if (random.nextInt(100) < cyrillicUnderscoreChancePercent) {
-            return base + "_" + suffix;
+            target.append('_');
         }
-        return base + suffix;
+        cyrillicSuffixes.appendTo(target, suffix);
     }
 
-    private String latinStyle(Random random) {
-        String base = pick(latinBases, random);
-        String suffix = pick(latinSuffixes, random);
+    private void appendLatinStyle(StringBuilder target, RandomGenerator random) {
+        latinBases.appendTo(target, latinBases.sample(random));
+        latinSuffixes.appendTo(target, latinSuffixes.sample(random));
         if (random.nextInt(100) < latinNumberChancePercent) {
-            return base + suffix + (latinNumberMin + random.nextInt(latinNumberMax - latinNumberMin + 1));
+            target.append(latinNumberMin + random.nextInt(latinNumberMax - latinNumberMin + 1));
         }
-        return base + suffix;
-    }
-
-    private String pick(List<String> words, Random random) {
-        return words.get(random.nextInt(words.size()));
     }
 
     private record DotaConfig(
             String displayName,
             String description,
-            List<String> latinBases,
-            List<String> cyrillicBases,
-            List<String> cyrillicSuffixes,
-            List<String> latinSuffixes,
+            WordTable latinBases,
+            WordTable cyrillicBases,
+            WordTable cyrillicSuffixes,
+            WordTable latinSuffixes,
             int patternUppercaseDigitsChancePercent,
             int patternCyrillicChancePercent,
             String uppercaseRepeatChar,
@@ -159,21 +181,29 @@ final class DotaStyleGenerator implements NicknameProfileGenerator {
         private static final String RESOURCE_PATH = "/generators/dota-pro.properties";
 
         private static DotaConfig loadDefault() {
-            Properties properties = ConfigResourceSupport.loadProperties(RESOURCE_PATH);
+            return load(ConfigSource.classpath());
+        }
+
+        private static DotaConfig load(ConfigSource source) {
+            Properties properties = ConfigResourceSupport.loadProperties(source, RESOURCE_PATH);
 
             String displayName = ConfigResourceSupport.requiredString(properties, "displayName");
             String description = ConfigResourceSupport.requiredString(properties, "description");
 
-            List<String> latinBases = ConfigResourceSupport.loadWordList(
+            WordTable latinBases = ConfigResourceSupport.loadWordList(
+                    source,
                     ConfigResourceSupport.requiredString(properties, "latinBasesFile")
             );
-            List<String> cyrillicBases = ConfigResourceSupport.loadWordList(
+            WordTable cyrillicBases = ConfigResourceSupport.loadWordList(
+                    source,
                     ConfigResourceSupport.requiredString(properties, "cyrillicBasesFile")
             );
-            List<String> cyrillicSuffixes = ConfigResourceSupport.loadWordList(
+            WordTable cyrillicSuffixes = ConfigResourceSupport.loadWordList(
+                    source,
                     ConfigResourceSupport.requiredString(properties, "cyrillicSuffixesFile")
             );
-            List<String> latinSuffixes = ConfigResourceSupport.loadWordList(
+            WordTable latinSuffixes = ConfigResourceSupport.loadWordList(
+                    source,
                     ConfigResourceSupport.requiredString(properties, "latinSuffixesFile")
             );
 
@@ -1,20 +1,24 @@
 package io.github.yarikmogila.nickgen.common;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Random;
-import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public final class ExtensibleNicknameGenerator implements NicknameGenerator {
 
     private static final EngineConfig ENGINE_CONFIG = EngineConfig.loadDefault();
+    private static final int CHANNEL_BUFFER_SIZE = 64 * 1024;
 
     private final NicknameGeneratorRegistry registry;
-    private final Set<String> generatedNicknames;
+    private final StripedNicknameSet generatedNicknames;
+    private final StringBuilder candidateBuffer = new StringBuilder(64);
+    private byte[] encodedCandidate = new byte[256];
     private final int minAttempts;
     private final int attemptsPerNickname;
 
@@ -39,7 +43,7 @@ public final class ExtensibleNicknameGenerator implements NicknameGenerator {
         }
 
         this.registry = Objects.requireNonNull(registry, "registry must not be null");
-        this.generatedNicknames = new HashSet<>();
+        this.generatedNicknames = new StripedNicknameSet();
         this.minAttempts = minAttempts;
         this.attemptsPerNickname = attemptsPerNickname;
     }
@@ -52,43 +56,222 @@ public final class ExtensibleNicknameGenerator implements NicknameGenerator {
     @Override
     public synchronized List<NicknameResult> generate(GenerationRequest request) {
         validateRequest(request);
-
         String generatorId = normalizeGeneratorId(request.generatorId());
-        NicknameProfileGenerator profileGenerator = registry.getById(generatorId);
+        List<NicknameResult> results = new ArrayList<>(request.count());
+        generate(request, false, new CandidateSink() {
+            @Override
+            public boolean fits(int encodedLength) {
+                return true;
+            }
+
+            @Override
+            public void accept(CharSequence candidate, byte[] encoded, int encodedLength) {
+                results.add(new NicknameResult(
+                        candidate.toString(),
+                        request.locale(),
+                        request.template(),
+                        generatorId
+                ));
+            }
+        });
+        return List.copyOf(results);
+    }
 
-        Random random = request.seed() != null
-                ? new Random(request.seed())
-                : ThreadLocalRandom.current();
+    public synchronized int generateInto(GenerationRequest request, ByteBuffer target) {
+        Objects.requireNonNull(target, "target must not be null");
+        validateRequest(request);
+        return generate(request, true, new CandidateSink() {
+            @Override
+            public boolean fits(int encodedLength) {
+                return target.remaining() > encodedLength;
+            }
+
+            @Override
+            public void accept(CharSequence candidate, byte[] encoded, int encodedLength) {
+                target.put(encoded, 0, encodedLength).put((byte) '\n');
+            }
+        });
+    }
+
+    @Override
+    public synchronized int generateInto(GenerationRequest request, WritableByteChannel target) throws IOException {
+        Objects.requireNonNull(target, "target must not be null");
+        validateRequest(request);
+        ByteBuffer buffer = ByteBuffer.allocate(CHANNEL_BUFFER_SIZE);
+        try {
+            int written = generate(request, true, new CandidateSink() {
+                @Override
+                public boolean fits(int encodedLength) {
+                    return true;
+                }
 
-        NicknameRequestContext context = new NicknameRequestContext(request.locale(), request.template(), request.options());
-        String userWord = UserWordSupport.resolveUserWord(request.options());
-        UserWordSupport.UserWordPosition userWordPosition = UserWordSupport.resolveUserWordPosition(request.options());
-        UserWordSupport.UserWordStyle userWordStyle = resolveUserWordStyle(request.options(), generatorId);
+                @Override
+                public void accept(CharSequence candidate, byte[] encoded, int encodedLength) {
+                    if (buffer.remaining() <= encodedLength) {
+                        drain(buffer, target);
+                        if (buffer.remaining() <= encodedLength) {
+                            writeFully(ByteBuffer.wrap(encoded, 0, encodedLength), target);
+                            buffer.put((byte) '\n');
+                            return;
+                        }
+                    }
+                    buffer.put(encoded, 0, encodedLength).put((byte) '\n');
+                }
+            });
+            drain(buffer, target);
+            return written;
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    @Override
+    public synchronized int generateInto(GenerationRequest request, Appendable target) throws IOException {
+        Objects.requireNonNull(target, "target must not be null");
+        validateRequest(request);
+        try {
+            return generate(request, true, new CandidateSink() {
+                @Override
+                public boolean fits(int encodedLength) {
+                    return true;
+                }
+
+                @Override
+                public void accept(CharSequence candidate, byte[] encoded, int encodedLength) {
+                    try {
+                        target.append(candidate).append('\n');
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                }
+            });
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    @Override
+    public synchronized int generateInto(GenerationRequest request, Utf8NicknameSink target) throws IOException {
+        Objects.requireNonNull(target, "target must not be null");
+        validateRequest(request);
+        try {
+            return generate(request, true, new CandidateSink() {
+                @Override
+                public boolean fits(int encodedLength) {
+                    return true;
+                }
+
+                @Override
+                public void accept(CharSequence candidate, byte[] encoded, int encodedLength) {
+                    try {
+                        target.accept(encoded, 0, encodedLength);
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                }
+            });
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    @Override
+    public synchronized int generateInto(
+            GenerationRequest request,
+            Utf8NicknameSink target,
+            int threads,
+            boolean ordered
+    ) throws IOException {
+        if (threads < 1) {
+            throw new InvalidGenerationRequestException("threads must be >= 1");
+        }
+        if (threads == 1) {
+            return generateInto(request, target);
+        }
+        Objects.requireNonNull(target, "target must not be null");
+        validateRequest(request);
+        return ParallelGeneration.run(
+                candidateSource(request, true),
+                RandomAlgorithms.streams(request.options(), request.seed()),
+                generatedNicknames,
+                request.count(),
+                resolveMaxAttempts(request.count()),
+                threads,
+                ordered,
+                target
+        );
+    }
+
+    private int generate(GenerationRequest request, boolean appendCandidates, CandidateSink sink) {
+        CandidateSource source = candidateSource(request, appendCandidates);
+        RandomGenerator random = RandomAlgorithms.create(request.options(), request.seed());
 
         int maxAttempts = resolveMaxAttempts(request.count());
         int attempts = 0;
-        List<NicknameResult> results = new ArrayList<>(request.count());
+        int written = 0;
 
-        while (results.size() < request.count()) {
+        while (written < request.count()) {
             if (attempts++ >= maxAttempts) {
-                throw new NotEnoughUniqueNicknamesException(
-                        "Could not generate " + request.count() + " unique nicknames in "
-                                + maxAttempts + " attempts"
-                );
+                throw notEnoughUnique(request.count(), maxAttempts);
             }
 
-            String candidate = profileGenerator.generateCandidate(context, random);
-            if (candidate == null || candidate.isBlank()) {
+            CharSequence candidate = source.next(random, candidateBuffer);
+            if (candidate == null) {
                 continue;
             }
-            candidate = UserWordSupport.applyUserWord(candidate, userWord, userWordPosition, userWordStyle, random);
 
-            if (generatedNicknames.add(candidate)) {
-                results.add(new NicknameResult(candidate, request.locale(), request.template(), generatorId));
+            int encodedLength = encode(candidate);
+            if (!sink.fits(encodedLength)) {
+                break;
+            }
+            if (generatedNicknames.add(encodedCandidate, 0, encodedLength)) {
+                sink.accept(candidate, encodedCandidate, encodedLength);
+                written++;
             }
         }
+        return written;
+    }
 
-        return List.copyOf(results);
+    private CandidateSource candidateSource(GenerationRequest request, boolean appendCandidates) {
+        String generatorId = normalizeGeneratorId(request.generatorId());
+        return new CandidateSource(
+                registry.getById(generatorId),
+                new NicknameRequestContext(request.locale(), request.template(), request.options()),
+                UserWordSupport.resolveUserWord(request.options()),
+                UserWordSupport.resolveUserWordPosition(request.options()),
+                resolveUserWordStyle(request.options(), generatorId),
+                appendCandidates
+        );
+    }
+
+    static NotEnoughUniqueNicknamesException notEnoughUnique(int count, int maxAttempts) {
+        return new NotEnoughUniqueNicknamesException(
+                "Could not generate " + count + " unique nicknames in " + maxAttempts + " attempts"
+        );
+    }
+
+    private int encode(CharSequence candidate) {
+        int maxLength = Utf8NicknameSet.maxEncodedLength(candidate);
+        if (encodedCandidate.length < maxLength) {
+            encodedCandidate = new byte[Math.max(maxLength, encodedCandidate.length << 1)];
+        }
+        return Utf8NicknameSet.encode(candidate, encodedCandidate);
+    }
+
+    private static void drain(ByteBuffer buffer, WritableByteChannel target) {
+        buffer.flip();
+        writeFully(buffer, target);
+        buffer.clear();
+    }
+
+    private static void writeFully(ByteBuffer buffer, WritableByteChannel target) {
+        try {
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
     }
 
     private int resolveMaxAttempts(int count) {
@@ -127,11 +310,21 @@ public final class ExtensibleNicknameGenerator implements NicknameGenerator {
         return style;
     }
 
-    private record EngineConfig(int minAttempts, int attemptsPerNickname) {
+    private interface CandidateSink {
+        boolean fits(int encodedLength);
+
+        void accept(CharSequence candidate, byte[] encoded, int encodedLength);
+    }
+
+    record EngineConfig(int minAttempts, int attemptsPerNickname) {
         private static final String RESOURCE_PATH = "/generators/engine.properties";
 
         private static EngineConfig loadDefault() {
-            var properties = ConfigResourceSupport.loadProperties(RESOURCE_PATH);
+            return load(ConfigSource.classpath());
+        }
+
+        static EngineConfig load(ConfigSource source) {
+            var properties = ConfigResourceSupport.loadProperties(source, RESOURCE_PATH);
             int minAttempts = ConfigResourceSupport.requiredInt(properties, "minAttempts", 1, Integer.MAX_VALUE);
             int attemptsPerNickname = ConfigResourceSupport.requiredInt(
                     properties,
@@ -5,6 +5,7 @@ public final class GenerationOptionKeys {
     public static final String USER_WORD = "userWord";
     public static final String USER_WORD_POSITION = "userWordPosition";
     public static final String USER_WORD_STYLE = "userWordStyle";
+    public static final String RANDOM_ALGORITHM = "randomAlgorithm";
 
     private GenerationOptionKeys() {
     }
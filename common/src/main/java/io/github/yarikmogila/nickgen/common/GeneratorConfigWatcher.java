@@ -0,0 +1,244 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+public final class GeneratorConfigWatcher implements AutoCloseable {
+
+    private static final System.Logger LOGGER = System.getLogger(GeneratorConfigWatcher.class.getName());
+    private static final long SETTLE_MILLIS = 200;
+
+    private final NicknameGeneratorRegistry registry;
+    private final ConfigSource.DirectoryOverlay source;
+    private final Map<String, Function<ConfigSource, NicknameProfileGenerator>> factories;
+    private final Map<String, Set<String>> dependenciesById = new HashMap<>();
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+
+    private WatchService watchService;
+    private Thread watcherThread;
+    private volatile boolean closed;
+
+    public GeneratorConfigWatcher(NicknameGeneratorRegistry registry, Path configDirectory) {
+        this(registry, configDirectory, StandardNicknameGenerators.factories());
+    }
+
+    GeneratorConfigWatcher(
+            NicknameGeneratorRegistry registry,
+            Path configDirectory,
+            Map<String, Function<ConfigSource, NicknameProfileGenerator>> factories
+    ) {
+        this.registry = Objects.requireNonNull(registry, "registry must not be null");
+        Objects.requireNonNull(configDirectory, "configDirectory must not be null");
+        if (!Files.isDirectory(configDirectory)) {
+            throw new IllegalArgumentException("configDirectory must be an existing directory: " + configDirectory);
+        }
+        this.source = (ConfigSource.DirectoryOverlay) ConfigSource.overlay(configDirectory);
+        this.factories = Collections.unmodifiableMap(
+                new LinkedHashMap<>(Objects.requireNonNull(factories, "factories must not be null"))
+        );
+    }
+
+    public synchronized GeneratorConfigWatcher start() {
+        if (closed) {
+            throw new IllegalStateException("Watcher is closed");
+        }
+        if (watcherThread != null) {
+            return this;
+        }
+
+        for (String id : factories.keySet()) {
+            reloadProfile(id, true);
+        }
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed to watch config directory: " + source.root(), exception);
+        }
+        try {
+            registerTree(source.root());
+        } catch (IOException | RuntimeException exception) {
+            try {
+                watchService.close();
+            } catch (IOException closeException) {
+                exception.addSuppressed(closeException);
+            }
+            watchService = null;
+            watchedDirectories.clear();
+            if (exception instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to watch config directory: " + source.root(), exception);
+        }
+
+        watcherThread = new Thread(this::watchLoop, "nickgen-config-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        return this;
+    }
+
+    public synchronized void reloadAll() {
+        for (String id : factories.keySet()) {
+            reloadProfile(id, false);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        WatchService service;
+        Thread thread;
+        synchronized (this) {
+            service = watchService;
+            thread = watcherThread;
+        }
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException exception) {
+                LOGGER.log(System.Logger.Level.DEBUG, "Failed to close config watch service", exception);
+            }
+        }
+        if (thread != null && thread != Thread.currentThread()) {
+            thread.interrupt();
+        }
+    }
+
+    private void watchLoop() {
+        try {
+            while (!closed) {
+                WatchKey key = watchService.take();
+                Set<String> changedPaths = new LinkedHashSet<>();
+                boolean overflow = collectChanges(key, changedPaths);
+
+                WatchKey next;
+                while ((next = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    overflow |= collectChanges(next, changedPaths);
+                }
+
+                if (overflow) {
+                    reloadAll();
+                } else {
+                    reloadAffected(changedPaths);
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ignored) {
+            // Watcher was closed.
+        }
+    }
+
+    private boolean collectChanges(WatchKey key, Set<String> changedPaths) {
+        Path directory;
+        synchronized (this) {
+            directory = watchedDirectories.get(key);
+        }
+
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+                continue;
+            }
+            if (directory == null) {
+                continue;
+            }
+
+            Path changed = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changed)) {
+                try {
+                    registerTree(changed);
+                    collectTree(changed, changedPaths);
+                } catch (IOException exception) {
+                    LOGGER.log(System.Logger.Level.WARNING, "Failed to watch config directory: " + changed, exception);
+                    overflow = true;
+                }
+                continue;
+            }
+            changedPaths.add(source.toResourcePath(changed));
+        }
+
+        if (!key.reset()) {
+            synchronized (this) {
+                watchedDirectories.remove(key);
+            }
+        }
+        return overflow;
+    }
+
+    private synchronized void reloadAffected(Set<String> changedPaths) {
+        for (Map.Entry<String, Set<String>> entry : Map.copyOf(dependenciesById).entrySet()) {
+            for (String dependency : entry.getValue()) {
+                if (changedPaths.contains(dependency)) {
+                    reloadProfile(entry.getKey(), false);
+                    break;
+                }
+            }
+        }
+    }
+
+    private void reloadProfile(String id, boolean failFast) {
+        Set<String> dependencies = new HashSet<>();
+        try {
+            NicknameProfileGenerator generator = factories.get(id).apply(ConfigSource.recording(source, dependencies));
+            registry.register(generator);
+            dependenciesById.put(id, Set.copyOf(dependencies));
+        } catch (RuntimeException exception) {
+            if (failFast) {
+                throw exception;
+            }
+            dependencies.addAll(dependenciesById.getOrDefault(id, Set.of()));
+            dependenciesById.put(id, Set.copyOf(dependencies));
+            LOGGER.log(
+                    System.Logger.Level.WARNING,
+                    "Keeping previous '" + id + "' profile, reloaded config is invalid: " + exception.getMessage(),
+                    exception
+            );
+        }
+    }
+
+    private void registerTree(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path directory : paths.filter(Files::isDirectory).toList()) {
+                WatchKey key = directory.register(
+                        watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE
+                );
+                synchronized (this) {
+                    watchedDirectories.put(key, directory);
+                }
+            }
+        }
+    }
+
+    private void collectTree(Path root, Set<String> changedPaths) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            List<Path> files = paths.filter(Files::isRegularFile).toList();
+            for (Path file : files) {
+                changedPaths.add(source.toResourcePath(file));
+            }
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+final class MappedWordList extends WordTable {
+
+    private final ByteBuffer buffer;
+    private final int[] offsets;
+    private final int size;
+
+    private MappedWordList(ByteBuffer buffer, int[] offsets, int size, double[] weights) {
+        super(weights, size);
+        this.buffer = buffer;
+        this.offsets = offsets;
+        this.size = size;
+    }
+
+    static MappedWordList map(Path file, String resourcePath) {
+        ByteBuffer buffer = mapFile(file, resourcePath);
+        OffsetTable offsets = new OffsetTable();
+
+        int limit = buffer.limit();
+        int lineStart = 0;
+        int lineNumber = 0;
+        while (lineStart < limit) {
+            lineNumber++;
+            int lineEnd = lineEnd(buffer, lineStart, limit);
+            int start = trimStart(buffer, lineStart, lineEnd);
+            int end = trimEnd(buffer, start, lineEnd);
+            if (start < end && buffer.get(start) != '#') {
+                offsets.add(buffer, start, end, resourcePath, lineNumber);
+            }
+            lineStart = lineEnd + 1;
+        }
+
+        if (offsets.size() == 0) {
+            throw new IllegalStateException("Word list resource is empty: " + resourcePath);
+        }
+        return offsets.toWordList(buffer);
+    }
+
+    // Normalizes every word once into a temporary file and maps that, so the tables stay off the heap and are read
+    // without any per-word work afterwards.
+    static Map<String, List<String>> mapGrouped(Path file, String resourcePath, UnaryOperator<String> normalizer) {
+        ByteBuffer source = mapFile(file, resourcePath);
+        Map<String, OffsetTable> sourceOffsets = indexGroups(source, resourcePath);
+
+        Map<String, OffsetTable> offsetsByGroup = new LinkedHashMap<>();
+        Path copy;
+        try {
+            copy = Files.createTempFile("nickgen-dictionary-", ".txt");
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed to normalize dictionary resource: " + resourcePath, exception);
+        }
+        try {
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(copy))) {
+                long position = 0;
+                for (Map.Entry<String, OffsetTable> group : sourceOffsets.entrySet()) {
+                    OffsetTable words = group.getValue();
+                    OffsetTable normalized = new OffsetTable();
+                    for (int index = 0; index < words.size(); index++) {
+                        String word = decode(source, words.start(index), words.end(index));
+                        byte[] bytes = normalizer.apply(word).getBytes(StandardCharsets.UTF_8);
+                        if (position + bytes.length > Integer.MAX_VALUE) {
+                            throw new IllegalStateException(
+                                    "Word list is too large to map (over 2 GiB): " + resourcePath
+                            );
+                        }
+                        output.write(bytes);
+                        normalized.put((int) position, (int) position + bytes.length, words.weight(index));
+                        position += bytes.length;
+                    }
+                    normalized.weighted = words.weighted;
+                    offsetsByGroup.put(group.getKey(), normalized);
+                }
+            }
+            return toWordLists(mapFile(copy, resourcePath), offsetsByGroup);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed to normalize dictionary resource: " + resourcePath, exception);
+        } finally {
+            deleteMappedCopy(copy);
+        }
+    }
+
+    private static Map<String, OffsetTable> indexGroups(ByteBuffer buffer, String resourcePath) {
+        Map<String, OffsetTable> offsetsByGroup = new LinkedHashMap<>();
+
+        int limit = buffer.limit();
+        int lineStart = 0;
+        int lineNumber = 0;
+        String previousGroup = null;
+        int previousGroupStart = -1;
+        int previousGroupEnd = -1;
+        while (lineStart < limit) {
+            lineNumber++;
+            int lineEnd = lineEnd(buffer, lineStart, limit);
+            int start = trimStart(buffer, lineStart, lineEnd);
+            int end = trimEnd(buffer, start, lineEnd);
+            lineStart = lineEnd + 1;
+            if (start == end || buffer.get(start) == '#') {
+                continue;
+            }
+
+            int delimiter = indexOf(buffer, start, end, (byte) '|');
+            if (delimiter <= start || delimiter == end - 1) {
+                throw new IllegalStateException("Invalid dictionary line at " + resourcePath + ":" + lineNumber);
+            }
+
+            int groupEnd = trimEnd(buffer, start, delimiter);
+            int wordStart = trimStart(buffer, delimiter + 1, end);
+            if (groupEnd == start || wordStart == end) {
+                throw new IllegalStateException("Invalid dictionary line at " + resourcePath + ":" + lineNumber);
+            }
+
+            if (previousGroup == null || !sameBytes(buffer, previousGroupStart, previousGroupEnd, start, groupEnd)) {
+                previousGroup = decode(buffer, start, groupEnd);
+                previousGroupStart = start;
+                previousGroupEnd = groupEnd;
+            }
+            offsetsByGroup.computeIfAbsent(previousGroup, ignored -> new OffsetTable())
+                    .add(buffer, wordStart, end, resourcePath, lineNumber);
+        }
+
+        if (offsetsByGroup.isEmpty()) {
+            throw new IllegalStateException("Dictionary resource is empty: " + resourcePath);
+        }
+        return offsetsByGroup;
+    }
+
+    private static Map<String, List<String>> toWordLists(ByteBuffer buffer, Map<String, OffsetTable> offsetsByGroup) {
+        Map<String, List<String>> groups = new LinkedHashMap<>();
+        for (Map.Entry<String, OffsetTable> entry : offsetsByGroup.entrySet()) {
+            groups.put(entry.getKey(), entry.getValue().toWordList(buffer));
+        }
+        return Collections.unmodifiableMap(groups);
+    }
+
+    @Override
+    public String get(int index) {
+        Objects.checkIndex(index, size);
+        return decode(buffer, offsets[index << 1], offsets[(index << 1) + 1]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    void appendTo(StringBuilder target, int index) {
+        target.append(get(index));
+    }
+
+    private static ByteBuffer mapFile(Path file, String resourcePath) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Word list is too large to map (over 2 GiB): " + resourcePath);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed to map word list resource: " + resourcePath, exception);
+        }
+    }
+
+    // A mapping outlives the file it was made from on POSIX systems; Windows refuses to delete a mapped file, so
+    // there the copy goes away when the JVM exits.
+    private static void deleteMappedCopy(Path copy) {
+        try {
+            Files.deleteIfExists(copy);
+        } catch (IOException exception) {
+            copy.toFile().deleteOnExit();
+        }
+    }
+
+    private static String decode(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int lineEnd(ByteBuffer buffer, int from, int limit) {
+        int index = indexOf(buffer, from, limit, (byte) '\n');
+        return index < 0 ? limit : index;
+    }
+
+    private static int indexOf(ByteBuffer buffer, int from, int to, byte value) {
+        for (int index = from; index < to; index++) {
+            if (buffer.get(index) == value) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static int trimStart(ByteBuffer buffer, int from, int to) {
+        int index = from;
+        while (index < to && (buffer.get(index) & 0xFF) <= ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    private static int trimEnd(ByteBuffer buffer, int from, int to) {
+        int index = to;
+        while (index > from && (buffer.get(index - 1) & 0xFF) <= ' ') {
+            index--;
+        }
+        return index;
+    }
+
+    private static int weightDelimiter(ByteBuffer buffer, int start, int end) {
+        int delimiter = end - 1;
+        while (delimiter >= start && buffer.get(delimiter) != WordTableBuilder.WEIGHT_DELIMITER) {
+            delimiter--;
+        }
+        if (delimiter < start || trimEnd(buffer, start, delimiter) == start) {
+            return -1;
+        }
+        int weightStart = trimStart(buffer, delimiter + 1, end);
+        for (int index = weightStart; index < end; index++) {
+            byte current = buffer.get(index);
+            if ((current < '0' || current > '9') && current != '.') {
+                return -1;
+            }
+        }
+        return WordTableBuilder.isWeight(decode(buffer, weightStart, end), 0, end - weightStart) ? delimiter : -1;
+    }
+
+    private static boolean sameBytes(ByteBuffer buffer, int firstStart, int firstEnd, int secondStart, int secondEnd) {
+        if (firstEnd - firstStart != secondEnd - secondStart) {
+            return false;
+        }
+        for (int index = 0; index < firstEnd - firstStart; index++) {
+            if (buffer.get(firstStart + index) != buffer.get(secondStart + index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class OffsetTable {
+        private int[] offsets = new int[64];
+        private double[] weights = new double[32];
+        private boolean weighted;
+        private int size;
+
+        private void add(ByteBuffer buffer, int start, int end, String resourcePath, int lineNumber) {
+            double weight = 1.0;
+            int delimiter = weightDelimiter(buffer, start, end);
+            if (delimiter >= 0) {
+                weight = WordTableBuilder.parseWeight(
+                        decode(buffer, trimStart(buffer, delimiter + 1, end), end),
+                        resourcePath,
+                        lineNumber
+                );
+                weighted = true;
+                end = trimEnd(buffer, start, delimiter);
+            }
+            put(start, end, weight);
+        }
+
+        private void put(int start, int end, double weight) {
+            if ((size << 1) + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length << 1);
+                weights = Arrays.copyOf(weights, weights.length << 1);
+            }
+            offsets[size << 1] = start;
+            offsets[(size << 1) + 1] = end;
+            weights[size] = weight;
+            size++;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private int start(int index) {
+            return offsets[index << 1];
+        }
+
+        private int end(int index) {
+            return offsets[(index << 1) + 1];
+        }
+
+        private double weight(int index) {
+            return weights[index];
+        }
+
+        private MappedWordList toWordList(ByteBuffer buffer) {
+            return new MappedWordList(
+                    buffer,
+                    Arrays.copyOf(offsets, size << 1),
+                    size,
+                    weighted ? Arrays.copyOf(weights, size) : null
+            );
+        }
+    }
+}
@@ -1,45 +1,60 @@
 package io.github.yarikmogila.nickgen.common;
 
-import java.util.List;
 import java.util.Properties;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 final class MinecraftYoutuberStyleGenerator implements NicknameProfileGenerator {
 
     private static final MinecraftConfig CONFIG = MinecraftConfig.loadDefault();
 
-    private final List<String> prefixes;
-    private final List<String> suffixes;
-    private final List<String> singleWords;
+    private final String displayName;
+    private final String description;
+    private final WordTable prefixes;
+    private final WordTable suffixes;
+    private final WordTable singleWords;
     private final int singleWordChancePercent;
     private final int numberSuffixChancePercent;
     private final int numberMin;
     private final int numberMax;
 
     MinecraftYoutuberStyleGenerator() {
+        this(CONFIG);
+    }
+
+    MinecraftYoutuberStyleGenerator(ConfigSource source) {
+        this(MinecraftConfig.load(source));
+    }
+
+    private MinecraftYoutuberStyleGenerator(MinecraftConfig config) {
         this(
-                CONFIG.prefixes(),
-                CONFIG.suffixes(),
-                CONFIG.singleWords(),
-                CONFIG.singleWordChancePercent(),
-                CONFIG.numberSuffixChancePercent(),
-                CONFIG.numberMin(),
-                CONFIG.numberMax()
+                config.displayName(),
+                config.description(),
+                config.prefixes(),
+                config.suffixes(),
+                config.singleWords(),
+                config.singleWordChancePercent(),
+                config.numberSuffixChancePercent(),
+                config.numberMin(),
+                config.numberMax()
         );
     }
 
     private MinecraftYoutuberStyleGenerator(
-            List<String> prefixes,
-            List<String> suffixes,
-            List<String> singleWords,
+            String displayName,
+            String description,
+            WordTable prefixes,
+            WordTable suffixes,
+            WordTable singleWords,
             int singleWordChancePercent,
             int numberSuffixChancePercent,
             int numberMin,
             int numberMax
     ) {
-        this.prefixes = List.copyOf(prefixes);
-        this.suffixes = List.copyOf(suffixes);
-        this.singleWords = List.copyOf(singleWords);
+        this.displayName = displayName;
+        this.description = description;
+        this.prefixes = prefixes;
+        this.suffixes = suffixes;
+        this.singleWords = singleWords;
         this.singleWordChancePercent = singleWordChancePercent;
         this.numberSuffixChancePercent = numberSuffixChancePercent;
         this.numberMin = numberMin;
@@ -53,42 +68,57 @@ final class MinecraftYoutuberStyleGenerator implements NicknameProfileGenerator
 
     @Override
     public String displayName() {
-        return CONFIG.displayName();
+        return displayName;
     }
 
     @Override
     public String description() {
-        return CONFIG.description();
+        return description;
     }
 
     @Override
-    public String generateCandidate(NicknameRequestContext context, Random random) {
+    public String generateCandidate(NicknameRequestContext context, RandomGenerator random) {
         if (random.nextInt(100) < singleWordChancePercent) {
             return pick(singleWords, random);
         }
 
-        String prefix = pick(prefixes, random);
-        String suffix = pick(suffixes, random);
-        String base = prefix + suffix;
+        StringBuilder nickname = new StringBuilder(24);
+        appendCompound(nickname, random);
+        return nickname.toString();
+    }
+
+    @Override
+    public void appendCandidate(NicknameRequestContext context, RandomGenerator random, StringBuilder target) {
+        if (random.nextInt(100) < singleWordChancePercent) {
+            append(target, singleWords, random);
+            return;
+        }
+        appendCompound(target, random);
+    }
+
+    private void appendCompound(StringBuilder target, RandomGenerator random) {
+        append(target, prefixes, random);
+        append(target, suffixes, random);
 
         if (random.nextInt(100) < numberSuffixChancePercent) {
-            int number = numberMin + random.nextInt(numberMax - numberMin + 1);
-            return base + number;
+            target.append(numberMin + random.nextInt(numberMax - numberMin + 1));
         }
+    }
 
-        return base;
+    private void append(StringBuilder target, WordTable words, RandomGenerator random) {
+        words.appendTo(target, words.sample(random));
     }
 
-    private String pick(List<String> words, Random random) {
-        return words.get(random.nextInt(words.size()));
+    private String pick(WordTable words, RandomGenerator random) {
+        return words.get(words.sample(random));
     }
 
     private record MinecraftConfig(
             String displayName,
             String description,
-            List<String> prefixes,
-            List<String> suffixes,
-            List<String> singleWords,
+            WordTable prefixes,
+            WordTable suffixes,
+            WordTable singleWords,
             int singleWordChancePercent,
             int numberSuffixChancePercent,
             int numberMin,
@@ -97,18 +127,25 @@ final class MinecraftYoutuberStyleGenerator implements NicknameProfileGenerator
         private static final String RESOURCE_PATH = "/generators/minecraft-youtuber.properties";
 
         private static MinecraftConfig loadDefault() {
-            Properties properties = ConfigResourceSupport.loadProperties(RESOURCE_PATH);
+            return load(ConfigSource.classpath());
+        }
+
+        private static MinecraftConfig load(ConfigSource source) {
+            Properties properties = ConfigResourceSupport.loadProperties(source, RESOURCE_PATH);
 
             String displayName = ConfigResourceSupport.requiredString(properties, "displayName");
             String description = ConfigResourceSupport.requiredString(properties, "description");
 
-            List<String> prefixes = ConfigResourceSupport.loadWordList(
+            WordTable prefixes = ConfigResourceSupport.loadWordList(
+                    source,
                     ConfigResourceSupport.requiredString(properties, "prefixesFile")
             );
-            List<String> suffixes = ConfigResourceSupport.loadWordList(
+            WordTable suffixes = ConfigResourceSupport.loadWordList(
+                    source,
                     ConfigResourceSupport.requiredString(properties, "suffixesFile")
             );
-            List<String> singleWords = ConfigResourceSupport.loadWordList(
+            WordTable singleWords = ConfigResourceSupport.loadWordList(
+                    source,
                     ConfigResourceSupport.requiredString(properties, "singleWordsFile")
             );
 
@@ -1,10 +1,44 @@
 package io.github.yarikmogila.nickgen.common;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 public interface NicknameGenerator {
     List<NicknameResult> generate(GenerationRequest request);
 
+    default int generateInto(GenerationRequest request, Appendable target) throws IOException {
+        List<NicknameResult> results = generate(request);
+        for (NicknameResult result : results) {
+            target.append(result.value()).append('\n');
+        }
+        return results.size();
+    }
+
+    default int generateInto(GenerationRequest request, WritableByteChannel target) throws IOException {
+        Writer writer = Channels.newWriter(target, StandardCharsets.UTF_8);
+        int written = generateInto(request, writer);
+        writer.flush();
+        return written;
+    }
+
+    default int generateInto(GenerationRequest request, Utf8NicknameSink target) throws IOException {
+        List<NicknameResult> results = generate(request);
+        for (NicknameResult result : results) {
+            byte[] encoded = result.value().getBytes(StandardCharsets.UTF_8);
+            target.accept(encoded, 0, encoded.length);
+        }
+        return results.size();
+    }
+
+    default int generateInto(GenerationRequest request, Utf8NicknameSink target, int threads, boolean ordered)
+            throws IOException {
+        return generateInto(request, target);
+    }
+
     default List<NicknameGeneratorDescriptor> availableGenerators() {
         return List.of(new NicknameGeneratorDescriptor(
                 GenerationRequest.DEFAULT_GENERATOR_ID,
@@ -1,33 +1,53 @@
 package io.github.yarikmogila.nickgen.common;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 public final class NicknameGeneratorRegistry {
 
-    private final Map<String, NicknameProfileGenerator> generatorsById = new LinkedHashMap<>();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    private volatile boolean specializePipelines = true;
+
+    public NicknameGeneratorRegistry specializePipelines(boolean enabled) {
+        this.specializePipelines = enabled;
+        return this;
+    }
 
     public NicknameGeneratorRegistry register(NicknameProfileGenerator generator) {
         Objects.requireNonNull(generator, "generator must not be null");
 
         String id = normalizeId(generator.id());
-        generatorsById.put(id, generator);
+        NicknameProfileGenerator prepared = prepare(generator);
+        update(generatorsById -> generatorsById.put(id, prepared));
         return this;
     }
 
     public NicknameGeneratorRegistry registerAll(Iterable<? extends NicknameProfileGenerator> generators) {
         Objects.requireNonNull(generators, "generators must not be null");
+
+        Map<String, NicknameProfileGenerator> additions = new LinkedHashMap<>();
         for (NicknameProfileGenerator generator : generators) {
-            register(generator);
+            Objects.requireNonNull(generator, "generator must not be null");
+            additions.put(normalizeId(generator.id()), prepare(generator));
         }
+        update(generatorsById -> generatorsById.putAll(additions));
+        return this;
+    }
+
+    public NicknameGeneratorRegistry unregister(String id) {
+        String normalizedId = normalizeId(id);
+        update(generatorsById -> generatorsById.remove(normalizedId));
         return this;
     }
 
     public NicknameProfileGenerator getById(String id) {
-        NicknameProfileGenerator generator = generatorsById.get(normalizeId(id));
+        NicknameProfileGenerator generator = snapshot.get().generatorsById().get(normalizeId(id));
         if (generator == null) {
             throw new InvalidGenerationRequestException("Unknown generatorId: " + id);
         }
@@ -35,19 +55,27 @@ public final class NicknameGeneratorRegistry {
     }
 
     public boolean contains(String id) {
-        return generatorsById.containsKey(normalizeId(id));
+        return snapshot.get().generatorsById().containsKey(normalizeId(id));
     }
 
     public List<NicknameGeneratorDescriptor> descriptors() {
-        List<NicknameGeneratorDescriptor> descriptors = new ArrayList<>(generatorsById.size());
-        for (NicknameProfileGenerator generator : generatorsById.values()) {
-            descriptors.add(new NicknameGeneratorDescriptor(
-                    generator.id(),
-                    generator.displayName(),
-                    generator.description()
-            ));
+        return snapshot.get().descriptors();
+    }
+
+    private NicknameProfileGenerator prepare(NicknameProfileGenerator generator) {
+        return specializePipelines ? PipelineSpecializer.specialize(generator) : generator;
+    }
+
+    private void update(Consumer<Map<String, NicknameProfileGenerator>> mutation) {
+        while (true) {
+            Snapshot current = snapshot.get();
+            Map<String, NicknameProfileGenerator> generatorsById = new LinkedHashMap<>(current.generatorsById());
+            mutation.accept(generatorsById);
+            Snapshot next = Snapshot.of(generatorsById);
+            if (snapshot.compareAndSet(current, next)) {
+                return;
+            }
         }
-        return List.copyOf(descriptors);
     }
 
     private String normalizeId(String rawId) {
@@ -56,4 +84,23 @@ public final class NicknameGeneratorRegistry {
         }
         return rawId.trim();
     }
+
+    private record Snapshot(
+            Map<String, NicknameProfileGenerator> generatorsById,
+            List<NicknameGeneratorDescriptor> descriptors
+    ) {
+        private static final Snapshot EMPTY = new Snapshot(Map.of(), List.of());
+
+        private static Snapshot of(Map<String, NicknameProfileGenerator> generatorsById) {
+            List<NicknameGeneratorDescriptor> descriptors = new ArrayList<>(generatorsById.size());
+            for (NicknameProfileGenerator generator : generatorsById.values()) {
+                descriptors.add(new NicknameGeneratorDescriptor(
+                        generator.id(),
+                        generator.displayName(),
+                        generator.description()
+                ));
+            }
+            return new Snapshot(Collections.unmodifiableMap(generatorsById), List.copyOf(descriptors));
+        }
+    }
 }
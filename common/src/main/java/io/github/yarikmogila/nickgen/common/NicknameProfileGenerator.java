@@ -1,6 +1,6 @@
 package io.github.yarikmogila.nickgen.common;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public interface NicknameProfileGenerator {
     String id();
@@ -9,5 +9,12 @@ public interface NicknameProfileGenerator {
 
     String description();
 
-    String generateCandidate(NicknameRequestContext context, Random random);
+    String generateCandidate(NicknameRequestContext context, RandomGenerator random);
+
+    default void appendCandidate(NicknameRequestContext context, RandomGenerator random, StringBuilder target) {
+        String candidate = generateCandidate(context, random);
+        if (candidate != null) {
+            target.append(candidate);
+        }
+    }
 }
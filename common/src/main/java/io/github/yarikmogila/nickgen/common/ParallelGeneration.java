@@ -0,0 +1,274 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+final class ParallelGeneration {
+
+    static final int BLOCK_SIZE = 1024;
+
+    private static final int BLOCKS_PER_THREAD = 2;
+    private static final int CLAIM_BATCH = 32;
+
+    private final CandidateSource source;
+    private final Supplier<RandomGenerator> streams;
+    private final StripedNicknameSet nicknames;
+    private final boolean ordered;
+    private final int blockSize;
+    // Nicknames unordered workers may still claim, so a run never reserves more names than it emits.
+    private final AtomicInteger unclaimed;
+
+    // Claim progress of ordered runs; only the calling thread touches these.
+    private int attempts;
+    private int written;
+
+    private ParallelGeneration(
+            CandidateSource source,
+            Supplier<RandomGenerator> streams,
+            StripedNicknameSet nicknames,
+            int count,
+            boolean ordered
+    ) {
+        this.source = source;
+        this.streams = streams;
+        this.nicknames = nicknames;
+        this.ordered = ordered;
+        this.blockSize = Math.min(BLOCK_SIZE, count);
+        this.unclaimed = new AtomicInteger(count);
+    }
+
+    // Workers fill fixed-size blocks of candidates, each from its own random stream taken in block order.
+    // Ordered runs claim and emit whole blocks in that order on the calling thread, so a seeded run yields
+    // the same nicknames for any thread count. Unordered runs claim on the workers and emit blocks as they
+    // complete. Either way the sink is only called from the calling thread. Blocks hold at most count
+    // attempts, so a small request does not fill a whole block per stream.
+    static int run(
+            CandidateSource source,
+            Supplier<RandomGenerator> streams,
+            StripedNicknameSet nicknames,
+            int count,
+            int maxAttempts,
+            int threads,
+            boolean ordered,
+            Utf8NicknameSink sink
+    ) throws IOException {
+        ParallelGeneration generation = new ParallelGeneration(source, streams, nicknames, count, ordered);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new GenerationThreadFactory());
+        try {
+            return ordered
+                    ? generation.runOrdered(executor, threads * BLOCKS_PER_THREAD, count, maxAttempts, sink)
+                    : generation.runUnordered(executor, threads * BLOCKS_PER_THREAD, count, maxAttempts, sink);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating nicknames", exception);
+        } finally {
+            shutdown(executor);
+        }
+    }
+
+    private int runOrdered(
+            ExecutorService executor,
+            int blocksInFlight,
+            int count,
+            int maxAttempts,
+            Utf8NicknameSink sink
+    ) throws IOException, InterruptedException {
+        ArrayDeque<Future<Block>> pending = new ArrayDeque<>(blocksInFlight);
+        for (int index = 0; index < blocksInFlight; index++) {
+            pending.add(submit(executor, new Block()));
+        }
+
+        while (true) {
+            Block block = await(pending.poll());
+            if (claim(block, count, maxAttempts, sink)) {
+                return written;
+            }
+            pending.add(submit(executor, block));
+        }
+    }
+
+    // Claims the block's candidates in order and returns true once count nicknames have been written.
+    private boolean claim(Block block, int count, int maxAttempts, Utf8NicknameSink sink) throws IOException {
+        int start = 0;
+        for (int index = 0; index < block.size; index++) {
+            if (written == count) {
+                return true;
+            }
+            if (attempts++ >= maxAttempts) {
+                throw ExtensibleNicknameGenerator.notEnoughUnique(count, maxAttempts);
+            }
+
+            int end = block.ends[index];
+            if (end > start && nicknames.add(block.bytes, start, end - start)) {
+                sink.accept(block.bytes, start, end - start);
+                written++;
+            }
+            start = end;
+        }
+        return written == count;
+    }
+
+    private int runUnordered(
+            ExecutorService executor,
+            int blocksInFlight,
+            int count,
+            int maxAttempts,
+            Utf8NicknameSink sink
+    ) throws IOException, InterruptedException {
+        CompletionService<Block> completion = new ExecutorCompletionService<>(executor);
+        for (int index = 0; index < blocksInFlight; index++) {
+            submit(completion, new Block());
+        }
+
+        long attempts = 0;
+        int written = 0;
+        while (true) {
+            Block block = await(completion.take());
+            attempts += block.attempts;
+            int start = 0;
+            for (int index = 0; index < block.size && written < count; index++) {
+                sink.accept(block.bytes, start, block.ends[index] - start);
+                start = block.ends[index];
+                written++;
+            }
+            if (written == count) {
+                return written;
+            }
+            if (attempts >= maxAttempts) {
+                throw ExtensibleNicknameGenerator.notEnoughUnique(count, maxAttempts);
+            }
+            // With every remaining name already claimed by blocks in flight, waiting for them is enough.
+            if (unclaimed.get() > 0) {
+                submit(completion, block);
+            }
+        }
+    }
+
+    private Future<Block> submit(ExecutorService executor, Block block) {
+        RandomGenerator random = streams.get();
+        return executor.submit(() -> fill(block, random));
+    }
+
+    private void submit(CompletionService<Block> completion, Block block) {
+        RandomGenerator random = streams.get();
+        completion.submit(() -> fill(block, random));
+    }
+
+    // Ordered blocks keep one entry per attempt, with an empty entry for an attempt that produced nothing;
+    // unordered blocks keep only the nicknames this worker managed to claim, and stop early once the run
+    // has nothing left to claim.
+    private Block fill(Block block, RandomGenerator random) {
+        int position = 0;
+        int reserved = 0;
+        int attempt = 0;
+        block.size = 0;
+        for (; attempt < blockSize; attempt++) {
+            if (!ordered && reserved == 0 && (reserved = reserve()) == 0) {
+                break;
+            }
+            CharSequence candidate = source.next(random, block.scratch);
+            if (candidate != null) {
+                int required = position + Utf8NicknameSet.maxEncodedLength(candidate);
+                if (required > block.bytes.length) {
+                    block.bytes = Arrays.copyOf(block.bytes, Math.max(required, block.bytes.length << 1));
+                }
+                int end = Utf8NicknameSet.encode(candidate, block.bytes, position);
+                if (ordered) {
+                    position = end;
+                } else if (nicknames.addConcurrently(block.bytes, position, end - position)) {
+                    position = end;
+                    reserved--;
+                } else {
+                    continue;
+                }
+            } else if (!ordered) {
+                continue;
+            }
+            block.ends[block.size++] = position;
+        }
+        if (reserved > 0) {
+            unclaimed.addAndGet(reserved);
+        }
+        block.attempts = attempt;
+        return block;
+    }
+
+    // Takes up to CLAIM_BATCH of the run's remaining names for one worker, or 0 when none are left.
+    private int reserve() {
+        while (true) {
+            int available = unclaimed.get();
+            if (available == 0) {
+                return 0;
+            }
+            int taken = Math.min(available, CLAIM_BATCH);
+            if (unclaimed.compareAndSet(available, available - taken)) {
+                return taken;
+            }
+        }
+    }
+
+    private static Block await(Future<Block> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Failed to generate nicknames", cause);
+        }
+    }
+
+    // Unordered workers still claim into the shared set, so they must be done before the caller
+    // releases the generator lock.
+    private static void shutdown(ExecutorService executor) {
+        executor.shutdownNow();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+            } catch (InterruptedException exception) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Block {
+        private final StringBuilder scratch = new StringBuilder(64);
+        private final int[] ends = new int[BLOCK_SIZE];
+        private byte[] bytes = new byte[BLOCK_SIZE * 16];
+        private int size;
+        private int attempts;
+    }
+
+    private static final class GenerationThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "nickgen-generator-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+final class ParallelLoader {
+
+    static final String THREADS_PROPERTY = "nickgen.loader.threads";
+
+    private static final int MAX_DEFAULT_THREADS = 4;
+
+    private ParallelLoader() {
+    }
+
+    static <T> List<T> loadAll(List<? extends Supplier<? extends T>> tasks) {
+        int threads = Math.min(threadCount(), tasks.size());
+        List<T> results = new ArrayList<>(tasks.size());
+        if (threads <= 1) {
+            for (Supplier<? extends T> task : tasks) {
+                results.add(task.get());
+            }
+            return results;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new LoaderThreadFactory());
+        try {
+            List<Future<? extends T>> futures = new ArrayList<>(tasks.size());
+            for (Supplier<? extends T> task : tasks) {
+                futures.add(executor.submit(task::get));
+            }
+
+            Throwable failure = null;
+            for (Future<? extends T> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException exception) {
+                    Throwable cause = exception.getCause();
+                    if (failure == null) {
+                        failure = cause;
+                    } else if (cause != failure) {
+                        failure.addSuppressed(cause);
+                    }
+                }
+            }
+
+            if (failure instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (failure instanceof Error error) {
+                throw error;
+            }
+            if (failure != null) {
+                throw new IllegalStateException("Failed to load configuration", failure);
+            }
+            return results;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading configuration", exception);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static int threadCount() {
+        String raw = System.getProperty(THREADS_PROPERTY);
+        if (raw == null || raw.isBlank()) {
+            return Math.min(Runtime.getRuntime().availableProcessors(), MAX_DEFAULT_THREADS);
+        }
+        try {
+            int threads = Integer.parseInt(raw.trim());
+            if (threads < 1) {
+                throw new IllegalStateException("Invalid " + THREADS_PROPERTY + ": " + raw + ", expected >= 1");
+            }
+            return threads;
+        } catch (NumberFormatException exception) {
+            throw new IllegalStateException("Invalid " + THREADS_PROPERTY + ": " + raw, exception);
+        }
+    }
+
+    private static final class LoaderThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "nickgen-loader-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
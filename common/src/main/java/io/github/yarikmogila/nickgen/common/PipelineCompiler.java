@@ -0,0 +1,332 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+final class PipelineCompiler {
+
+    private static final int MAX_REPEAT = 64;
+
+    private final String source;
+    private final Function<String, WordTable> wordLists;
+    private final Function<String, CharTranslationTable> charMaps;
+    private final Map<String, Integer> wordIndexes = new LinkedHashMap<>();
+    private final Map<String, Integer> literalIndexes = new LinkedHashMap<>();
+    private final Map<String, Integer> charMapIndexes = new LinkedHashMap<>();
+    private final List<WordTable> words = new ArrayList<>();
+    private final List<CharTranslationTable> charTables = new ArrayList<>();
+    private final List<Integer> choiceTables = new ArrayList<>();
+    private int[] code = new int[32];
+    private int size;
+    private int position;
+    private int depth;
+    private int maxDepth;
+
+    private PipelineCompiler(
+            String source,
+            Function<String, WordTable> wordLists,
+            Function<String, CharTranslationTable> charMaps
+    ) {
+        this.source = source;
+        this.wordLists = wordLists;
+        this.charMaps = charMaps;
+    }
+
+    static PipelineProgram compile(
+            String source,
+            Function<String, WordTable> wordLists,
+            Function<String, CharTranslationTable> charMaps
+    ) {
+        PipelineCompiler compiler = new PipelineCompiler(source, wordLists, charMaps);
+        compiler.sequence();
+        compiler.skipWhitespace();
+        if (compiler.position < source.length()) {
+            throw compiler.error("unexpected '" + source.charAt(compiler.position) + "'");
+        }
+        compiler.emit(PipelineProgram.END);
+        compiler.threadJumps();
+        return new PipelineProgram(
+                Arrays.copyOf(compiler.code, compiler.size),
+                compiler.choiceTables.stream().mapToInt(Integer::intValue).toArray(),
+                compiler.words.toArray(WordTable[]::new),
+                compiler.literalIndexes.keySet().toArray(String[]::new),
+                compiler.charTables.toArray(CharTranslationTable[]::new),
+                compiler.maxDepth
+        );
+    }
+
+    private void sequence() {
+        int steps = 0;
+        while (true) {
+            skipWhitespace();
+            if (position == source.length() || peek() == ')' || peek() == '|') {
+                break;
+            }
+            step();
+            steps++;
+        }
+        if (steps == 0) {
+            throw error("expected at least one step");
+        }
+    }
+
+    private void step() {
+        if (peek() == '"') {
+            emit(PipelineProgram.LITERAL, literal(string()));
+            return;
+        }
+
+        int start = position;
+        String name = identifier();
+        expect('(');
+        switch (name) {
+            case "word" -> emit(PipelineProgram.WORD, wordList(identifier()));
+            case "number" -> {
+                int min = integer();
+                expect(',');
+                int max = integer();
+                emit(PipelineProgram.NUMBER, min, span(min, max, Integer.MAX_VALUE));
+            }
+            case "repeat" -> {
+                int literal = literal(string());
+                expect(',');
+                int min = integer();
+                expect(',');
+                int max = integer();
+                emit(PipelineProgram.REPEAT, literal, min, span(min, max, MAX_REPEAT));
+            }
+            case "chance" -> {
+                int percent = percent();
+                expect(',');
+                int chance = size;
+                emit(PipelineProgram.CHANCE, percent, 0);
+                sequence();
+                code[chance + 2] = size;
+                fuseChance(chance);
+            }
+            case "choice" -> choice();
+            case "upper" -> transform(PipelineProgram.UPPER);
+            case "lower" -> transform(PipelineProgram.LOWER);
+            case "capitalize" -> transform(PipelineProgram.CAPITALIZE);
+            case "leet" -> {
+                int table = charMap(identifier());
+                expect(',');
+                int percent = percent();
+                expect(',');
+                enter();
+                sequence();
+                depth--;
+                emit(PipelineProgram.LEET, table, percent);
+            }
+            default -> {
+                position = start;
+                throw error("unknown step '" + name + "'");
+            }
+        }
+        expect(')');
+    }
+
+    private void choice() {
+        int header = size;
+        emit(PipelineProgram.CHOICE, 0, choiceTables.size());
+        List<Integer> exits = new ArrayList<>();
+        long total = 0;
+        while (true) {
+            int weight = integer();
+            expect(':');
+            total += weight;
+            choiceTables.add(weight);
+            choiceTables.add(size);
+            sequence();
+            if (!tryConsume('|')) {
+                break;
+            }
+            emit(PipelineProgram.JUMP, 0);
+            exits.add(size - 1);
+        }
+
+        if (total < 1 || total > Integer.MAX_VALUE) {
+            throw error("choice weights must add up to 1.." + Integer.MAX_VALUE);
+        }
+        code[header + 1] = (int) total;
+        for (int exit : exits) {
+            code[exit] = size;
+        }
+    }
+
+    private void fuseChance(int chance) {
+        int body = chance + 3;
+        if (size == body + 3 && code[body] == PipelineProgram.NUMBER) {
+            code[chance] = PipelineProgram.CHANCE_NUMBER;
+            code[chance + 2] = code[body + 1];
+            code[chance + 3] = code[body + 2];
+            size = chance + 4;
+        } else if (size == body + 2 && code[body] == PipelineProgram.LITERAL) {
+            code[chance] = PipelineProgram.CHANCE_LITERAL;
+            code[chance + 2] = code[body + 1];
+            size = chance + 3;
+        }
+    }
+
+    private void threadJumps() {
+        int pc = 0;
+        while (pc < size) {
+            int opcode = code[pc];
+            if (opcode == PipelineProgram.JUMP && code[code[pc + 1]] == PipelineProgram.END) {
+                // Both slots become END so the code stays walkable one instruction at a time.
+                code[pc] = PipelineProgram.END;
+                code[pc + 1] = PipelineProgram.END;
+            } else if (opcode == PipelineProgram.WORD && endsAt(pc + 2)) {
+                code[pc] = PipelineProgram.WORD_END;
+            }
+            pc += PipelineProgram.instructionLength(opcode);
+        }
+    }
+
+    private boolean endsAt(int pc) {
+        return code[pc] == PipelineProgram.END
+                || code[pc] == PipelineProgram.JUMP && code[code[pc + 1]] == PipelineProgram.END;
+    }
+
+    private void transform(int opcode) {
+        enter();
+        sequence();
+        depth--;
+        emit(opcode);
+    }
+
+    private void enter() {
+        emit(PipelineProgram.MARK);
+        depth++;
+        maxDepth = Math.max(maxDepth, depth);
+    }
+
+    private int wordList(String name) {
+        Integer existing = wordIndexes.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        WordTable table = wordLists.apply(name);
+        if (table.isEmpty()) {
+            throw error("word list '" + name + "' is empty");
+        }
+        words.add(table);
+        wordIndexes.put(name, words.size() - 1);
+        return words.size() - 1;
+    }
+
+    private int charMap(String name) {
+        Integer existing = charMapIndexes.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        charTables.add(charMaps.apply(name));
+        charMapIndexes.put(name, charTables.size() - 1);
+        return charTables.size() - 1;
+    }
+
+    private int literal(String value) {
+        return literalIndexes.computeIfAbsent(value, ignored -> literalIndexes.size());
+    }
+
+    private int span(int min, int max, int limit) {
+        if (min < 0 || max < min || (long) max - min + 1 > limit) {
+            throw error("range " + min + ".." + max + " must be non-negative, ordered and span at most " + limit);
+        }
+        return max - min + 1;
+    }
+
+    private int percent() {
+        int value = integer();
+        if (value > 100) {
+            throw error("percent must be 0..100");
+        }
+        return value;
+    }
+
+    private String identifier() {
+        skipWhitespace();
+        int start = position;
+        while (position < source.length()
+                && (Character.isLetterOrDigit(peek()) || peek() == '_' || peek() == '-')) {
+            position++;
+        }
+        if (start == position) {
+            throw error("expected a name");
+        }
+        return source.substring(start, position);
+    }
+
+    private int integer() {
+        skipWhitespace();
+        int start = position;
+        while (position < source.length() && peek() >= '0' && peek() <= '9') {
+            position++;
+        }
+        if (start == position) {
+            throw error("expected a number");
+        }
+        try {
+            return Integer.parseInt(source, start, position, 10);
+        } catch (NumberFormatException exception) {
+            position = start;
+            throw error("number is too large");
+        }
+    }
+
+    private String string() {
+        skipWhitespace();
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (position < source.length() && peek() != '"') {
+            char symbol = source.charAt(position++);
+            if (symbol == '\\' && position < source.length()) {
+                symbol = source.charAt(position++);
+            }
+            value.append(symbol);
+        }
+        expect('"');
+        return value.toString();
+    }
+
+    private void expect(char expected) {
+        if (!tryConsume(expected)) {
+            throw error("expected '" + expected + "'");
+        }
+    }
+
+    private boolean tryConsume(char expected) {
+        skipWhitespace();
+        if (position < source.length() && peek() == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (position < source.length() && Character.isWhitespace(peek())) {
+            position++;
+        }
+    }
+
+    private char peek() {
+        return source.charAt(position);
+    }
+
+    private void emit(int... values) {
+        if (size + values.length > code.length) {
+            code = Arrays.copyOf(code, Math.max(code.length << 1, size + values.length));
+        }
+        System.arraycopy(values, 0, code, size, values.length);
+        size += values.length;
+    }
+
+    private IllegalStateException error(String message) {
+        return new IllegalStateException("Invalid pipeline at column " + (position + 1) + ": " + message);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.util.Properties;
+import java.util.random.RandomGenerator;
+
+final class PipelineProfileGenerator implements NicknameProfileGenerator {
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final String id;
+    private final String displayName;
+    private final String description;
+    private final PipelineProgram program;
+
+    PipelineProfileGenerator(ConfigSource source, String resourcePath) {
+        Properties properties = ConfigResourceSupport.loadProperties(source, resourcePath);
+        this.id = ConfigResourceSupport.requiredString(properties, "id");
+        this.displayName = ConfigResourceSupport.requiredString(properties, "displayName");
+        this.description = ConfigResourceSupport.requiredString(properties, "description");
+        this.program = PipelineCompiler.compile(
+                ConfigResourceSupport.requiredString(properties, "pipeline"),
+                name -> ConfigResourceSupport.loadWordList(
+                        source,
+                        ConfigResourceSupport.requiredString(properties, "words." + name)
+                ),
+                name -> CharTranslationTable.of(
+                        ConfigResourceSupport.requiredCharMap(source, resourcePath, properties, "charMap." + name),
+                        false
+                )
+        );
+    }
+
+    @Override
+    public String id() {
+        return id;
+    }
+
+    @Override
+    public String displayName() {
+        return displayName;
+    }
+
+    @Override
+    public String description() {
+        return description;
+    }
+
+    PipelineProgram program() {
+        return program;
+    }
+
+    @Override
+    public String generateCandidate(NicknameRequestContext context, RandomGenerator random) {
+        Scratch scratch = SCRATCH.get();
+        scratch.out.setLength(0);
+        return program.execute(random, scratch.marks(program.maxDepth()), scratch.out);
+    }
+
+    @Override
+    public void appendCandidate(NicknameRequestContext context, RandomGenerator random, StringBuilder target) {
+        program.appendTo(random, program.maxDepth() == 0 ? null : SCRATCH.get().marks(program.maxDepth()), target);
+    }
+
+    // Per-thread buffers reused across candidates so the interpreter allocates no more than the result string.
+    private static final class Scratch {
+        private final StringBuilder out = new StringBuilder(24);
+        private int[] marks = new int[8];
+
+        private int[] marks(int maxDepth) {
+            if (marks.length <= maxDepth) {
+                marks = new int[maxDepth + 1];
+            }
+            marks[0] = 0;
+            return marks;
+        }
+    }
+}
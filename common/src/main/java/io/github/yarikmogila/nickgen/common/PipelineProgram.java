@@ -0,0 +1,205 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.util.random.RandomGenerator;
+
+final class PipelineProgram {
+
+    static final int END = 0;
+    static final int WORD = 1;
+    static final int LITERAL = 2;
+    static final int NUMBER = 3;
+    static final int REPEAT = 4;
+    static final int CHANCE = 5;
+    static final int CHOICE = 6;
+    static final int JUMP = 7;
+    static final int MARK = 8;
+    static final int UPPER = 9;
+    static final int LOWER = 10;
+    static final int CAPITALIZE = 11;
+    static final int LEET = 12;
+    static final int CHANCE_NUMBER = 13;
+    static final int CHANCE_LITERAL = 14;
+    static final int WORD_END = 15;
+
+    private final int[] code;
+    private final int[] choiceTables;
+    private final WordTable[] words;
+    private final String[] literals;
+    private final CharTranslationTable[] charTables;
+    private final int maxDepth;
+
+    PipelineProgram(
+            int[] code,
+            int[] choiceTables,
+            WordTable[] words,
+            String[] literals,
+            CharTranslationTable[] charTables,
+            int maxDepth
+    ) {
+        this.code = code;
+        this.choiceTables = choiceTables;
+        this.words = words;
+        this.literals = literals;
+        this.charTables = charTables;
+        this.maxDepth = maxDepth;
+    }
+
+    int maxDepth() {
+        return maxDepth;
+    }
+
+    int[] code() {
+        return code;
+    }
+
+    int[] choiceTables() {
+        return choiceTables;
+    }
+
+    WordTable[] words() {
+        return words;
+    }
+
+    String[] literals() {
+        return literals;
+    }
+
+    CharTranslationTable[] charTables() {
+        return charTables;
+    }
+
+    static int instructionLength(int opcode) {
+        return switch (opcode) {
+            case END, MARK, UPPER, LOWER, CAPITALIZE -> 1;
+            case WORD, LITERAL, JUMP, WORD_END -> 2;
+            case NUMBER, CHANCE, CHOICE, LEET, CHANCE_LITERAL -> 3;
+            case REPEAT, CHANCE_NUMBER -> 4;
+            default -> throw new IllegalArgumentException("Unknown pipeline opcode " + opcode);
+        };
+    }
+
+    String execute(RandomGenerator random, int[] marks, StringBuilder out) {
+        int pc = run(random, marks, out);
+        return code[pc] == WORD_END ? finishWithWord(pc, out, random) : out.toString();
+    }
+
+    void appendTo(RandomGenerator random, int[] marks, StringBuilder out) {
+        int pc = run(random, marks, out);
+        if (code[pc] == WORD_END) {
+            appendWord(pc, out, random);
+        }
+    }
+
+    // Runs up to the closing END or WORD_END and returns its address, leaving that instruction to the caller.
+    private int run(RandomGenerator random, int[] marks, StringBuilder out) {
+        int[] code = this.code;
+        int pc = 0;
+        while (true) {
+            switch (code[pc]) {
+                case WORD -> pc = appendWord(pc, out, random);
+                case LITERAL -> pc = appendLiteral(pc, out);
+                case NUMBER -> pc = appendNumber(pc, out, random);
+                case CHANCE -> pc = random.nextInt(100) < code[pc + 1] ? pc + 3 : code[pc + 2];
+                case CHANCE_NUMBER ->
+                        pc = random.nextInt(100) < code[pc + 1] ? appendNumber(pc + 1, out, random) : pc + 4;
+                case CHOICE -> pc = choose(pc, random);
+                case JUMP -> pc = code[pc + 1];
+                case WORD_END, END -> {
+                    return pc;
+                }
+                default -> pc = executeRare(pc, out, random, marks);
+            }
+        }
+    }
+
+    private int executeRare(int pc, StringBuilder out, RandomGenerator random, int[] marks) {
+        switch (code[pc]) {
+            case REPEAT -> {
+                return repeat(pc, out, random);
+            }
+            case CHANCE_LITERAL -> {
+                return random.nextInt(100) < code[pc + 1] ? appendLiteral(pc + 1, out) : pc + 3;
+            }
+            case MARK -> marks[++marks[0]] = out.length();
+            case UPPER -> TextCase.upperCase(out, marks[marks[0]--], out.length());
+            case LOWER -> TextCase.lowerCase(out, marks[marks[0]--], out.length());
+            case CAPITALIZE -> capitalize(out, marks[marks[0]--]);
+            case LEET -> {
+                return leet(pc, out, random, marks);
+            }
+            default -> throw new IllegalStateException("Unknown pipeline opcode " + code[pc] + " at " + pc);
+        }
+        return pc + 1;
+    }
+
+    private int appendWord(int pc, StringBuilder out, RandomGenerator random) {
+        WordTable table = words[code[pc + 1]];
+        table.appendTo(out, table.sample(random));
+        return pc + 2;
+    }
+
+    private String finishWithWord(int pc, StringBuilder out, RandomGenerator random) {
+        return finishWithWord(words[code[pc + 1]], out, random);
+    }
+
+    static String finishWithWord(WordTable table, StringBuilder out, RandomGenerator random) {
+        int index = table.sample(random);
+        if (out.isEmpty()) {
+            return table.get(index);
+        }
+        table.appendTo(out, index);
+        return out.toString();
+    }
+
+    private int appendLiteral(int pc, StringBuilder out) {
+        out.append(literals[code[pc + 1]]);
+        return pc + 2;
+    }
+
+    private int appendNumber(int pc, StringBuilder out, RandomGenerator random) {
+        out.append(code[pc + 1] + random.nextInt(code[pc + 2]));
+        return pc + 3;
+    }
+
+    private int repeat(int pc, StringBuilder out, RandomGenerator random) {
+        appendRepeated(out, literals[code[pc + 1]], code[pc + 2] + random.nextInt(code[pc + 3]));
+        return pc + 4;
+    }
+
+    static void appendRepeated(StringBuilder out, String literal, int count) {
+        for (; count > 0; count--) {
+            out.append(literal);
+        }
+    }
+
+    private int choose(int pc, RandomGenerator random) {
+        int roll = random.nextInt(code[pc + 1]);
+        int branch = code[pc + 2];
+        while (roll >= choiceTables[branch]) {
+            roll -= choiceTables[branch];
+            branch += 2;
+        }
+        return choiceTables[branch + 1];
+    }
+
+    static void capitalize(StringBuilder out, int start) {
+        if (start < out.length()) {
+            TextCase.lowerCase(out, start + 1, out.length());
+            out.setCharAt(start, Character.toUpperCase(out.charAt(start)));
+        }
+    }
+
+    private int leet(int pc, StringBuilder out, RandomGenerator random, int[] marks) {
+        leet(charTables[code[pc + 1]], code[pc + 2], out, marks[marks[0]--], random);
+        return pc + 3;
+    }
+
+    static void leet(CharTranslationTable table, int percent, StringBuilder out, int start, RandomGenerator random) {
+        for (int index = start; index < out.length(); index++) {
+            char replacement = table.translate(out.charAt(index));
+            if (replacement != CharTranslationTable.NO_MAPPING && random.nextInt(100) < percent) {
+                out.setCharAt(index, replacement);
+            }
+        }
+    }
+}
@@ -0,0 +1,622 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class PipelineSpecializer {
+
+    private static final System.Logger LOGGER = System.getLogger(PipelineSpecializer.class.getName());
+
+    // Version 49 class files are checked by the type-inferencing verifier, so no stack map frames are needed.
+    private static final int CLASS_VERSION = 49;
+    // HotSpot leaves methods above this size to the interpreter, which would defeat the purpose.
+    private static final int MAX_METHOD_BYTES = 8_000;
+    private static final int MAX_STACK = 6;
+
+    private static final String PACKAGE = "io/github/yarikmogila/nickgen/common/";
+    private static final String CLASS_NAME = PACKAGE + "SpecializedPipeline";
+    private static final String SUPER_NAME = PACKAGE + "SpecializedPipelineProfile";
+    private static final String PROGRAM = PACKAGE + "PipelineProgram";
+    private static final String TEXT_CASE = PACKAGE + "TextCase";
+    private static final String WORD_TABLE = PACKAGE + "WordTable";
+    private static final String CHAR_TABLE = PACKAGE + "CharTranslationTable";
+    private static final String BUILDER = "java/lang/StringBuilder";
+    private static final String RANDOM = "java/util/random/RandomGenerator";
+    private static final String WORD_TABLE_TYPE = "L" + WORD_TABLE + ";";
+    private static final String CHAR_TABLE_TYPE = "L" + CHAR_TABLE + ";";
+    private static final String BUILDER_TYPE = "Ljava/lang/StringBuilder;";
+    private static final String RANDOM_TYPE = "L" + RANDOM + ";";
+    private static final String STRING_TYPE = "Ljava/lang/String;";
+
+    private static final int RANDOM_SLOT = 2;
+    private static final int BUILDER_SLOT = 3;
+    private static final int ROLL_SLOT = 4;
+    private static final int FIRST_MARK_SLOT = 5;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC = 0x12;
+    private static final int LDC_W = 0x13;
+    private static final int ILOAD = 0x15;
+    private static final int ALOAD = 0x19;
+    private static final int AALOAD = 0x32;
+    private static final int ISTORE = 0x36;
+    private static final int ASTORE = 0x3a;
+    private static final int POP = 0x57;
+    private static final int DUP = 0x59;
+    private static final int IADD = 0x60;
+    private static final int IF_ICMPLT = 0xa1;
+    private static final int IF_ICMPGE = 0xa2;
+    private static final int GOTO = 0xa7;
+    private static final int ARETURN = 0xb0;
+    private static final int RETURN = 0xb1;
+    private static final int GETSTATIC = 0xb2;
+    private static final int PUTSTATIC = 0xb3;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int NEW = 0xbb;
+    private static final int CHECKCAST = 0xc0;
+
+    private PipelineSpecializer() {
+    }
+
+    static NicknameProfileGenerator specialize(NicknameProfileGenerator generator) {
+        if (!(generator instanceof PipelineProfileGenerator pipeline)) {
+            return generator;
+        }
+        try {
+            return define(pipeline);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError exception) {
+            LOGGER.log(
+                    System.Logger.Level.WARNING,
+                    "Using the pipeline interpreter for profile " + pipeline.id() + ": " + exception.getMessage()
+            );
+            return generator;
+        }
+    }
+
+    private static NicknameProfileGenerator define(PipelineProfileGenerator pipeline)
+            throws ReflectiveOperationException {
+        PipelineProgram program = pipeline.program();
+        Object[] constants = new Object[program.words().length + program.charTables().length];
+        System.arraycopy(program.words(), 0, constants, 0, program.words().length);
+        System.arraycopy(program.charTables(), 0, constants, program.words().length, program.charTables().length);
+
+        byte[] bytes = new ClassWriter(program).toByteArray();
+        MethodHandles.Lookup lookup = constants.length == 0
+                ? MethodHandles.lookup().defineHiddenClass(bytes, true)
+                : MethodHandles.lookup().defineHiddenClassWithClassData(bytes, constants, true);
+        return (NicknameProfileGenerator) lookup.lookupClass()
+                .getDeclaredConstructor(String.class, String.class, String.class)
+                .newInstance(pipeline.id(), pipeline.displayName(), pipeline.description());
+    }
+
+    private static final class ClassWriter {
+        private final PipelineProgram program;
+        private final ConstantPool pool = new ConstantPool();
+        private final Code code = new Code();
+        private final List<int[]> pendingJumps = new ArrayList<>();
+        private int depth;
+
+        private ClassWriter(PipelineProgram program) {
+            this.program = program;
+        }
+
+        private byte[] toByteArray() {
+            int maxLocals = FIRST_MARK_SLOT + program.maxDepth();
+            if (maxLocals > 0xFF) {
+                throw new IllegalStateException("pipeline nests too deeply to specialize");
+            }
+
+            int thisClass = pool.classRef(CLASS_NAME);
+            int superClass = pool.classRef(SUPER_NAME);
+            List<Method> methods = new ArrayList<>();
+            methods.add(constructor());
+            if (program.words().length + program.charTables().length > 0) {
+                methods.add(staticInitializer());
+            }
+            methods.add(generateCandidate(maxLocals));
+            List<int[]> fields = new ArrayList<>();
+            for (int index = 0; index < program.words().length; index++) {
+                fields.add(new int[] {pool.utf8(wordField(index)), pool.utf8(WORD_TABLE_TYPE)});
+            }
+            for (int index = 0; index < program.charTables().length; index++) {
+                fields.add(new int[] {pool.utf8(charField(index)), pool.utf8(CHAR_TABLE_TYPE)});
+            }
+            int codeAttribute = pool.utf8("Code");
+
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+            try (DataOutputStream out = new DataOutputStream(buffer)) {
+                out.writeInt(0xCAFEBABE);
+                out.writeShort(0);
+                out.writeShort(CLASS_VERSION);
+                out.writeShort(pool.count());
+                pool.writeTo(out);
+                out.writeShort(ACC_FINAL | ACC_SUPER);
+                out.writeShort(thisClass);
+                out.writeShort(superClass);
+                out.writeShort(0);
+
+                out.writeShort(fields.size());
+                for (int[] field : fields) {
+                    out.writeShort(ACC_PRIVATE | ACC_STATIC | ACC_FINAL);
+                    out.writeShort(field[0]);
+                    out.writeShort(field[1]);
+                    out.writeShort(0);
+                }
+
+                out.writeShort(methods.size());
+                for (Method method : methods) {
+                    out.writeShort(method.access());
+                    out.writeShort(method.name());
+                    out.writeShort(method.descriptor());
+                    out.writeShort(1);
+                    out.writeShort(codeAttribute);
+                    out.writeInt(12 + method.code().length);
+                    out.writeShort(method.maxStack());
+                    out.writeShort(method.maxLocals());
+                    out.writeInt(method.code().length);
+                    out.write(method.code());
+                    out.writeShort(0);
+                    out.writeShort(0);
+                }
+                out.writeShort(0);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            return buffer.toByteArray();
+        }
+
+        private Method constructor() {
+            String descriptor = "(" + STRING_TYPE + STRING_TYPE + STRING_TYPE + ")V";
+            Code body = new Code();
+            for (int slot = 0; slot < 4; slot++) {
+                body.u1(ALOAD).u1(slot);
+            }
+            body.u1(INVOKESPECIAL).u2(pool.methodRef(SUPER_NAME, "<init>", descriptor));
+            body.u1(RETURN);
+            return new Method(ACC_PUBLIC, pool.utf8("<init>"), pool.utf8(descriptor), 4, 4, body.toByteArray());
+        }
+
+        private Method staticInitializer() {
+            Code body = new Code();
+            body.u1(INVOKESTATIC).u2(pool.methodRef(
+                    "java/lang/invoke/MethodHandles",
+                    "lookup",
+                    "()Ljava/lang/invoke/MethodHandles$Lookup;"
+            ));
+            ldc(body, pool.string("_"));
+            ldc(body, pool.classRef("[Ljava/lang/Object;"));
+            body.u1(INVOKESTATIC).u2(pool.methodRef(
+                    "java/lang/invoke/MethodHandles",
+                    "classData",
+                    "(Ljava/lang/invoke/MethodHandles$Lookup;" + STRING_TYPE + "Ljava/lang/Class;)Ljava/lang/Object;"
+            ));
+            body.u1(CHECKCAST).u2(pool.classRef("[Ljava/lang/Object;"));
+            body.u1(ASTORE).u1(0);
+
+            int constant = 0;
+            for (int index = 0; index < program.words().length; index++) {
+                loadConstant(body, constant++, WORD_TABLE, wordField(index), WORD_TABLE_TYPE);
+            }
+            for (int index = 0; index < program.charTables().length; index++) {
+                loadConstant(body, constant++, CHAR_TABLE, charField(index), CHAR_TABLE_TYPE);
+            }
+            body.u1(RETURN);
+            return new Method(ACC_STATIC, pool.utf8("<clinit>"), pool.utf8("()V"), 3, 1, body.toByteArray());
+        }
+
+        private void loadConstant(Code body, int constant, String type, String field, String descriptor) {
+            body.u1(ALOAD).u1(0);
+            pushInt(body, constant);
+            body.u1(AALOAD);
+            body.u1(CHECKCAST).u2(pool.classRef(type));
+            body.u1(PUTSTATIC).u2(pool.fieldRef(CLASS_NAME, field, descriptor));
+        }
+
+        private Method generateCandidate(int maxLocals) {
+            int[] instructions = program.code();
+            int[] offsets = new int[instructions.length];
+            Arrays.fill(offsets, -1);
+
+            code.u1(NEW).u2(pool.classRef(BUILDER));
+            code.u1(DUP);
+            pushInt(code, 24);
+            code.u1(INVOKESPECIAL).u2(pool.methodRef(BUILDER, "<init>", "(I)V"));
+            code.u1(ASTORE).u1(BUILDER_SLOT);
+
+            int pc = 0;
+            while (pc < instructions.length) {
+                offsets[pc] = code.size();
+                emit(instructions, pc);
+                pc += PipelineProgram.instructionLength(instructions[pc]);
+            }
+
+            for (int[] jump : pendingJumps) {
+                patch(jump[0], offsets[jump[1]]);
+            }
+            if (code.size() > MAX_METHOD_BYTES) {
+                throw new IllegalStateException("pipeline compiles to " + code.size() + " bytes of code");
+            }
+            return new Method(
+                    ACC_PUBLIC,
+                    pool.utf8("generateCandidate"),
+                    pool.utf8("(L" + PACKAGE + "NicknameRequestContext;" + RANDOM_TYPE + ")" + STRING_TYPE),
+                    MAX_STACK,
+                    maxLocals,
+                    code.toByteArray()
+            );
+        }
+
+        private void emit(int[] instructions, int pc) {
+            switch (instructions[pc]) {
+                case PipelineProgram.WORD -> {
+                    getWordTable(instructions[pc + 1]);
+                    code.u1(ALOAD).u1(BUILDER_SLOT);
+                    getWordTable(instructions[pc + 1]);
+                    code.u1(ALOAD).u1(RANDOM_SLOT);
+                    code.u1(INVOKEVIRTUAL).u2(pool.methodRef(WORD_TABLE, "sample", "(" + RANDOM_TYPE + ")I"));
+                    code.u1(INVOKEVIRTUAL).u2(pool.methodRef(WORD_TABLE, "appendTo", "(" + BUILDER_TYPE + "I)V"));
+                }
+                case PipelineProgram.WORD_END -> {
+                    getWordTable(instructions[pc + 1]);
+                    code.u1(ALOAD).u1(BUILDER_SLOT);
+                    code.u1(ALOAD).u1(RANDOM_SLOT);
+                    code.u1(INVOKESTATIC).u2(pool.methodRef(
+                            PROGRAM,
+                            "finishWithWord",
+                            "(" + WORD_TABLE_TYPE + BUILDER_TYPE + RANDOM_TYPE + ")" + STRING_TYPE
+                    ));
+                    code.u1(ARETURN);
+                }
+                case PipelineProgram.LITERAL -> appendLiteral(instructions[pc + 1]);
+                case PipelineProgram.NUMBER -> appendNumber(instructions[pc + 1], instructions[pc + 2]);
+                case PipelineProgram.REPEAT -> {
+                    code.u1(ALOAD).u1(BUILDER_SLOT);
+                    ldc(code, pool.string(program.literals()[instructions[pc + 1]]));
+                    pushInt(code, instructions[pc + 2]);
+                    roll(instructions[pc + 3]);
+                    code.u1(IADD);
+                    code.u1(INVOKESTATIC).u2(pool.methodRef(
+                            PROGRAM,
+                            "appendRepeated",
+                            "(" + BUILDER_TYPE + STRING_TYPE + "I)V"
+                    ));
+                }
+                case PipelineProgram.CHANCE -> {
+                    roll(100);
+                    pushInt(code, instructions[pc + 1]);
+                    jump(IF_ICMPGE, instructions[pc + 2]);
+                }
+                case PipelineProgram.CHANCE_NUMBER -> {
+                    roll(100);
+                    pushInt(code, instructions[pc + 1]);
+                    int skip = branch(IF_ICMPGE);
+                    appendNumber(instructions[pc + 2], instructions[pc + 3]);
+                    bind(skip);
+                }
+                case PipelineProgram.CHANCE_LITERAL -> {
+                    roll(100);
+                    pushInt(code, instructions[pc + 1]);
+                    int skip = branch(IF_ICMPGE);
+                    appendLiteral(instructions[pc + 2]);
+                    bind(skip);
+                }
+                case PipelineProgram.CHOICE -> choice(instructions[pc + 1], instructions[pc + 2]);
+                case PipelineProgram.JUMP -> jump(GOTO, instructions[pc + 1]);
+                case PipelineProgram.MARK -> {
+                    builderLength();
+                    code.u1(ISTORE).u1(FIRST_MARK_SLOT + depth++);
+                }
+                case PipelineProgram.UPPER, PipelineProgram.LOWER -> {
+                    code.u1(ALOAD).u1(BUILDER_SLOT);
+                    code.u1(ILOAD).u1(FIRST_MARK_SLOT + --depth);
+                    builderLength();
+                    code.u1(INVOKESTATIC).u2(pool.methodRef(
+                            TEXT_CASE,
+                            instructions[pc] == PipelineProgram.UPPER ? "upperCase" : "lowerCase",
+                            "(" + BUILDER_TYPE + "II)V"
+                    ));
+                }
+                case PipelineProgram.CAPITALIZE -> {
+                    code.u1(ALOAD).u1(BUILDER_SLOT);
+                    code.u1(ILOAD).u1(FIRST_MARK_SLOT + --depth);
+                    code.u1(INVOKESTATIC).u2(pool.methodRef(PROGRAM, "capitalize", "(" + BUILDER_TYPE + "I)V"));
+                }
+                case PipelineProgram.LEET -> {
+                    int field = pool.fieldRef(CLASS_NAME, charField(instructions[pc + 1]), CHAR_TABLE_TYPE);
+                    code.u1(GETSTATIC).u2(field);
+                    pushInt(code, instructions[pc + 2]);
+                    code.u1(ALOAD).u1(BUILDER_SLOT);
+                    code.u1(ILOAD).u1(FIRST_MARK_SLOT + --depth);
+                    code.u1(ALOAD).u1(RANDOM_SLOT);
+                    code.u1(INVOKESTATIC).u2(pool.methodRef(
+                            PROGRAM,
+                            "leet",
+                            "(" + CHAR_TABLE_TYPE + "I" + BUILDER_TYPE + "I" + RANDOM_TYPE + ")V"
+                    ));
+                }
+                case PipelineProgram.END -> {
+                    code.u1(ALOAD).u1(BUILDER_SLOT);
+                    code.u1(INVOKEVIRTUAL).u2(pool.methodRef(BUILDER, "toString", "()" + STRING_TYPE));
+                    code.u1(ARETURN);
+                }
+                default -> throw new IllegalStateException("unknown pipeline opcode " + instructions[pc]);
+            }
+        }
+
+        // Branches are tested most likely first; each keeps the roll range the interpreter gives it,
+        // so both produce the same candidates for the same random sequence.
+        private void choice(int total, int firstEntry) {
+            int[] tables = program.choiceTables();
+            List<int[]> branches = new ArrayList<>();
+            int low = 0;
+            for (int entry = firstEntry; low < total; entry += 2) {
+                if (tables[entry] > 0) {
+                    branches.add(new int[] {low, low + tables[entry], tables[entry + 1]});
+                }
+                low += tables[entry];
+            }
+            branches.sort(Comparator.comparingInt(branch -> branch[0] - branch[1]));
+
+            roll(total);
+            code.u1(ISTORE).u1(ROLL_SLOT);
+            for (int index = 0; index < branches.size() - 1; index++) {
+                int[] branch = branches.get(index);
+                int skipBelow = -1;
+                int skipAbove = -1;
+                if (branch[0] > 0) {
+                    code.u1(ILOAD).u1(ROLL_SLOT);
+                    pushInt(code, branch[0]);
+                    skipBelow = branch(IF_ICMPLT);
+                }
+                if (branch[1] < total) {
+                    code.u1(ILOAD).u1(ROLL_SLOT);
+                    pushInt(code, branch[1]);
+                    skipAbove = branch(IF_ICMPGE);
+                }
+                jump(GOTO, branch[2]);
+                bind(skipBelow);
+                bind(skipAbove);
+            }
+            jump(GOTO, branches.get(branches.size() - 1)[2]);
+        }
+
+        private void appendLiteral(int literal) {
+            code.u1(ALOAD).u1(BUILDER_SLOT);
+            ldc(code, pool.string(program.literals()[literal]));
+            code.u1(INVOKEVIRTUAL).u2(pool.methodRef(BUILDER, "append", "(" + STRING_TYPE + ")" + BUILDER_TYPE));
+            code.u1(POP);
+        }
+
+        private void appendNumber(int min, int span) {
+            code.u1(ALOAD).u1(BUILDER_SLOT);
+            pushInt(code, min);
+            roll(span);
+            code.u1(IADD);
+            code.u1(INVOKEVIRTUAL).u2(pool.methodRef(BUILDER, "append", "(I)" + BUILDER_TYPE));
+            code.u1(POP);
+        }
+
+        private void roll(int bound) {
+            code.u1(ALOAD).u1(RANDOM_SLOT);
+            pushInt(code, bound);
+            code.u1(INVOKEINTERFACE).u2(pool.interfaceMethodRef(RANDOM, "nextInt", "(I)I")).u1(2).u1(0);
+        }
+
+        private void builderLength() {
+            code.u1(ALOAD).u1(BUILDER_SLOT);
+            code.u1(INVOKEVIRTUAL).u2(pool.methodRef(BUILDER, "length", "()I"));
+        }
+
+        private void getWordTable(int index) {
+            code.u1(GETSTATIC).u2(pool.fieldRef(CLASS_NAME, wordField(index), WORD_TABLE_TYPE));
+        }
+
+        private void jump(int opcode, int targetPc) {
+            pendingJumps.add(new int[] {code.size(), targetPc});
+            code.u1(opcode).u2(0);
+        }
+
+        private int branch(int opcode) {
+            int at = code.size();
+            code.u1(opcode).u2(0);
+            return at;
+        }
+
+        private void bind(int branch) {
+            if (branch >= 0) {
+                patch(branch, code.size());
+            }
+        }
+
+        private void patch(int at, int target) {
+            int offset = target - at;
+            if (target < 0 || offset != (short) offset) {
+                throw new IllegalStateException("jump target out of range at " + at);
+            }
+            code.set(at + 1, offset >> 8);
+            code.set(at + 2, offset);
+        }
+
+        private void ldc(Code body, int index) {
+            if (index <= 0xFF) {
+                body.u1(LDC).u1(index);
+            } else {
+                body.u1(LDC_W).u2(index);
+            }
+        }
+
+        private void pushInt(Code body, int value) {
+            if (value >= -1 && value <= 5) {
+                body.u1(0x03 + value);
+            } else if (value == (byte) value) {
+                body.u1(BIPUSH).u1(value);
+            } else if (value == (short) value) {
+                body.u1(SIPUSH).u2(value);
+            } else {
+                ldc(body, pool.integer(value));
+            }
+        }
+
+        private static String wordField(int index) {
+            return "words" + index;
+        }
+
+        private static String charField(int index) {
+            return "charMap" + index;
+        }
+    }
+
+    private record Method(int access, int name, int descriptor, int maxStack, int maxLocals, byte[] code) {
+    }
+
+    private static final class Code {
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        private Code u1(int value) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, size << 1);
+            }
+            bytes[size++] = (byte) value;
+            return this;
+        }
+
+        private Code u2(int value) {
+            return u1(value >> 8).u1(value);
+        }
+
+        private void set(int index, int value) {
+            bytes[index] = (byte) value;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+
+    private static final class ConstantPool {
+        private static final int UTF8 = 1;
+        private static final int INTEGER = 3;
+        private static final int CLASS = 7;
+        private static final int STRING = 8;
+        private static final int FIELD = 9;
+        private static final int METHOD = 10;
+        private static final int INTERFACE_METHOD = 11;
+        private static final int NAME_AND_TYPE = 12;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        private int count() {
+            return indexes.size() + 1;
+        }
+
+        private void writeTo(DataOutputStream target) throws IOException {
+            bytes.writeTo(target);
+        }
+
+        private int utf8(String value) {
+            Integer existing = indexes.get(UTF8 + ":" + value);
+            if (existing != null) {
+                return existing;
+            }
+            try {
+                out.writeByte(UTF8);
+                out.writeUTF(value);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            return register(UTF8 + ":" + value);
+        }
+
+        private int integer(int value) {
+            Integer existing = indexes.get(INTEGER + ":" + value);
+            if (existing != null) {
+                return existing;
+            }
+            try {
+                out.writeByte(INTEGER);
+                out.writeInt(value);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            return register(INTEGER + ":" + value);
+        }
+
+        private int classRef(String name) {
+            return reference(CLASS, utf8(name), -1, name);
+        }
+
+        private int string(String value) {
+            return reference(STRING, utf8(value), -1, value);
+        }
+
+        private int fieldRef(String owner, String name, String descriptor) {
+            return member(FIELD, owner, name, descriptor);
+        }
+
+        private int methodRef(String owner, String name, String descriptor) {
+            return member(METHOD, owner, name, descriptor);
+        }
+
+        private int interfaceMethodRef(String owner, String name, String descriptor) {
+            return member(INTERFACE_METHOD, owner, name, descriptor);
+        }
+
+        private int member(int tag, String owner, String name, String descriptor) {
+            int ownerIndex = classRef(owner);
+            int nameAndType = reference(NAME_AND_TYPE, utf8(name), utf8(descriptor), name + " " + descriptor);
+            return reference(tag, ownerIndex, nameAndType, owner + "." + name + " " + descriptor);
+        }
+
+        private int reference(int tag, int first, int second, String key) {
+            Integer existing = indexes.get(tag + ":" + key);
+            if (existing != null) {
+                return existing;
+            }
+            try {
+                out.writeByte(tag);
+                out.writeShort(first);
+                if (second >= 0) {
+                    out.writeShort(second);
+                }
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            return register(tag + ":" + key);
+        }
+
+        private int register(String key) {
+            int index = indexes.size() + 1;
+            if (index > 0xFFFF) {
+                throw new IllegalStateException("constant pool is full");
+            }
+            indexes.put(key, index);
+            return index;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+final class RandomAlgorithms {
+
+    static final String DEFAULT_SEEDED_ALGORITHM = "L64X128MixRandom";
+
+    private static final Map<String, RandomGeneratorFactory<RandomGenerator>> FACTORIES = new ConcurrentHashMap<>();
+
+    private RandomAlgorithms() {
+    }
+
+    static RandomGenerator create(Map<String, String> options, Long seed) {
+        String algorithm = resolveAlgorithm(options);
+        if (algorithm == null) {
+            if (seed == null) {
+                return ThreadLocalRandom.current();
+            }
+            algorithm = DEFAULT_SEEDED_ALGORITHM;
+        }
+
+        RandomGeneratorFactory<RandomGenerator> factory = factory(algorithm);
+        return seed == null ? factory.create() : factory.create(seed);
+    }
+
+    // Successive calls must come from one thread; the n-th stream then depends only on the seed and n.
+    static Supplier<RandomGenerator> streams(Map<String, String> options, Long seed) {
+        String algorithm = resolveAlgorithm(options);
+        RandomGeneratorFactory<RandomGenerator> factory = factory(
+                algorithm == null ? DEFAULT_SEEDED_ALGORITHM : algorithm
+        );
+        RandomGenerator root = seed == null ? factory.create() : factory.create(seed);
+        if (root instanceof RandomGenerator.SplittableGenerator splittable) {
+            return splittable::split;
+        }
+        if (root instanceof RandomGenerator.JumpableGenerator jumpable) {
+            return jumpable::copyAndJump;
+        }
+        return () -> factory.create(root.nextLong());
+    }
+
+    static String resolveAlgorithm(Map<String, String> options) {
+        if (options == null) {
+            return null;
+        }
+        String algorithm = options.get(GenerationOptionKeys.RANDOM_ALGORITHM);
+        if (algorithm == null || algorithm.isBlank()) {
+            return null;
+        }
+        return algorithm.trim();
+    }
+
+    static RandomGeneratorFactory<RandomGenerator> factory(String algorithm) {
+        return FACTORIES.computeIfAbsent(algorithm, RandomAlgorithms::lookup);
+    }
+
+    private static RandomGeneratorFactory<RandomGenerator> lookup(String algorithm) {
+        RandomGeneratorFactory<RandomGenerator> factory;
+        try {
+            factory = RandomGeneratorFactory.of(algorithm);
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidGenerationRequestException("Unknown random algorithm: " + algorithm);
+        }
+        if (factory.isDeprecated()) {
+            throw new InvalidGenerationRequestException("Deprecated random algorithm: " + algorithm);
+        }
+        return factory;
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.yarikmogila.nickgen.common;
+
+abstract class SpecializedPipelineProfile implements NicknameProfileGenerator {
+
+    private final String id;
+    private final String displayName;
+    private final String description;
+
+    protected SpecializedPipelineProfile(String id, String displayName, String description) {
+        this.id = id;
+        this.displayName = displayName;
+        this.description = description;
+    }
+
+    @Override
+    public String id() {
+        return id;
+    }
+
+    @Override
+    public String displayName() {
+        return displayName;
+    }
+
+    @Override
+    public String description() {
+        return description;
+    }
+}
@@ -1,6 +1,13 @@
 package io.github.yarikmogila.nickgen.common;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public final class StandardNicknameGenerators {
 
@@ -14,13 +21,18 @@ public final class StandardNicknameGenerators {
     }
 
     public static List<NicknameProfileGenerator> defaults() {
-        return List.of(
-                new DictionaryNicknameGenerator(),
-                new MinecraftYoutuberStyleGenerator(),
-                new CounterStrikeStyleGenerator(),
-                new CounterStrike16ClassicGenerator(),
-                new DotaStyleGenerator()
-        );
+        return List.copyOf(ParallelLoader.loadAll(List.<Supplier<NicknameProfileGenerator>>of(
+                DictionaryNicknameGenerator::new,
+                MinecraftYoutuberStyleGenerator::new,
+                CounterStrikeStyleGenerator::new,
+                CounterStrike16ClassicGenerator::new,
+                DotaStyleGenerator::new
+        )));
+    }
+
+    public static List<NicknameProfileGenerator> defaults(Path configDirectory) {
+        Objects.requireNonNull(configDirectory, "configDirectory must not be null");
+        return load(ConfigSource.overlay(configDirectory));
     }
 
     public static NicknameGeneratorRegistry defaultRegistry() {
@@ -28,4 +40,39 @@ public final class StandardNicknameGenerators {
         registry.registerAll(defaults());
         return registry;
     }
+
+    public static NicknameGeneratorRegistry defaultRegistry(Path configDirectory) {
+        NicknameGeneratorRegistry registry = new NicknameGeneratorRegistry();
+        registry.registerAll(defaults(configDirectory));
+        return registry;
+    }
+
+    public static NicknameProfileGenerator pipelineProfile(String resourcePath) {
+        Objects.requireNonNull(resourcePath, "resourcePath must not be null");
+        return new PipelineProfileGenerator(ConfigSource.classpath(), resourcePath);
+    }
+
+    public static NicknameProfileGenerator pipelineProfile(Path configDirectory, String resourcePath) {
+        Objects.requireNonNull(configDirectory, "configDirectory must not be null");
+        Objects.requireNonNull(resourcePath, "resourcePath must not be null");
+        return new PipelineProfileGenerator(ConfigSource.overlay(configDirectory), resourcePath);
+    }
+
+    static List<NicknameProfileGenerator> load(ConfigSource source) {
+        List<Supplier<NicknameProfileGenerator>> tasks = new ArrayList<>();
+        for (Function<ConfigSource, NicknameProfileGenerator> factory : factories().values()) {
+            tasks.add(() -> factory.apply(source));
+        }
+        return List.copyOf(ParallelLoader.loadAll(tasks));
+    }
+
+    static Map<String, Function<ConfigSource, NicknameProfileGenerator>> factories() {
+        Map<String, Function<ConfigSource, NicknameProfileGenerator>> factories = new LinkedHashMap<>();
+        factories.put(DICTIONARY, DictionaryNicknameGenerator::new);
+        factories.put(MINECRAFT_YOUTUBER, MinecraftYoutuberStyleGenerator::new);
+        factories.put(COUNTER_STRIKE_PRO, CounterStrikeStyleGenerator::new);
+        factories.put(COUNTER_STRIKE_16_CLASSIC, CounterStrike16ClassicGenerator::new);
+        factories.put(DOTA_PRO, DotaStyleGenerator::new);
+        return factories;
+    }
 }
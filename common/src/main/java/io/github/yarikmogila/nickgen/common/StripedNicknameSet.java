@@ -0,0 +1,39 @@
+package io.github.yarikmogila.nickgen.common;
+
+final class StripedNicknameSet {
+
+    private static final int STRIPE_BITS = 6;
+
+    // Stripes are picked by the top hash bits while each stripe probes with the low bits,
+    // so parallel writers rarely meet on the same lock.
+    private final Utf8NicknameSet[] stripes = new Utf8NicknameSet[1 << STRIPE_BITS];
+
+    StripedNicknameSet() {
+        for (int index = 0; index < stripes.length; index++) {
+            stripes[index] = new Utf8NicknameSet();
+        }
+    }
+
+    boolean add(byte[] bytes, int offset, int length) {
+        int hash = Utf8NicknameSet.hash(bytes, offset, length);
+        return stripes[hash >>> (Integer.SIZE - STRIPE_BITS)].add(bytes, offset, length, hash);
+    }
+
+    boolean addConcurrently(byte[] bytes, int offset, int length) {
+        int hash = Utf8NicknameSet.hash(bytes, offset, length);
+        Utf8NicknameSet stripe = stripes[hash >>> (Integer.SIZE - STRIPE_BITS)];
+        synchronized (stripe) {
+            return stripe.add(bytes, offset, length, hash);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Utf8NicknameSet stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.util.Locale;
+
+final class TextCase {
+
+    private static final int ASCII_CASE_OFFSET = 'a' - 'A';
+
+    private TextCase() {
+    }
+
+    static void upperCase(StringBuilder text, int start, int end) {
+        for (int index = start; index < end; index++) {
+            char symbol = text.charAt(index);
+            if (symbol >= 'a' && symbol <= 'z') {
+                text.setCharAt(index, (char) (symbol - ASCII_CASE_OFFSET));
+            } else if (symbol >= 0x80) {
+                if (!hasSimpleCaseMapping(symbol)) {
+                    text.replace(start, end, text.substring(start, end).toUpperCase(Locale.ROOT));
+                    return;
+                }
+                text.setCharAt(index, Character.toUpperCase(symbol));
+            }
+        }
+    }
+
+    static void lowerCase(StringBuilder text, int start, int end) {
+        for (int index = start; index < end; index++) {
+            char symbol = text.charAt(index);
+            if (symbol >= 'A' && symbol <= 'Z') {
+                text.setCharAt(index, (char) (symbol + ASCII_CASE_OFFSET));
+            } else if (symbol >= 0x80) {
+                if (!hasSimpleCaseMapping(symbol)) {
+                    text.replace(start, end, text.substring(start, end).toLowerCase(Locale.ROOT));
+                    return;
+                }
+                text.setCharAt(index, Character.toLowerCase(symbol));
+            }
+        }
+    }
+
+    static boolean hasSimpleCaseMapping(CharSequence text, int start, int end) {
+        for (int index = start; index < end; index++) {
+            if (!hasSimpleCaseMapping(text.charAt(index))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasSimpleCaseMapping(char symbol) {
+        boolean simple = symbol < 0x0300 || (symbol >= 0x0400 && symbol < 0x0530);
+        return simple && symbol != 'ß' && symbol != 'İ' && symbol != 'ŉ' && symbol != 'ǰ';
+    }
+}
@@ -4,16 +4,16 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 final class UserWordSupport {
 
-    private static final Map<Character, Character> LEET_MAP = Map.ofEntries(
+    private static final CharTranslationTable LEET_TABLE = CharTranslationTable.of(Map.ofEntries(
             Map.entry('a', '4'), Map.entry('e', '3'), Map.entry('i', '1'), Map.entry('o', '0'),
             Map.entry('s', '5'), Map.entry('t', '7'), Map.entry('b', '8'), Map.entry('z', '2'),
             Map.entry('а', '4'), Map.entry('е', '3'), Map.entry('о', '0'), Map.entry('с', '5'),
             Map.entry('т', '7'), Map.entry('в', '8'), Map.entry('з', '2')
-    );
+    ), false);
 
     enum UserWordPosition {
         SMART,
@@ -43,7 +43,7 @@ final class UserWordSupport {
         return normalized.isBlank() ? null : normalized;
     }
 
-    static String applyUserWord(String candidate, String userWord, Random random) {
+    static String applyUserWord(String candidate, String userWord, RandomGenerator random) {
         return applyUserWord(candidate, userWord, UserWordPosition.SMART, UserWordStyle.PLAIN, random);
     }
 
@@ -51,7 +51,7 @@ final class UserWordSupport {
             String candidate,
             String userWord,
             UserWordPosition position,
-            Random random
+            RandomGenerator random
     ) {
         return applyUserWord(candidate, userWord, position, UserWordStyle.PLAIN, random);
     }
@@ -61,7 +61,7 @@ final class UserWordSupport {
             String userWord,
             UserWordPosition position,
             UserWordStyle style,
-            Random random
+            RandomGenerator random
     ) {
         if (candidate == null || candidate.isBlank()) {
             return candidate;
@@ -170,7 +170,7 @@ final class UserWordSupport {
             String userWord,
             String reference,
             UserWordStyle style,
-            Random random
+            RandomGenerator random
     ) {
         if (style == UserWordStyle.PLAIN || reference == null || reference.isBlank()) {
             return userWord;
@@ -333,7 +333,7 @@ final class UserWordSupport {
         return Character.isUpperCase(symbol) ? Character.toUpperCase(mapped) : mapped;
     }
 
-    private static String alignLeet(String word, String reference, Random random) {
+    private static String alignLeet(String word, String reference, RandomGenerator random) {
         int digitCount = 0;
         for (int index = 0; index < reference.length(); index++) {
             if (Character.isDigit(reference.charAt(index))) {
@@ -349,9 +349,8 @@ final class UserWordSupport {
         StringBuilder builder = new StringBuilder(word.length());
         for (int index = 0; index < word.length(); index++) {
             char symbol = word.charAt(index);
-            char lower = Character.toLowerCase(symbol);
-            Character mapped = LEET_MAP.get(lower);
-            if (mapped != null && random.nextInt(100) < chance) {
+            char mapped = LEET_TABLE.translate(symbol);
+            if (mapped != CharTranslationTable.NO_MAPPING && random.nextInt(100) < chance) {
                 builder.append(mapped);
             } else {
                 builder.append(symbol);
@@ -443,7 +442,7 @@ final class UserWordSupport {
         return builder.toString();
     }
 
-    private static int resolveTokenIndex(UserWordPosition position, int tokenCount, Random random) {
+    private static int resolveTokenIndex(UserWordPosition position, int tokenCount, RandomGenerator random) {
         if (tokenCount < 2) {
             return 0;
         }
@@ -0,0 +1,146 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.util.Arrays;
+
+final class Utf8NicknameSet {
+
+    private static final int MAX_ARENA_SIZE = Integer.MAX_VALUE - 8;
+    private static final int MAX_VARINT_BYTES = 5;
+
+    // Entries are stored back to back as a varint length followed by the UTF-8 bytes;
+    // slots hold arena offset + 1 so that 0 marks an empty slot.
+    private byte[] arena = new byte[256];
+    private int arenaSize;
+    private int[] slots = new int[16];
+    private int[] hashes = new int[16];
+    private int size;
+
+    static int maxEncodedLength(CharSequence text) {
+        return text.length() * 3;
+    }
+
+    static int encode(CharSequence text, byte[] target) {
+        return encode(text, target, 0);
+    }
+
+    static int encode(CharSequence text, byte[] target, int offset) {
+        int position = offset;
+        int length = text.length();
+        for (int index = 0; index < length; index++) {
+            char symbol = text.charAt(index);
+            if (symbol < 0x80) {
+                target[position++] = (byte) symbol;
+            } else if (symbol < 0x800) {
+                target[position++] = (byte) (0xC0 | (symbol >> 6));
+                target[position++] = (byte) (0x80 | (symbol & 0x3F));
+            } else if (!Character.isSurrogate(symbol)) {
+                target[position++] = (byte) (0xE0 | (symbol >> 12));
+                target[position++] = (byte) (0x80 | ((symbol >> 6) & 0x3F));
+                target[position++] = (byte) (0x80 | (symbol & 0x3F));
+            } else if (Character.isHighSurrogate(symbol)
+                    && index + 1 < length
+                    && Character.isLowSurrogate(text.charAt(index + 1))) {
+                int codePoint = Character.toCodePoint(symbol, text.charAt(++index));
+                target[position++] = (byte) (0xF0 | (codePoint >> 18));
+                target[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                target[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                target[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                // Same replacement String.getBytes(UTF_8) uses for an unpaired surrogate.
+                target[position++] = '?';
+            }
+        }
+        return position;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean add(byte[] bytes, int offset, int length) {
+        return add(bytes, offset, length, hash(bytes, offset, length));
+    }
+
+    boolean add(byte[] bytes, int offset, int length, int hash) {
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            if (hashes[slot] == hash && matches(slots[slot] - 1, bytes, offset, length)) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        slots[slot] = append(bytes, offset, length) + 1;
+        hashes[slot] = hash;
+        if (++size * 4 >= slots.length * 3) {
+            grow();
+        }
+        return true;
+    }
+
+    private int append(byte[] bytes, int offset, int length) {
+        long required = (long) arenaSize + MAX_VARINT_BYTES + length;
+        if (required > arena.length) {
+            if (required > MAX_ARENA_SIZE) {
+                throw new IllegalStateException("Too many unique nicknames to track: " + size);
+            }
+            arena = Arrays.copyOf(arena, (int) Math.min(MAX_ARENA_SIZE, Math.max(required, (long) arena.length << 1)));
+        }
+
+        int start = arenaSize;
+        int remaining = length;
+        while (remaining >= 0x80) {
+            arena[arenaSize++] = (byte) (remaining | 0x80);
+            remaining >>>= 7;
+        }
+        arena[arenaSize++] = (byte) remaining;
+        System.arraycopy(bytes, offset, arena, arenaSize, length);
+        arenaSize += length;
+        return start;
+    }
+
+    private boolean matches(int entry, byte[] bytes, int offset, int length) {
+        int storedLength = 0;
+        int shift = 0;
+        byte next;
+        do {
+            next = arena[entry++];
+            storedLength |= (next & 0x7F) << shift;
+            shift += 7;
+        } while (next < 0);
+        return storedLength == length
+                && Arrays.equals(arena, entry, entry + length, bytes, offset, offset + length);
+    }
+
+    private void grow() {
+        int[] newSlots = new int[slots.length << 1];
+        int[] newHashes = new int[newSlots.length];
+        int mask = newSlots.length - 1;
+        for (int index = 0; index < slots.length; index++) {
+            if (slots[index] == 0) {
+                continue;
+            }
+            int slot = hashes[index] & mask;
+            while (newSlots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newSlots[slot] = slots[index];
+            newHashes[slot] = hashes[index];
+        }
+        slots = newSlots;
+        hashes = newHashes;
+    }
+
+    static int hash(byte[] bytes, int offset, int length) {
+        int hash = length;
+        for (int index = offset; index < offset + length; index++) {
+            hash = 31 * hash + bytes[index];
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,8 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface Utf8NicknameSink {
+    void accept(byte[] utf8, int offset, int length) throws IOException;
+}
@@ -0,0 +1,130 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.random.RandomGenerator;
+
+abstract class WordTable extends AbstractList<String> implements RandomAccess {
+
+    private final double[] weights;
+    private final AliasTable sampler;
+
+    WordTable(double[] weights, int size) {
+        if (weights != null && weights.length != size) {
+            throw new IllegalArgumentException("weights must have one entry per word");
+        }
+        this.weights = weights;
+        this.sampler = weights == null ? null : AliasTable.of(weights);
+    }
+
+    static WordTable of(Collection<String> words) {
+        Objects.requireNonNull(words, "words must not be null");
+        if (words instanceof WordTable table) {
+            return table;
+        }
+        return Arena.build(words, null);
+    }
+
+    static WordTable of(Collection<String> words, double[] weights) {
+        Objects.requireNonNull(words, "words must not be null");
+        return Arena.build(words, weights == null ? null : weights.clone());
+    }
+
+    static WordTable view(char[] chars, int[] offsets, int first, int size, double[] weights) {
+        Objects.checkFromIndexSize(first, size + 1, offsets.length);
+        return new Arena(chars, offsets, first, size, weights);
+    }
+
+    abstract void appendTo(StringBuilder target, int index);
+
+    int length(int index) {
+        return get(index).length();
+    }
+
+    int sample(RandomGenerator random) {
+        return sampler == null ? random.nextInt(size()) : sampler.sample(random);
+    }
+
+    boolean weighted() {
+        return weights != null;
+    }
+
+    double weight(int index) {
+        Objects.checkIndex(index, size());
+        return weights == null ? 1.0 : weights[index];
+    }
+
+    double totalWeight() {
+        if (weights == null) {
+            return size();
+        }
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        return total;
+    }
+
+    private static final class Arena extends WordTable {
+        private final char[] chars;
+        private final int[] offsets;
+        private final int first;
+        private final int size;
+
+        private Arena(char[] chars, int[] offsets, int first, int size, double[] weights) {
+            super(weights, size);
+            this.chars = chars;
+            this.offsets = offsets;
+            this.first = first;
+            this.size = size;
+        }
+
+        private static Arena build(Collection<String> words, double[] weights) {
+            long totalLength = 0;
+            for (String word : words) {
+                totalLength += Objects.requireNonNull(word, "words must not contain null").length();
+            }
+            if (totalLength > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Word table is too large: " + totalLength + " chars");
+            }
+
+            char[] chars = new char[(int) totalLength];
+            int[] offsets = new int[words.size() + 1];
+            int index = 0;
+            int position = 0;
+            for (String word : words) {
+                word.getChars(0, word.length(), chars, position);
+                position += word.length();
+                offsets[++index] = position;
+            }
+            return new Arena(chars, offsets, 0, words.size(), weights);
+        }
+
+        @Override
+        public String get(int index) {
+            Objects.checkIndex(index, size);
+            int start = offsets[first + index];
+            return new String(chars, start, offsets[first + index + 1] - start);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        int length(int index) {
+            Objects.checkIndex(index, size);
+            return offsets[first + index + 1] - offsets[first + index];
+        }
+
+        @Override
+        void appendTo(StringBuilder target, int index) {
+            Objects.checkIndex(index, size);
+            int start = offsets[first + index];
+            target.append(chars, start, offsets[first + index + 1] - start);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+final class WordTableBuilder {
+
+    static final char WEIGHT_DELIMITER = '|';
+
+    private final List<String> words = new ArrayList<>();
+    private double[] weights = new double[16];
+    private boolean weighted;
+
+    void addLine(String line, String resourcePath, int lineNumber) {
+        int delimiter = weightDelimiter(line);
+        if (delimiter < 0) {
+            add(line, 1.0);
+            return;
+        }
+        double weight = parseWeight(line.substring(delimiter + 1).trim(), resourcePath, lineNumber);
+        add(line.substring(0, delimiter).trim(), weight);
+        weighted = true;
+    }
+
+    boolean isEmpty() {
+        return words.isEmpty();
+    }
+
+    WordTable build() {
+        return WordTable.of(words, weighted ? Arrays.copyOf(weights, words.size()) : null);
+    }
+
+    static int weightDelimiter(String line) {
+        int delimiter = line.lastIndexOf(WEIGHT_DELIMITER);
+        if (delimiter < 0) {
+            return -1;
+        }
+        int weightStart = delimiter + 1;
+        while (weightStart < line.length() && Character.isWhitespace(line.charAt(weightStart))) {
+            weightStart++;
+        }
+        if (!isWeight(line, weightStart, line.length())) {
+            return -1;
+        }
+        return line.substring(0, delimiter).isBlank() ? -1 : delimiter;
+    }
+
+    static boolean isWeight(CharSequence value, int start, int end) {
+        int digits = 0;
+        boolean dot = false;
+        for (int index = start; index < end; index++) {
+            char current = value.charAt(index);
+            if (current >= '0' && current <= '9') {
+                digits++;
+            } else if (current == '.' && !dot && digits > 0) {
+                dot = true;
+                digits = 0;
+            } else {
+                return false;
+            }
+        }
+        return digits > 0;
+    }
+
+    static double parseWeight(String raw, String resourcePath, int lineNumber) {
+        double weight = Double.parseDouble(raw);
+        if (!(weight > 0) || Double.isInfinite(weight)) {
+            throw new IllegalStateException("Word weight must be positive at " + resourcePath + ":" + lineNumber);
+        }
+        return weight;
+    }
+
+    private void add(String word, double weight) {
+        if (words.size() == weights.length) {
+            weights = Arrays.copyOf(weights, weights.length << 1);
+        }
+        weights[words.size()] = weight;
+        words.add(word);
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.yarikmogila.nickgen.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class AliasTableTest {
+
+    @Test
+    void shouldSampleProportionallyToWeights() {
+        AliasTable table = AliasTable.of(new double[] {1, 0, 3, 6});
+        Random random = new Random(11);
+
+        int[] hits = new int[table.size()];
+        int samples = 200_000;
+        for (int index = 0; index < samples; index++) {
+            hits[table.sample(random)]++;
+        }
+
+        assertEquals(0.1, hits[0] / (double) samples, 0.01);
+        assertEquals(0, hits[1]);
+        assertEquals(0.3, hits[2] / (double) samples, 0.01);
+        assertEquals(0.6, hits[3] / (double) samples, 0.01);
+    }
+
+    @Test
+    void shouldRejectInvalidWeights() {
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.of(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.of(new double[] {0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.of(new double[] {1, -1}));
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.of(new double[] {1, Double.NaN}));
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.yarikmogila.nickgen.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CharTranslationTableTest {
+
+    @Test
+    void shouldTranslateByLowerCaseKey() {
+        CharTranslationTable table = CharTranslationTable.of(Map.of('a', '4', 'в', '8'), false);
+
+        assertEquals('4', table.translate('a'));
+        assertEquals('4', table.translate('A'));
+        assertEquals('8', table.translate('В'));
+        assertEquals(CharTranslationTable.NO_MAPPING, table.translate('b'));
+        assertEquals(CharTranslationTable.NO_MAPPING, table.translate('♡'));
+    }
+
+    @Test
+    void shouldPreserveCaseForCrossScriptMaps() {
+        CharTranslationTable table = CharTranslationTable.of(Map.of('k', 'к', 'a', 'а'), true);
+
+        assertEquals('к', table.translate('k'));
+        assertEquals('К', table.translate('K'));
+        assertEquals('К', table.translate('K'));
+        assertEquals('А', table.translate('A'));
+    }
+
+    @Test
+    void shouldRejectSentinelTarget() {
+        assertThrows(
+                IllegalStateException.class,
+                () -> CharTranslationTable.of(Map.of('a', CharTranslationTable.NO_MAPPING), false)
+        );
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.yarikmogila.nickgen.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class ConfigBundleTest {
+
+    @Test
+    void shouldRoundTripCompiledResources() {
+        ConfigSource text = ConfigSource.classpathText();
+        ConfigBundle bundle = ConfigBundle.read(ByteBuffer.wrap(ConfigBundle.compile(text).toBytes()));
+
+        assertEquals(
+                ConfigResourceSupport.loadProperties(text, "/generators/cs-pro.properties"),
+                bundle.properties("/generators/cs-pro.properties")
+        );
+        assertEquals(
+                ConfigResourceSupport.loadWordList(text, "/generators/lists/cs16/separators.txt"),
+                bundle.wordList("/generators/lists/cs16/separators.txt")
+        );
+        assertEquals(
+                DictionaryLoader.readGroupedWords(text, "/dictionaries/ru/nouns.txt"),
+                bundle.dictionary("/dictionaries/ru/nouns.txt")
+        );
+        assertEquals('к', bundle.charMap("/generators/cs16-classic.properties", "latinToCyrMap").get('k'));
+        assertNull(bundle.wordList("/generators/lists/unknown.txt"));
+    }
+
+    @Test
+    void shouldGenerateSameNicknamesFromBundleAndText() {
+        ConfigBundle bundle = ConfigBundle.read(ByteBuffer.wrap(
+                ConfigBundle.compile(ConfigSource.classpathText()).toBytes()
+        ));
+        ConfigSource bundled = new ConfigSource() {
+            @Override
+            public InputStream open(String resourcePath) {
+                throw new AssertionError("Unexpected text read: " + resourcePath);
+            }
+
+            @Override
+            public ConfigBundle bundle(String resourcePath) {
+                return bundle;
+            }
+        };
+
+        for (Function<ConfigSource, NicknameProfileGenerator> factory
+                : StandardNicknameGenerators.factories().values()) {
+            assertEquals(
+                    sample(factory.apply(ConfigSource.classpathText())),
+                    sample(factory.apply(bundled))
+            );
+        }
+    }
+
+    @Test
+    void shouldShipBundleOnClasspath() {
+        assertNotNull(ConfigBundle.classpath());
+    }
+
+    @Test
+    void shouldRejectCorruptedBundle() {
+        byte[] bytes = ConfigBundle.compile(ConfigSource.classpathText()).toBytes();
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> ConfigBundle.read(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length / 2)))
+        );
+        bytes[0] = 0;
+        assertThrows(IllegalStateException.class, () -> ConfigBundle.read(ByteBuffer.wrap(bytes)));
+    }
+
+    private List<String> sample(NicknameProfileGenerator generator) {
+        NicknameRequestContext context = new NicknameRequestContext(
+                NicknameLocale.RU,
+                NicknameTemplate.NOUN_VERB,
+                Map.of()
+        );
+        Random random = new Random(77);
+        List<String> values = new ArrayList<>();
+        for (int index = 0; index < 200; index++) {
+            values.add(generator.generateCandidate(context, random));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.yarikmogila.nickgen.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CounterStrikeStyleGeneratorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldSampleVariantsWithSameDistributionAsPerCharacterRolls() throws IOException {
+        CounterStrikeStyleGenerator rolling = generator(false);
+        CounterStrikeStyleGenerator precomputed = generator(true);
+
+        Map<String, Integer> rolled = histogram(rolling, 60_000);
+        Map<String, Integer> sampled = histogram(precomputed, 60_000);
+
+        assertEquals(OptionalLong.empty(), rolling.candidateSpaceUpperBound());
+        assertEquals(OptionalLong.of(8), precomputed.candidateSpaceUpperBound());
+        assertEquals(rolled.keySet(), sampled.keySet());
+        for (Map.Entry<String, Integer> entry : rolled.entrySet()) {
+            assertEquals(entry.getValue() / 60_000.0, sampled.get(entry.getKey()) / 60_000.0, 0.01, entry.getKey());
+        }
+        assertTrue(rolled.get("bat!") > rolled.get("BAT!"));
+    }
+
+    private CounterStrikeStyleGenerator generator(boolean precomputeVariants) throws IOException {
+        write("generators/lists/cs/stems.txt", "bat\n");
+        write("generators/lists/cs/suffixes.txt", "!\n");
+        write("generators/cs-pro.properties", """
+                displayName=CS
+                description=CS test profile
+                stemsFile=/generators/lists/cs/stems.txt
+                suffixesFile=/generators/lists/cs/suffixes.txt
+                leetMap=a:4,t:7
+                leetChancePercent=30
+                bareNumberChancePercent=0
+                numberMin=0
+                numberMax=9
+                caseWeightLower=3
+                caseWeightUpper=1
+                caseWeightCapitalized=0
+                caseWeightTailUpper=0
+                precomputeVariants=%s
+                """.formatted(precomputeVariants));
+        return new CounterStrikeStyleGenerator(ConfigSource.overlay(directory));
+    }
+
+    private Map<String, Integer> histogram(CounterStrikeStyleGenerator generator, int samples) {
+        NicknameRequestContext context = new NicknameRequestContext(
+                NicknameLocale.EN,
+                NicknameTemplate.ADJ_NOUN,
+                Map.of()
+        );
+        SplittableRandom random = new SplittableRandom(17);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int index = 0; index < samples; index++) {
+            counts.merge(generator.generateCandidate(context, random), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private void write(String relativePath, String content) throws IOException {
+        Path file = directory.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+}
@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
@@ -129,4 +130,38 @@ class DictionaryNicknameGeneratorTest {
         assertEquals(8, results.size());
         results.forEach(result -> assertTrue(result.value().toLowerCase().contains("dragon")));
     }
+
+    @Test
+    void shouldPickGroupsInProportionToTheirCombinations() {
+        DictionaryNicknameGenerator.LocaleWordBank bank = new DictionaryNicknameGenerator.LocaleWordBank(
+                Map.of("small", List.of("tiny"), "large", List.of("big", "huge", "vast")),
+                Map.of("small", List.of("ant"), "large", List.of("whale", "bear", "moose"), "lonely", List.of("owl")),
+                Map.of("small", List.of("hides"))
+        );
+        Random random = new Random(3);
+
+        int large = 0;
+        int samples = 100_000;
+        for (int index = 0; index < samples; index++) {
+            if (!bank.composeAdjNoun(random).startsWith("Tiny")) {
+                large++;
+            }
+            assertEquals("AntHides", bank.composeNounVerb(random));
+        }
+
+        assertEquals(0.9, large / (double) samples, 0.01);
+    }
+
+    @Test
+    void shouldNormalizeDictionaryWordsWhenBankIsBuilt() {
+        DictionaryNicknameGenerator.LocaleWordBank bank = new DictionaryNicknameGenerator.LocaleWordBank(
+                Map.of("tech", List.of("  hyper-FAST_ ")),
+                Map.of("tech", List.of("robot arm")),
+                Map.of("tech", List.of("x"))
+        );
+
+        assertEquals("HyperFastRobotArm", bank.composeAdjNoun(new Random(1)));
+        assertEquals("RobotArmX", bank.composeNounVerb(new Random(1)));
+        assertTrue(bank.composeAdjNounNumber(new Random(1), 10, 99).matches("HyperFastRobotArm\\d{2}"));
+    }
 }
@@ -5,8 +5,18 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 
 class ExtensibleNicknameGeneratorTest {
@@ -136,6 +146,54 @@ class ExtensibleNicknameGeneratorTest {
         assertEquals("third-party", results.get(0).generatorId());
     }
 
+    @Test
+    void shouldUseRequestedRandomAlgorithm() {
+        NicknameGeneratorRegistry registry = new NicknameGeneratorRegistry()
+                .register(new FixedSuffixGenerator("third-party", "Third Party"));
+        ExtensibleNicknameGenerator generator = new ExtensibleNicknameGenerator(registry, 10, 10);
+
+        List<NicknameResult> legacy = generator.generate(new GenerationRequest(
+                1,
+                NicknameLocale.EN,
+                NicknameTemplate.ADJ_NOUN,
+                7L,
+                "third-party",
+                Map.of(GenerationOptionKeys.RANDOM_ALGORITHM, "Random")
+        ));
+        List<NicknameResult> splittable = generator.generate(new GenerationRequest(
+                1,
+                NicknameLocale.EN,
+                NicknameTemplate.ADJ_NOUN,
+                7L,
+                "third-party",
+                Map.of(GenerationOptionKeys.RANDOM_ALGORITHM, "L64X256MixRandom")
+        ));
+
+        assertEquals("Custom" + new java.util.Random(7L).nextInt(10_000), legacy.get(0).value());
+        assertEquals(
+                "Custom" + java.util.random.RandomGeneratorFactory.of("L64X256MixRandom").create(7L).nextInt(10_000),
+                splittable.get(0).value()
+        );
+    }
+
+    @Test
+    void shouldFailOnUnknownRandomAlgorithm() {
+        ExtensibleNicknameGenerator generator = new ExtensibleNicknameGenerator();
+
+        InvalidGenerationRequestException exception = assertThrows(
+                InvalidGenerationRequestException.class,
+                () -> generator.generate(new GenerationRequest(
+                        1,
+                        NicknameLocale.EN,
+                        NicknameTemplate.ADJ_NOUN,
+                        7L,
+                        StandardNicknameGenerators.COUNTER_STRIKE_PRO,
+                        Map.of(GenerationOptionKeys.RANDOM_ALGORITHM, "NoSuchRandom")
+                ))
+        );
+        assertEquals("Unknown random algorithm: NoSuchRandom", exception.getMessage());
+    }
+
     @Test
     void shouldIncludeUserWordInGeneratedNicknames() {
         ExtensibleNicknameGenerator generator = new ExtensibleNicknameGenerator();
@@ -184,7 +242,7 @@ class ExtensibleNicknameGeneratorTest {
         return count;
     }
 
-    private static final class FixedSuffixGenerator implements NicknameProfileGenerator {
+    private static class FixedSuffixGenerator implements NicknameProfileGenerator {
         private final String id;
         private final String title;
 
@@ -209,8 +267,179 @@ class ExtensibleNicknameGeneratorTest {
         }
 
         @Override
-        public String generateCandidate(NicknameRequestContext context, java.util.Random random) {
+        public String generateCandidate(NicknameRequestContext context, java.util.random.RandomGenerator random) {
             return "Custom" + random.nextInt(10_000);
         }
     }
+
+    @Test
+    void shouldWriteSameNicknamesIntoSinksAsGenerate() throws IOException {
+        for (String generatorId : List.of(
+                StandardNicknameGenerators.DICTIONARY,
+                StandardNicknameGenerators.MINECRAFT_YOUTUBER,
+                StandardNicknameGenerators.COUNTER_STRIKE_PRO,
+                StandardNicknameGenerators.COUNTER_STRIKE_16_CLASSIC,
+                StandardNicknameGenerators.DOTA_PRO
+        )) {
+            GenerationRequest request = new GenerationRequest(
+                    300,
+                    NicknameLocale.RU,
+                    NicknameTemplate.ADJ_NOUN,
+                    77L,
+                    generatorId
+            );
+            String expected = new ExtensibleNicknameGenerator().generate(request).stream()
+                    .map(result -> result.value() + "\n")
+                    .collect(Collectors.joining());
+
+            ByteArrayOutputStream channelOutput = new ByteArrayOutputStream();
+            StringBuilder appendableOutput = new StringBuilder();
+            ByteBuffer bufferOutput = ByteBuffer.allocate(64 * 1024);
+
+            assertEquals(300, new ExtensibleNicknameGenerator().generateInto(
+                    request,
+                    Channels.newChannel(channelOutput)
+            ));
+            assertEquals(300, new ExtensibleNicknameGenerator().generateInto(request, appendableOutput));
+            assertEquals(300, new ExtensibleNicknameGenerator().generateInto(request, bufferOutput));
+
+            assertEquals(expected, channelOutput.toString(StandardCharsets.UTF_8), generatorId);
+            assertEquals(expected, appendableOutput.toString(), generatorId);
+            assertEquals(expected, new String(bufferOutput.array(), 0, bufferOutput.position(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void shouldStopAtFullBufferAndShareUniquenessWithGenerate() {
+        ExtensibleNicknameGenerator generator = new ExtensibleNicknameGenerator();
+        GenerationRequest request = new GenerationRequest(
+                50,
+                NicknameLocale.EN,
+                NicknameTemplate.ADJ_NOUN,
+                5L,
+                StandardNicknameGenerators.DOTA_PRO
+        );
+        ByteBuffer small = ByteBuffer.allocate(40);
+
+        int written = generator.generateInto(request, small);
+        List<NicknameResult> repeated = generator.generate(request);
+
+        String[] lines = new String(small.array(), 0, small.position(), StandardCharsets.UTF_8).split("\n");
+        assertTrue(written > 0 && written < 50);
+        assertEquals(written, lines.length);
+        for (NicknameResult result : repeated) {
+            assertFalse(List.of(lines).contains(result.value()));
+        }
+    }
+
+    @Test
+    void shouldGenerateSameSeededNicknamesForAnyThreadCount() throws IOException {
+        GenerationRequest request = new GenerationRequest(
+                5_000,
+                NicknameLocale.EN,
+                NicknameTemplate.ADJ_NOUN,
+                11L,
+                StandardNicknameGenerators.COUNTER_STRIKE_PRO,
+                Map.of(GenerationOptionKeys.USER_WORD, "ace")
+        );
+
+        List<String> expected = generateInParallel(new ExtensibleNicknameGenerator(), request, 2, true);
+        assertEquals(5_000, new HashSet<>(expected).size());
+        for (int threads : new int[] {3, 8}) {
+            assertEquals(expected, generateInParallel(new ExtensibleNicknameGenerator(), request, threads, true));
+        }
+    }
+
+    @Test
+    void shouldKeepSequentialSeededNicknamesOnOneThread() throws IOException {
+        GenerationRequest request = new GenerationRequest(
+                300,
+                NicknameLocale.EN,
+                NicknameTemplate.ADJ_NOUN,
+                11L,
+                StandardNicknameGenerators.DOTA_PRO
+        );
+
+        List<String> expected = new ExtensibleNicknameGenerator().generate(request).stream()
+                .map(NicknameResult::value)
+                .toList();
+        assertEquals(expected, generateInParallel(new ExtensibleNicknameGenerator(), request, 1, true));
+    }
+
+    @Test
+    void shouldNotFillBlocksBeyondRequestedCount() throws IOException {
+        AtomicInteger candidates = new AtomicInteger();
+        NicknameGeneratorRegistry registry = new NicknameGeneratorRegistry()
+                .register(new FixedSuffixGenerator("third-party", "Third Party") {
+                    @Override
+                    public String generateCandidate(NicknameRequestContext context, RandomGenerator random) {
+                        candidates.incrementAndGet();
+                        return super.generateCandidate(context, random);
+                    }
+                });
+        GenerationRequest request = new GenerationRequest(
+                1,
+                NicknameLocale.EN,
+                NicknameTemplate.ADJ_NOUN,
+                3L,
+                "third-party"
+        );
+
+        assertEquals(1, generateInParallel(new ExtensibleNicknameGenerator(registry), request, 2, true).size());
+        // Two threads keep four blocks in flight, each holding a single attempt.
+        assertTrue(candidates.get() <= 4, "filled " + candidates.get() + " candidates");
+    }
+
+    @Test
+    void shouldShareUniquenessBetweenUnorderedAndSequentialGeneration() throws IOException {
+        ExtensibleNicknameGenerator generator = new ExtensibleNicknameGenerator();
+        GenerationRequest request = new GenerationRequest(
+                20_000,
+                NicknameLocale.EN,
+                NicknameTemplate.ADJ_NOUN,
+                null,
+                StandardNicknameGenerators.MINECRAFT_YOUTUBER
+        );
+
+        List<String> all = new ArrayList<>(generateInParallel(generator, request, 4, false));
+        assertEquals(20_000, all.size());
+        generator.generate(request).forEach(result -> all.add(result.value()));
+        assertEquals(40_000, new HashSet<>(all).size());
+    }
+
+    @Test
+    void shouldNotReserveNamesBeyondUnorderedRequest() throws IOException {
+        NicknameGeneratorRegistry registry = new NicknameGeneratorRegistry()
+                .register(new FixedSuffixGenerator("third-party", "Third Party"));
+        ExtensibleNicknameGenerator generator = new ExtensibleNicknameGenerator(registry, 100, 100);
+        GenerationRequest request = new GenerationRequest(
+                4_000,
+                NicknameLocale.EN,
+                NicknameTemplate.ADJ_NOUN,
+                null,
+                "third-party"
+        );
+
+        // Both requests fit the 10,000 names only if the first one keeps no names it did not emit.
+        List<String> all = new ArrayList<>(generateInParallel(generator, request, 4, false));
+        all.addAll(generateInParallel(generator, request, 4, false));
+        assertEquals(8_000, new HashSet<>(all).size());
+    }
+
+    private static List<String> generateInParallel(
+            ExtensibleNicknameGenerator generator,
+            GenerationRequest request,
+            int threads,
+            boolean ordered
+    ) throws IOException {
+        List<String> values = new ArrayList<>();
+        int written = generator.generateInto(
+                request,
+                (utf8, offset, length) -> values.add(new String(utf8, offset, length, StandardCharsets.UTF_8)),
+                threads,
+                ordered
+        );
+        assertEquals(values.size(), written);
+        return values;
+    }
 }
@@ -0,0 +1,109 @@
+package io.github.yarikmogila.nickgen.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GeneratorConfigWatcherTest {
+
+    @TempDir
+    Path configDirectory;
+
+    @Test
+    void shouldLoadProfilesFromConfigDirectoryWithClasspathFallback() throws IOException {
+        writeMinecraftConfig("Overridden Minecraft", "/generators/lists/minecraft/prefixes.txt");
+
+        List<NicknameGeneratorDescriptor> descriptors =
+                StandardNicknameGenerators.defaultRegistry(configDirectory).descriptors();
+
+        assertEquals(5, descriptors.size());
+        assertEquals("Overridden Minecraft", descriptors.get(1).displayName());
+        assertEquals(StandardNicknameGenerators.COUNTER_STRIKE_PRO, descriptors.get(2).id());
+    }
+
+    @Test
+    void shouldSwapProfileWhenWordListChanges() throws Exception {
+        writeMinecraftConfig("Watched Minecraft", "/generators/lists/minecraft/watched.txt");
+        writeFile("generators/lists/minecraft/watched.txt", "Alpha\n");
+
+        NicknameGeneratorRegistry registry = StandardNicknameGenerators.defaultRegistry();
+        GeneratorConfigWatcher watcher = new GeneratorConfigWatcher(registry, configDirectory).start();
+        try {
+            NicknameProfileGenerator initial = registry.getById(StandardNicknameGenerators.MINECRAFT_YOUTUBER);
+            assertTrue(generate(initial).startsWith("Alpha"));
+
+            writeFile("generators/lists/minecraft/watched.txt", "Omega\n");
+
+            awaitCondition(() -> generate(registry.getById(StandardNicknameGenerators.MINECRAFT_YOUTUBER))
+                    .startsWith("Omega"));
+            assertTrue(generate(initial).startsWith("Alpha"));
+        } finally {
+            watcher.close();
+        }
+    }
+
+    @Test
+    void shouldKeepPreviousProfileWhenReloadedConfigIsInvalid() throws Exception {
+        writeMinecraftConfig("Stable Minecraft", "/generators/lists/minecraft/prefixes.txt");
+
+        NicknameGeneratorRegistry registry = new NicknameGeneratorRegistry();
+        try (GeneratorConfigWatcher watcher = new GeneratorConfigWatcher(registry, configDirectory).start()) {
+            NicknameProfileGenerator stable = registry.getById(StandardNicknameGenerators.MINECRAFT_YOUTUBER);
+
+            writeFile("generators/minecraft-youtuber.properties", "displayName=Broken\n");
+            watcher.reloadAll();
+
+            assertSame(stable, registry.getById(StandardNicknameGenerators.MINECRAFT_YOUTUBER));
+            assertEquals("Stable Minecraft", stable.displayName());
+        }
+    }
+
+    private String generate(NicknameProfileGenerator generator) {
+        NicknameRequestContext context = new NicknameRequestContext(
+                NicknameLocale.EN,
+                NicknameTemplate.ADJ_NOUN,
+                Map.of()
+        );
+        return generator.generateCandidate(context, new Random(5));
+    }
+
+    private void writeMinecraftConfig(String displayName, String prefixesFile) throws IOException {
+        String defaults;
+        try (InputStream stream = getClass().getResourceAsStream("/generators/minecraft-youtuber.properties")) {
+            defaults = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String config = defaults
+                .replaceAll("(?m)^displayName=.*$", "displayName=" + displayName)
+                .replaceAll("(?m)^prefixesFile=.*$", "prefixesFile=" + prefixesFile)
+                .replaceAll("(?m)^singleWordChancePercent=.*$", "singleWordChancePercent=0");
+        writeFile("generators/minecraft-youtuber.properties", config);
+    }
+
+    private void writeFile(String relativePath, String content) throws IOException {
+        Path file = configDirectory.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    private void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 20_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition was not met in time");
+            }
+            Thread.sleep(50);
+        }
+    }
+}
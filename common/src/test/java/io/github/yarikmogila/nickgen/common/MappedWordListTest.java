@@ -0,0 +1,121 @@
+package io.github.yarikmogila.nickgen.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedWordListTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldIndexLinesAndDecodeUtf8OnAccess() throws IOException {
+        Path file = write("words.txt", "# comment\n  Alpha  \r\n\nБета\n\t\nGamma");
+
+        List<String> words = MappedWordList.map(file, "/words.txt");
+
+        assertEquals(List.of("Alpha", "Бета", "Gamma"), words);
+    }
+
+    @Test
+    void shouldGroupDictionaryLines() throws IOException {
+        Path file = write("nouns.txt", "nature | forest\ntech|robot_arm\nnature|river\n# tech|ignored\n");
+
+        Map<String, List<String>> groups = mapGrouped(file, "/nouns.txt");
+
+        assertEquals(List.of("Forest", "River"), groups.get("nature"));
+        assertEquals(List.of("RobotArm"), groups.get("tech"));
+        assertEquals(2, groups.size());
+    }
+
+    @Test
+    void shouldStripWeightsFromMappedLines() throws IOException {
+        Path list = write("weighted.txt", "Alpha|4\n|\nБета | 2.5\n");
+        Path dictionary = write("grouped.txt", "nature|forest|3\nnature|river\n");
+
+        MappedWordList words = MappedWordList.map(list, "/weighted.txt");
+        List<String> nature = mapGrouped(dictionary, "/grouped.txt").get("nature");
+
+        assertEquals(List.of("Alpha", "|", "Бета"), words);
+        assertEquals(4.0, words.weight(0));
+        assertEquals(1.0, words.weight(1));
+        assertEquals(2.5, words.weight(2));
+        assertEquals(List.of("Forest", "River"), nature);
+        assertEquals(3.0, ((WordTable) nature).weight(0));
+    }
+
+    @Test
+    void shouldRejectInvalidDictionaryLine() throws IOException {
+        Path file = write("broken.txt", "nature|forest\n|orphan\n");
+
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> mapGrouped(file, "/broken.txt")
+        );
+        assertEquals("Invalid dictionary line at /broken.txt:2", exception.getMessage());
+    }
+
+    @Test
+    void shouldMapOnlyLargeExternalWordLists() throws IOException {
+        StringBuilder content = new StringBuilder();
+        int index = 0;
+        while (content.length() < ConfigResourceSupport.MAPPED_WORD_LIST_MIN_BYTES) {
+            content.append("Word").append(index++).append('\n');
+        }
+        write("generators/lists/large.txt", content.toString());
+        write("generators/lists/small.txt", "One\nTwo\n");
+
+        ConfigSource source = ConfigSource.overlay(directory);
+        List<String> large = ConfigResourceSupport.loadWordList(source, "/generators/lists/large.txt");
+        List<String> small = ConfigResourceSupport.loadWordList(source, "/generators/lists/small.txt");
+
+        assertInstanceOf(MappedWordList.class, large);
+        assertEquals(index, large.size());
+        assertEquals("Word" + (index - 1), large.get(index - 1));
+        assertFalse(small instanceof MappedWordList);
+        assertEquals(List.of("One", "Two"), small);
+    }
+
+    @Test
+    void shouldKeepLargeDictionaryGroupsMappedInWordBank() throws IOException {
+        StringBuilder content = new StringBuilder();
+        int index = 0;
+        while (content.length() < ConfigResourceSupport.MAPPED_WORD_LIST_MIN_BYTES) {
+            content.append("nature|stone_age-").append(index++).append(" wolf\n");
+        }
+        write("dictionaries/en/nouns.txt", content.toString());
+
+        DictionaryNicknameGenerator.LocaleWordBank bank =
+                DictionaryLoader.loadBanks(ConfigSource.overlay(directory)).get(NicknameLocale.EN);
+        WordTable nature = bank.nouns("nature");
+
+        assertInstanceOf(MappedWordList.class, nature);
+        assertEquals(index, nature.size());
+        assertEquals("StoneAge0Wolf", nature.get(0));
+        assertTrue(bank.composeAdjNoun(new Random(5)).matches("\\p{Lu}\\p{Ll}*StoneAge\\d+Wolf"));
+    }
+
+    private static Map<String, List<String>> mapGrouped(Path file, String resourcePath) {
+        return MappedWordList.mapGrouped(file, resourcePath, DictionaryLoader::normalizeWord);
+    }
+
+    private Path write(String relativePath, String content) throws IOException {
+        Path file = directory.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.yarikmogila.nickgen.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class NicknameGeneratorRegistryTest {
+
+    @Test
+    void shouldReplaceAndRemoveProfilesAtRuntime() {
+        NicknameGeneratorRegistry registry = new NicknameGeneratorRegistry()
+                .register(new NamedGenerator("alpha", "Alpha"))
+                .register(new NamedGenerator("beta", "Beta"));
+
+        NamedGenerator replacement = new NamedGenerator("alpha", "Alpha v2");
+        registry.register(replacement);
+
+        assertSame(replacement, registry.getById("alpha"));
+        assertEquals(List.of("Alpha v2", "Beta"), displayNames(registry));
+
+        registry.unregister("alpha");
+
+        assertFalse(registry.contains("alpha"));
+        assertTrue(registry.contains("beta"));
+        assertThrows(InvalidGenerationRequestException.class, () -> registry.getById("alpha"));
+        assertEquals(List.of("Beta"), displayNames(registry));
+    }
+
+    @Test
+    void shouldReuseDescriptorsUntilRegistryChanges() {
+        NicknameGeneratorRegistry registry = new NicknameGeneratorRegistry()
+                .register(new NamedGenerator("alpha", "Alpha"));
+
+        List<NicknameGeneratorDescriptor> first = registry.descriptors();
+        assertSame(first, registry.descriptors());
+
+        registry.register(new NamedGenerator("beta", "Beta"));
+        assertEquals(2, registry.descriptors().size());
+        assertEquals(1, first.size());
+    }
+
+    @Test
+    void shouldKeepAllConcurrentRegistrations() throws Exception {
+        NicknameGeneratorRegistry registry = new NicknameGeneratorRegistry();
+        int threads = 8;
+        int perThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                int threadIndex = thread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int index = 0; index < perThread; index++) {
+                        String id = "profile-" + threadIndex + "-" + index;
+                        registry.register(new NamedGenerator(id, id));
+                        registry.getById(id);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, registry.descriptors().size());
+    }
+
+    private List<String> displayNames(NicknameGeneratorRegistry registry) {
+        return registry.descriptors().stream().map(NicknameGeneratorDescriptor::displayName).toList();
+    }
+
+    private static final class NamedGenerator implements NicknameProfileGenerator {
+        private final String id;
+        private final String title;
+
+        private NamedGenerator(String id, String title) {
+            this.id = id;
+            this.title = title;
+        }
+
+        @Override
+        public String id() {
+            return id;
+        }
+
+        @Override
+        public String displayName() {
+            return title;
+        }
+
+        @Override
+        public String description() {
+            return "Registry test generator";
+        }
+
+        @Override
+        public String generateCandidate(NicknameRequestContext context, java.util.random.RandomGenerator random) {
+            return title + random.nextInt(100);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.yarikmogila.nickgen.common;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelLoaderTest {
+
+    private String previousThreads;
+
+    @BeforeEach
+    void setThreads() {
+        previousThreads = System.getProperty(ParallelLoader.THREADS_PROPERTY);
+        System.setProperty(ParallelLoader.THREADS_PROPERTY, "3");
+    }
+
+    @AfterEach
+    void restoreThreads() {
+        if (previousThreads == null) {
+            System.clearProperty(ParallelLoader.THREADS_PROPERTY);
+        } else {
+            System.setProperty(ParallelLoader.THREADS_PROPERTY, previousThreads);
+        }
+    }
+
+    @Test
+    void shouldKeepSubmissionOrder() {
+        CountDownLatch firstMayFinish = new CountDownLatch(1);
+        List<Supplier<String>> tasks = List.of(
+                () -> {
+                    await(firstMayFinish);
+                    return "first";
+                },
+                () -> {
+                    firstMayFinish.countDown();
+                    return "second";
+                },
+                () -> "third"
+        );
+
+        assertEquals(List.of("first", "second", "third"), ParallelLoader.loadAll(tasks));
+    }
+
+    @Test
+    void shouldReportFirstFailureInSubmissionOrder() {
+        CountDownLatch laterFailed = new CountDownLatch(1);
+        List<Supplier<String>> tasks = List.of(
+                () -> "ok",
+                () -> {
+                    await(laterFailed);
+                    throw new IllegalStateException("Config resource is missing: /a.txt");
+                },
+                () -> {
+                    laterFailed.countDown();
+                    throw new IllegalStateException("Config resource is missing: /b.txt");
+                }
+        );
+
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> ParallelLoader.loadAll(tasks)
+        );
+        assertEquals("Config resource is missing: /a.txt", exception.getMessage());
+        assertEquals(1, exception.getSuppressed().length);
+        assertEquals("Config resource is missing: /b.txt", exception.getSuppressed()[0].getMessage());
+    }
+
+    @Test
+    void shouldRecordEveryDictionaryReadOnLoaderThreads() {
+        System.setProperty(ParallelLoader.THREADS_PROPERTY, "4");
+        List<String> dictionaryPaths = DictionaryLoader.dictionaryPaths(ConfigResourceSupport.loadProperties(
+                ConfigSource.classpathText(),
+                DictionaryLoader.DICTIONARY_CONFIG_PATH
+        ));
+
+        for (int run = 0; run < 50; run++) {
+            Set<String> recorded = new HashSet<>();
+            DictionaryLoader.loadBanks(ConfigSource.recording(ConfigSource.classpathText(), recorded));
+
+            assertTrue(recorded.containsAll(dictionaryPaths), "missing dictionary paths in " + recorded);
+        }
+    }
+
+    @Test
+    void shouldLoadSameProfilesInParallelAndSerially() {
+        List<NicknameProfileGenerator> parallel = StandardNicknameGenerators.load(ConfigSource.classpathText());
+        System.setProperty(ParallelLoader.THREADS_PROPERTY, "1");
+        List<NicknameProfileGenerator> serial = StandardNicknameGenerators.load(ConfigSource.classpathText());
+
+        assertArrayEquals(
+                serial.stream().map(NicknameProfileGenerator::id).toArray(),
+                parallel.stream().map(NicknameProfileGenerator::id).toArray()
+        );
+    }
+
+    @Test
+    void shouldRejectInvalidThreadCount() {
+        System.setProperty(ParallelLoader.THREADS_PROPERTY, "0");
+
+        assertThrows(IllegalStateException.class, ParallelLoader::threadCount);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new AssertionError("Timed out waiting for latch");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(exception);
+        }
+    }
+}
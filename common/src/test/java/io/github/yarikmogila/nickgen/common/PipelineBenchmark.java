@@ -0,0 +1,80 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+public final class PipelineBenchmark {
+
+    private static final int DEFAULT_ITERATIONS = 2_000_000;
+    private static final int ROUNDS = 7;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final NicknameRequestContext CONTEXT = new NicknameRequestContext(
+            NicknameLocale.EN,
+            NicknameTemplate.ADJ_NOUN,
+            Map.of()
+    );
+
+    private PipelineBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+        compare(
+                "minecraft-youtuber",
+                new MinecraftYoutuberStyleGenerator(),
+                StandardNicknameGenerators.pipelineProfile("/generators/pipelines/minecraft-youtuber.properties"),
+                iterations
+        );
+        compare(
+                "dota-pro",
+                new DotaStyleGenerator(),
+                StandardNicknameGenerators.pipelineProfile("/generators/pipelines/dota-pro.properties"),
+                iterations
+        );
+    }
+
+    private static void compare(
+            String name,
+            NicknameProfileGenerator handWritten,
+            NicknameProfileGenerator pipeline,
+            int iterations
+    ) {
+        NicknameProfileGenerator specialized = PipelineSpecializer.specialize(pipeline);
+        double handWrittenNanos = Double.MAX_VALUE;
+        double pipelineNanos = Double.MAX_VALUE;
+        double specializedNanos = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            handWrittenNanos = Math.min(handWrittenNanos, measure(handWritten, iterations));
+            pipelineNanos = Math.min(pipelineNanos, measure(pipeline, iterations));
+            specializedNanos = Math.min(specializedNanos, measure(specialized, iterations));
+        }
+        System.out.printf(
+                Locale.ROOT,
+                "%-20s thread CPU: hand-written=%6.1f ns/op  pipeline=%6.1f ns/op (%.2f)"
+                        + "  specialized=%6.1f ns/op (%.2f)%n",
+                name,
+                handWrittenNanos,
+                pipelineNanos,
+                pipelineNanos / handWrittenNanos,
+                specializedNanos,
+                specializedNanos / handWrittenNanos
+        );
+    }
+
+    private static double measure(NicknameProfileGenerator generator, int iterations) {
+        SplittableRandom random = new SplittableRandom(42);
+        long checksum = 0;
+        long started = THREADS.getCurrentThreadCpuTime();
+        for (int index = 0; index < iterations; index++) {
+            checksum += generator.generateCandidate(CONTEXT, random).length();
+        }
+        long elapsed = THREADS.getCurrentThreadCpuTime() - started;
+        if (checksum == 0) {
+            throw new IllegalStateException("Generator produced only empty candidates");
+        }
+        return (double) elapsed / iterations;
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.yarikmogila.nickgen.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PipelineProfileGeneratorTest {
+
+    private static final NicknameRequestContext CONTEXT = new NicknameRequestContext(
+            NicknameLocale.EN,
+            NicknameTemplate.ADJ_NOUN,
+            Map.of()
+    );
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldMatchHandWrittenMinecraftProfile() {
+        NicknameProfileGenerator handWritten = new MinecraftYoutuberStyleGenerator();
+        NicknameProfileGenerator pipeline = StandardNicknameGenerators.pipelineProfile(
+                "/generators/pipelines/minecraft-youtuber.properties"
+        );
+
+        Random first = new Random(2026);
+        Random second = new Random(2026);
+        for (int index = 0; index < 2_000; index++) {
+            assertEquals(handWritten.generateCandidate(CONTEXT, first), pipeline.generateCandidate(CONTEXT, second));
+        }
+        assertEquals("minecraft-youtuber-pipeline", pipeline.id());
+    }
+
+    @Test
+    void shouldLoadBundledDotaPipeline() {
+        NicknameProfileGenerator pipeline = StandardNicknameGenerators.pipelineProfile(
+                "/generators/pipelines/dota-pro.properties"
+        );
+
+        Random random = new Random(7);
+        for (int index = 0; index < 500; index++) {
+            assertFalse(pipeline.generateCandidate(CONTEXT, random).isBlank());
+        }
+    }
+
+    @Test
+    void shouldExecuteTransformsLiteralsAndChoices() throws IOException {
+        write("generators/lists/custom/words.txt", "hELLO\n");
+        write("generators/custom.properties", """
+                id=custom
+                displayName=Custom
+                description=Custom pipeline
+                words.greeting=/generators/lists/custom/words.txt
+                charMap.leet=a:4
+                pipeline=capitalize(word(greeting)) "-\\\\\\"" leet(leet, 100, upper("aab")) \\
+                    repeat("x", 2, 2) choice(0: "no" | 5: lower("YES"))
+                """);
+
+        NicknameProfileGenerator generator = StandardNicknameGenerators.pipelineProfile(
+                directory,
+                "/generators/custom.properties"
+        );
+
+        assertEquals("Hello-\"44Bxxyes", generator.generateCandidate(CONTEXT, new Random(1)));
+    }
+
+    @Test
+    void shouldAppendSameCandidatesIntoCallerBuffer() throws IOException {
+        write("generators/lists/custom/words.txt", "hELLO\nwORLD\n");
+        write("generators/custom.properties", """
+                id=custom
+                displayName=Custom
+                description=Custom pipeline
+                words.greeting=/generators/lists/custom/words.txt
+                pipeline=chance(50, capitalize(word(greeting))) chance(50, number(1, 9)) word(greeting)
+                """);
+        NicknameProfileGenerator generator = StandardNicknameGenerators.pipelineProfile(
+                directory,
+                "/generators/custom.properties"
+        );
+
+        Random first = new Random(11);
+        Random second = new Random(11);
+        StringBuilder target = new StringBuilder();
+        for (int index = 0; index < 200; index++) {
+            target.setLength(0);
+            target.append("prefix:");
+            generator.appendCandidate(CONTEXT, second, target);
+            assertEquals("prefix:" + generator.generateCandidate(CONTEXT, first), target.toString());
+        }
+    }
+
+    @Test
+    void shouldReportPipelineSyntaxErrors() throws IOException {
+        write("generators/lists/custom/words.txt", "one\n");
+        write("generators/broken.properties", """
+                id=broken
+                displayName=Broken
+                description=Broken pipeline
+                words.one=/generators/lists/custom/words.txt
+                pipeline=word(one) chance(101, "x")
+                """);
+        write("generators/unknown.properties", """
+                id=unknown
+                displayName=Unknown
+                description=Unknown step
+                pipeline=shout("x")
+                """);
+
+        IllegalStateException percent = assertThrows(
+                IllegalStateException.class,
+                () -> StandardNicknameGenerators.pipelineProfile(directory, "/generators/broken.properties")
+        );
+        IllegalStateException unknown = assertThrows(
+                IllegalStateException.class,
+                () -> StandardNicknameGenerators.pipelineProfile(directory, "/generators/unknown.properties")
+        );
+
+        assertEquals("Invalid pipeline at column 21: percent must be 0..100", percent.getMessage());
+        assertEquals("Invalid pipeline at column 1: unknown step 'shout'", unknown.getMessage());
+    }
+
+    private void write(String relativePath, String content) throws IOException {
+        Path file = directory.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+}
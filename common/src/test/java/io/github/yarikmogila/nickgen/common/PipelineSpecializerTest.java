@@ -0,0 +1,95 @@
+package io.github.yarikmogila.nickgen.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PipelineSpecializerTest {
+
+    private static final NicknameRequestContext CONTEXT = new NicknameRequestContext(
+            NicknameLocale.EN,
+            NicknameTemplate.ADJ_NOUN,
+            Map.of()
+    );
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldMatchInterpreterForBundledPipelines() {
+        for (String path : new String[] {
+                "/generators/pipelines/minecraft-youtuber.properties",
+                "/generators/pipelines/dota-pro.properties"
+        }) {
+            assertSameCandidates(StandardNicknameGenerators.pipelineProfile(path));
+        }
+    }
+
+    @Test
+    void shouldMatchInterpreterForTransformsAndNestedChoices() throws IOException {
+        write("generators/lists/custom/words.txt", "hELLO\nwORLD|3\nÄrger\n");
+        write("generators/custom.properties", """
+                id=custom
+                displayName=Custom
+                description=Custom pipeline
+                words.greeting=/generators/lists/custom/words.txt
+                charMap.leet=a:4,e:3,o:0
+                pipeline=capitalize(word(greeting)) chance(50, "-") \\
+                    leet(leet, 60, upper(choice(0: "never" | 2: word(greeting) | 7: lower(word(greeting) "X")))) \\
+                    repeat("!", 0, 3) chance(30, number(1000, 70000) "z") choice(1: "a" | 1: word(greeting))
+                """);
+
+        assertSameCandidates(StandardNicknameGenerators.pipelineProfile(directory, "/generators/custom.properties"));
+    }
+
+    @Test
+    void shouldSpecializePipelinesUnlessRegistryOptsOut() {
+        NicknameProfileGenerator pipeline = StandardNicknameGenerators.pipelineProfile(
+                "/generators/pipelines/minecraft-youtuber.properties"
+        );
+        NicknameProfileGenerator handWritten = new MinecraftYoutuberStyleGenerator();
+
+        NicknameGeneratorRegistry plain = new NicknameGeneratorRegistry()
+                .specializePipelines(false)
+                .register(pipeline);
+        NicknameGeneratorRegistry specializing = new NicknameGeneratorRegistry()
+                .register(pipeline)
+                .register(handWritten);
+
+        assertSame(pipeline, plain.getById(pipeline.id()));
+        NicknameProfileGenerator specialized = specializing.getById(pipeline.id());
+        assertTrue(specialized.getClass().isHidden());
+        assertEquals(pipeline.displayName(), specialized.displayName());
+        assertSame(handWritten, specializing.getById(handWritten.id()));
+    }
+
+    private void assertSameCandidates(NicknameProfileGenerator interpreted) {
+        NicknameProfileGenerator specialized = PipelineSpecializer.specialize(interpreted);
+        assertFalse(specialized instanceof PipelineProfileGenerator);
+
+        SplittableRandom first = new SplittableRandom(2026);
+        SplittableRandom second = new SplittableRandom(2026);
+        for (int index = 0; index < 5_000; index++) {
+            assertEquals(
+                    interpreted.generateCandidate(CONTEXT, first),
+                    specialized.generateCandidate(CONTEXT, second)
+            );
+        }
+    }
+
+    private void write(String relativePath, String content) throws IOException {
+        Path file = directory.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.yarikmogila.nickgen.common;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+public final class StartupBenchmark {
+
+    private static final String PROBE_ARGUMENT = "--probe";
+    private static final int DEFAULT_RUNS = 7;
+    private static final int DEFAULT_PARALLEL_THREADS = 4;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && PROBE_ARGUMENT.equals(args[0])) {
+            probe();
+            return;
+        }
+
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+        int parallelThreads = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PARALLEL_THREADS;
+        System.out.printf(Locale.ROOT, "time-to-ready, median of %d fresh JVMs%n", runs);
+        for (boolean bundle : new boolean[] {false, true}) {
+            for (int threads : new int[] {1, parallelThreads}) {
+                long[] probeNanos = new long[runs];
+                long[] processNanos = new long[runs];
+                for (int run = 0; run < runs; run++) {
+                    long started = System.nanoTime();
+                    probeNanos[run] = runProbe(bundle, threads);
+                    processNanos[run] = System.nanoTime() - started;
+                }
+                System.out.printf(
+                        Locale.ROOT,
+                        "%-6s threads=%d  load=%7.1f ms  process=%7.1f ms%n",
+                        bundle ? "bundle" : "text",
+                        threads,
+                        median(probeNanos) / 1_000_000.0,
+                        median(processNanos) / 1_000_000.0
+                );
+            }
+        }
+    }
+
+    private static void probe() {
+        long started = System.nanoTime();
+        NicknameGeneratorRegistry registry = StandardNicknameGenerators.defaultRegistry();
+        long elapsed = System.nanoTime() - started;
+        if (registry.descriptors().isEmpty()) {
+            throw new IllegalStateException("No generators loaded");
+        }
+        System.out.println(elapsed);
+    }
+
+    private static long runProbe(boolean bundle, int threads) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-D" + ConfigBundle.ENABLED_PROPERTY + "=" + bundle);
+        command.add("-D" + ParallelLoader.THREADS_PROPERTY + "=" + threads);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(StartupBenchmark.class.getName());
+        command.add(PROBE_ARGUMENT);
+
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes()).trim();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Startup probe failed: " + command);
+        }
+        return Long.parseLong(output);
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
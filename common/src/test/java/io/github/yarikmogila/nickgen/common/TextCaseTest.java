@@ -0,0 +1,33 @@
+package io.github.yarikmogila.nickgen.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+
+class TextCaseTest {
+
+    @Test
+    void shouldMatchStringCaseConversionForEveryBmpCharacter() {
+        for (int symbol = 0; symbol <= Character.MAX_VALUE; symbol++) {
+            if (Character.isSurrogate((char) symbol)) {
+                continue;
+            }
+            for (String template : new String[] {"%c", "aB%cZy", "ÿµſıДж%cΣ", "ǅ%cΣ"}) {
+                String value = template.formatted((char) symbol);
+                assertEquals(value.toUpperCase(Locale.ROOT), convert(value, true), value);
+                assertEquals(value.toLowerCase(Locale.ROOT), convert(value, false), value);
+            }
+        }
+    }
+
+    private String convert(String value, boolean upper) {
+        StringBuilder text = new StringBuilder("<").append(value).append('>');
+        if (upper) {
+            TextCase.upperCase(text, 1, text.length() - 1);
+        } else {
+            TextCase.lowerCase(text, 1, text.length() - 1);
+        }
+        return text.substring(1, text.length() - 1);
+    }
+}
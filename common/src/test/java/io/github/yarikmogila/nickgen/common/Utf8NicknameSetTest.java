@@ -0,0 +1,43 @@
+package io.github.yarikmogila.nickgen.common;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class Utf8NicknameSetTest {
+
+    @Test
+    void shouldEncodeLikeStringGetBytes() {
+        for (String value : new String[] {"", "s1mple", "Серега_Пират", "ΣΩ€", "x😀y", "\uD83Dz", "a\uDE00"}) {
+            byte[] target = new byte[Utf8NicknameSet.maxEncodedLength(value)];
+            int length = Utf8NicknameSet.encode(value, target);
+
+            assertArrayEquals(value.getBytes(StandardCharsets.UTF_8), Arrays.copyOf(target, length), value);
+        }
+    }
+
+    @Test
+    void shouldRejectDuplicatesAcrossGrowth() {
+        Utf8NicknameSet set = new Utf8NicknameSet();
+        for (int index = 0; index < 100_000; index++) {
+            assertTrue(add(set, "nick" + index));
+        }
+        for (int index = 0; index < 100_000; index += 997) {
+            assertFalse(add(set, "nick" + index));
+        }
+        assertTrue(add(set, "x".repeat(300)));
+        assertFalse(add(set, "x".repeat(300)));
+        assertTrue(add(set, "x".repeat(301)));
+        assertEquals(100_002, set.size());
+    }
+
+    private boolean add(Utf8NicknameSet set, String value) {
+        byte[] bytes = ("#" + value).getBytes(StandardCharsets.UTF_8);
+        return set.add(bytes, 1, bytes.length - 1);
+    }
+}
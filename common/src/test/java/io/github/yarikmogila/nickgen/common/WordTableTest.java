@@ -0,0 +1,96 @@
+package io.github.yarikmogila.nickgen.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WordTableTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldPackWordsAndAppendByIndex() {
+        WordTable table = WordTable.of(List.of("Alpha", "", "Бета", "♡"));
+
+        assertEquals(List.of("Alpha", "", "Бета", "♡"), table);
+        StringBuilder target = new StringBuilder("x");
+        table.appendTo(target, 2);
+        table.appendTo(target, 0);
+        assertEquals("xБетаAlpha", target.toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> table.get(4));
+    }
+
+    @Test
+    void shouldReuseExistingTable() {
+        WordTable table = WordTable.of(List.of("One"));
+
+        assertSame(table, WordTable.of(table));
+        assertThrows(UnsupportedOperationException.class, () -> table.add("Two"));
+    }
+
+    @Test
+    void shouldParseOptionalWeightsFromWordLists() throws IOException {
+        write("generators/lists/weighted.txt", "Common|9\n|\nRare\nPipe|Name\nHalf | 0.5\n");
+        write("dictionaries/weighted.txt", "nature|forest|3\nnature|river\n");
+        ConfigSource source = ConfigSource.overlay(directory);
+
+        WordTable words = ConfigResourceSupport.loadWordList(source, "/generators/lists/weighted.txt");
+        Map<String, List<String>> groups = DictionaryLoader.readGroupedWords(source, "/dictionaries/weighted.txt");
+
+        assertEquals(List.of("Common", "|", "Rare", "Pipe|Name", "Half"), words);
+        assertEquals(9.0, words.weight(0));
+        assertEquals(1.0, words.weight(1));
+        assertEquals(0.5, words.weight(4));
+        assertEquals(12.5, words.totalWeight());
+        WordTable nature = WordTable.of(groups.get("nature"));
+        assertEquals(List.of("Forest", "River"), nature);
+        assertEquals(3.0, nature.weight(0));
+    }
+
+    @Test
+    void shouldSampleWeightedAndUniformTables() {
+        WordTable weighted = WordTable.of(List.of("heavy", "light"), new double[] {3, 1});
+        WordTable uniform = WordTable.of(List.of("a", "b", "c"));
+        Random random = new Random(9);
+
+        int heavy = 0;
+        for (int index = 0; index < 40_000; index++) {
+            if (weighted.sample(random) == 0) {
+                heavy++;
+            }
+        }
+
+        assertEquals(0.75, heavy / 40_000.0, 0.01);
+        assertFalse(uniform.weighted());
+        assertEquals(new Random(4).nextInt(3), uniform.sample(new Random(4)));
+    }
+
+    @Test
+    void shouldRejectNonPositiveWeights() throws IOException {
+        write("generators/lists/zero.txt", "One\nTwo|0\n");
+
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> ConfigResourceSupport.loadWordList(ConfigSource.overlay(directory), "/generators/lists/zero.txt")
+        );
+        assertEquals("Word weight must be positive at /generators/lists/zero.txt:2", exception.getMessage());
+    }
+
+    private void write(String relativePath, String content) throws IOException {
+        Path file = directory.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+}
@@ -9,9 +9,12 @@ import io.github.yarikmogila.nickgen.common.NicknameGeneratorDescriptor;
 import io.github.yarikmogila.nickgen.common.NicknameLocale;
 import io.github.yarikmogila.nickgen.common.NicknameResult;
 import io.github.yarikmogila.nickgen.common.NicknameTemplate;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 final class NicknameGenerationFacade {
 
@@ -36,16 +39,35 @@ final class NicknameGenerationFacade {
             String generatorId,
             String userWordText,
             String seedText
+    ) {
+        return generator.generate(request(count, locale, template, generatorId, userWordText, seedText));
+    }
+
+    GenerationRequest request(
+            int count,
+            NicknameLocale locale,
+            NicknameTemplate template,
+            String generatorId,
+            String userWordText,
+            String seedText
     ) {
         Long seed = parseSeed(seedText);
-        return generator.generate(new GenerationRequest(
+        return new GenerationRequest(
                 count,
                 locale,
                 template,
                 seed,
                 generatorId,
                 resolveOptions(userWordText)
-        ));
+        );
+    }
+
+    // Streams nicknames to target as the engine accepts them, without building the full result list.
+    int generateInto(GenerationRequest request, Consumer<String> target) throws IOException {
+        return generator.generateInto(
+                request,
+                (utf8, offset, length) -> target.accept(new String(utf8, offset, length, StandardCharsets.UTF_8))
+        );
     }
 
     private Map<String, String> resolveOptions(String userWordText) {
@@ -0,0 +1,75 @@
+package io.github.yarikmogila.nickgen.gui;
+
+import io.github.yarikmogila.nickgen.common.GenerationRequest;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingWorker;
+
+// Generates off the event dispatch thread and hands nicknames to the list in chunks: a chunk is published once it
+// is full or PUBLISH_INTERVAL has passed, so small requests appear at once and large ones cost the EDT one model
+// event per few thousand names. Cancellation is checked for every nickname and stops the engine mid-request.
+final class NicknameGenerationWorker extends SwingWorker<Integer, List<String>> {
+
+    private static final int MAX_CHUNK_SIZE = 4096;
+    private static final long PUBLISH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final NicknameGenerationFacade facade;
+    private final GenerationRequest request;
+    private final NicknameListModel target;
+
+    // Touched only by the worker thread.
+    private List<String> chunk = new ArrayList<>();
+    private long lastPublishNanos;
+    private int generated;
+
+    NicknameGenerationWorker(NicknameGenerationFacade facade, GenerationRequest request, NicknameListModel target) {
+        this.facade = facade;
+        this.request = request;
+        this.target = target;
+    }
+
+    @Override
+    protected Integer doInBackground() throws IOException {
+        lastPublishNanos = System.nanoTime();
+        int written = facade.generateInto(request, this::accept);
+        publishChunk(System.nanoTime());
+        setProgress(100);
+        return written;
+    }
+
+    @Override
+    protected void process(List<List<String>> chunks) {
+        // Chunks still queued when the user cancelled are dropped, so the list stops growing immediately.
+        if (isCancelled()) {
+            return;
+        }
+        for (List<String> published : chunks) {
+            target.addAll(published);
+        }
+    }
+
+    private void accept(String nickname) {
+        if (isCancelled()) {
+            throw new CancellationException("Generation cancelled");
+        }
+        chunk.add(nickname);
+        generated++;
+        long now = System.nanoTime();
+        if (chunk.size() >= MAX_CHUNK_SIZE || now - lastPublishNanos >= PUBLISH_INTERVAL_NANOS) {
+            publishChunk(now);
+        }
+    }
+
+    private void publishChunk(long now) {
+        lastPublishNanos = now;
+        if (chunk.isEmpty()) {
+            return;
+        }
+        publish(chunk);
+        chunk = new ArrayList<>(Math.min(MAX_CHUNK_SIZE, Math.max(16, chunk.size() * 2)));
+        setProgress((int) Math.min(99, generated * 100L / request.count()));
+    }
+}
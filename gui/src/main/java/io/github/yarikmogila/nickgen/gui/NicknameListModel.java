@@ -0,0 +1,49 @@
+package io.github.yarikmogila.nickgen.gui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.swing.AbstractListModel;
+
+// Appends whole chunks with a single intervalAdded event; DefaultListModel fires one event per element, which makes
+// the list re-layout hundreds of thousands of times during a large generation.
+final class NicknameListModel extends AbstractListModel<String> {
+
+    private final List<String> nicknames = new ArrayList<>();
+
+    @Override
+    public int getSize() {
+        return nicknames.size();
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        return nicknames.get(index);
+    }
+
+    boolean isEmpty() {
+        return nicknames.isEmpty();
+    }
+
+    List<String> values() {
+        return Collections.unmodifiableList(nicknames);
+    }
+
+    void addAll(List<String> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        int first = nicknames.size();
+        nicknames.addAll(chunk);
+        fireIntervalAdded(this, first, nicknames.size() - 1);
+    }
+
+    void clear() {
+        int size = nicknames.size();
+        if (size == 0) {
+            return;
+        }
+        nicknames.clear();
+        fireIntervalRemoved(this, 0, size - 1);
+    }
+}
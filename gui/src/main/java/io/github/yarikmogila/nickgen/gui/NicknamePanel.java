@@ -1,7 +1,7 @@
 package io.github.yarikmogila.nickgen.gui;
 
+import io.github.yarikmogila.nickgen.common.GenerationRequest;
 import io.github.yarikmogila.nickgen.common.NicknameLocale;
-import io.github.yarikmogila.nickgen.common.NicknameResult;
 import io.github.yarikmogila.nickgen.common.NicknameTemplate;
 import io.github.yarikmogila.nickgen.common.NicknameGeneratorDescriptor;
 import java.awt.BorderLayout;
@@ -12,9 +12,8 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.util.Collections;
 import java.util.List;
-import javax.swing.DefaultListModel;
+import java.util.concurrent.ExecutionException;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
 import javax.swing.JFileChooser;
@@ -22,14 +21,20 @@ import javax.swing.JLabel;
 import javax.swing.JList;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JSpinner;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
 import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingWorker;
 
 final class NicknamePanel extends JPanel {
 
+    private static final int MAX_COUNT = 1_000_000;
+    // Fixes the cell size so the list never measures every nickname to lay itself out.
+    private static final String PROTOTYPE_NICKNAME = "MMMMMMMMMMMMMMMMMMMMMMMM";
+
     private final NicknameGenerationFacade facade;
 
     private final JComboBox<NicknameLocale> localeComboBox;
@@ -38,8 +43,12 @@ final class NicknamePanel extends JPanel {
     private final JSpinner countSpinner;
     private final JTextField userWordTextField;
     private final JTextField seedTextField;
-    private final DefaultListModel<String> nicknamesModel;
+    private final NicknameListModel nicknamesModel;
     private final JList<String> nicknamesList;
+    private final JButton generateButton;
+    private final JButton cancelButton;
+    private final JProgressBar progressBar;
+    private NicknameGenerationWorker worker;
 
     NicknamePanel(NicknameGenerationFacade facade) {
         super(new BorderLayout(8, 8));
@@ -48,12 +57,19 @@ final class NicknamePanel extends JPanel {
         localeComboBox = new JComboBox<>(NicknameLocale.values());
         templateComboBox = new JComboBox<>(NicknameTemplate.values());
         generatorComboBox = new JComboBox<>(facade.availableGenerators().toArray(NicknameGeneratorDescriptor[]::new));
-        countSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 1000, 1));
+        countSpinner = new JSpinner(new SpinnerNumberModel(1, 1, MAX_COUNT, 1));
         userWordTextField = new JTextField(12);
         seedTextField = new JTextField(12);
-        nicknamesModel = new DefaultListModel<>();
+        nicknamesModel = new NicknameListModel();
         nicknamesList = new JList<>(nicknamesModel);
         nicknamesList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        nicknamesList.setPrototypeCellValue(PROTOTYPE_NICKNAME);
+        generateButton = new JButton("Generate");
+        cancelButton = new JButton("Cancel");
+        cancelButton.setEnabled(false);
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        progressBar.setString("");
 
         add(buildControlsPanel(), BorderLayout.NORTH);
         add(new JScrollPane(nicknamesList), BorderLayout.CENTER);
@@ -89,8 +105,8 @@ final class NicknamePanel extends JPanel {
     private JPanel buildActionsPanel() {
         JPanel panel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
 
-        JButton generateButton = new JButton("Generate");
         generateButton.addActionListener(event -> onGenerateClicked());
+        cancelButton.addActionListener(event -> onCancelClicked());
 
         JButton copyButton = new JButton("Copy selected");
         copyButton.addActionListener(event -> onCopyClicked());
@@ -98,13 +114,16 @@ final class NicknamePanel extends JPanel {
         JButton exportButton = new JButton("Export TXT");
         exportButton.addActionListener(event -> onExportClicked());
 
+        panel.add(progressBar);
         panel.add(generateButton);
+        panel.add(cancelButton);
         panel.add(copyButton);
         panel.add(exportButton);
         return panel;
     }
 
     private void onGenerateClicked() {
+        GenerationRequest request;
         try {
             int count = (Integer) countSpinner.getValue();
             NicknameLocale locale = (NicknameLocale) localeComboBox.getSelectedItem();
@@ -113,7 +132,7 @@ final class NicknamePanel extends JPanel {
                     (NicknameGeneratorDescriptor) generatorComboBox.getSelectedItem();
             String generatorId = descriptor == null ? null : descriptor.id();
 
-            List<NicknameResult> nicknames = facade.generate(
+            request = facade.request(
                     count,
                     locale,
                     template,
@@ -121,10 +140,53 @@ final class NicknamePanel extends JPanel {
                     userWordTextField.getText(),
                     seedTextField.getText()
             );
-            nicknamesModel.clear();
-            nicknames.forEach(result -> nicknamesModel.addElement(result.value()));
         } catch (RuntimeException exception) {
             showError(exception.getMessage());
+            return;
+        }
+
+        nicknamesModel.clear();
+        progressBar.setValue(0);
+        progressBar.setString(null);
+        generateButton.setEnabled(false);
+        cancelButton.setEnabled(true);
+
+        NicknameGenerationWorker started = new NicknameGenerationWorker(facade, request, nicknamesModel);
+        started.addPropertyChangeListener(event -> {
+            if ("progress".equals(event.getPropertyName())) {
+                progressBar.setValue((Integer) event.getNewValue());
+            } else if (event.getNewValue() == SwingWorker.StateValue.DONE) {
+                onGenerationDone(started);
+            }
+        });
+        worker = started;
+        started.execute();
+    }
+
+    private void onCancelClicked() {
+        if (worker != null) {
+            worker.cancel(false);
+        }
+    }
+
+    private void onGenerationDone(NicknameGenerationWorker finished) {
+        if (finished != worker) {
+            return;
+        }
+        worker = null;
+        generateButton.setEnabled(true);
+        cancelButton.setEnabled(false);
+        if (finished.isCancelled()) {
+            progressBar.setString("Cancelled");
+            return;
+        }
+        try {
+            finished.get();
+        } catch (ExecutionException exception) {
+            progressBar.setString("");
+            showError(exception.getCause().getMessage());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -155,7 +217,7 @@ final class NicknamePanel extends JPanel {
         }
 
         File selectedFile = ensureTxtExtension(fileChooser.getSelectedFile());
-        String output = joinLines(modelValues());
+        String output = joinLines(nicknamesModel.values());
         try {
             Files.writeString(selectedFile.toPath(), output, StandardCharsets.UTF_8);
         } catch (IOException exception) {
@@ -163,10 +225,6 @@ final class NicknamePanel extends JPanel {
         }
     }
 
-    private List<String> modelValues() {
-        return Collections.list(nicknamesModel.elements());
-    }
-
     static String joinLines(List<String> values) {
         return String.join("\n", values);
     }
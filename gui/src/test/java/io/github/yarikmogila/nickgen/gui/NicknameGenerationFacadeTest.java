@@ -14,6 +14,7 @@ import io.github.yarikmogila.nickgen.common.NicknameLocale;
 import io.github.yarikmogila.nickgen.common.NicknameResult;
 import io.github.yarikmogila.nickgen.common.NicknameTemplate;
 import java.awt.GraphicsEnvironment;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
@@ -77,6 +78,27 @@ class NicknameGenerationFacadeTest {
         );
     }
 
+    @Test
+    void shouldStreamNicknamesToConsumer() throws Exception {
+        CapturingGenerator generator = new CapturingGenerator();
+        NicknameGenerationFacade facade = new NicknameGenerationFacade(generator);
+        GenerationRequest request = facade.request(
+                2,
+                NicknameLocale.EN,
+                NicknameTemplate.ADJ_NOUN,
+                StandardNicknameGenerators.DICTIONARY,
+                "pirate",
+                "5"
+        );
+        List<String> streamed = new ArrayList<>();
+
+        int written = facade.generateInto(request, streamed::add);
+
+        assertEquals(5L, generator.lastRequest.seed());
+        assertEquals(1, written);
+        assertEquals(List.of("UiNick"), streamed);
+    }
+
     @Test
     void shouldCreatePanelInHeadlessSafeWay() {
         NicknamePanel panel = new NicknamePanel(new NicknameGenerationFacade(new CapturingGenerator()));
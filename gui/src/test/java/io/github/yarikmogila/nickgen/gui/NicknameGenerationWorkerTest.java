@@ -0,0 +1,126 @@
+package io.github.yarikmogila.nickgen.gui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.yarikmogila.nickgen.common.ExtensibleNicknameGenerator;
+import io.github.yarikmogila.nickgen.common.GenerationRequest;
+import io.github.yarikmogila.nickgen.common.NicknameGenerator;
+import io.github.yarikmogila.nickgen.common.NicknameLocale;
+import io.github.yarikmogila.nickgen.common.NicknameResult;
+import io.github.yarikmogila.nickgen.common.NicknameTemplate;
+import io.github.yarikmogila.nickgen.common.StandardNicknameGenerators;
+import io.github.yarikmogila.nickgen.common.Utf8NicknameSink;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.SwingUtilities;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import org.junit.jupiter.api.Test;
+
+class NicknameGenerationWorkerTest {
+
+    @Test
+    void shouldStreamAllNicknamesIntoModelInOrder() throws Exception {
+        GenerationRequest request = new GenerationRequest(
+                20_000,
+                NicknameLocale.EN,
+                NicknameTemplate.ADJ_NOUN,
+                42L,
+                StandardNicknameGenerators.COUNTER_STRIKE_16_CLASSIC,
+                Map.of()
+        );
+        NicknameListModel model = new NicknameListModel();
+        AtomicInteger intervals = new AtomicInteger();
+        model.addListDataListener(new ListDataListener() {
+            @Override
+            public void intervalAdded(ListDataEvent event) {
+                intervals.incrementAndGet();
+            }
+
+            @Override
+            public void intervalRemoved(ListDataEvent event) {
+            }
+
+            @Override
+            public void contentsChanged(ListDataEvent event) {
+            }
+        });
+
+        NicknameGenerationWorker worker = new NicknameGenerationWorker(
+                new NicknameGenerationFacade(new ExtensibleNicknameGenerator()),
+                request,
+                model
+        );
+        worker.execute();
+
+        assertEquals(20_000, worker.get(30, TimeUnit.SECONDS));
+        List<String> shown = awaitModelSize(model, 20_000);
+        List<String> expected = new ExtensibleNicknameGenerator().generate(request).stream()
+                .map(NicknameResult::value)
+                .toList();
+        assertEquals(expected, shown);
+        assertTrue(intervals.get() < 100, "expected chunked model updates, got " + intervals.get());
+    }
+
+    @Test
+    void shouldStopGeneratingWhenCancelled() throws Exception {
+        EndlessGenerator generator = new EndlessGenerator();
+        NicknameGenerationWorker worker = new NicknameGenerationWorker(
+                new NicknameGenerationFacade(generator),
+                new GenerationRequest(1_000_000, NicknameLocale.EN, NicknameTemplate.ADJ_NOUN, null),
+                new NicknameListModel()
+        );
+        worker.execute();
+        assertTrue(generator.started.await(10, TimeUnit.SECONDS));
+
+        worker.cancel(false);
+
+        assertTrue(generator.stopped.await(10, TimeUnit.SECONDS));
+        assertThrows(CancellationException.class, worker::get);
+    }
+
+    private static List<String> awaitModelSize(NicknameListModel model, int size) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            AtomicReference<List<String>> snapshot = new AtomicReference<>();
+            SwingUtilities.invokeAndWait(() -> snapshot.set(List.copyOf(model.values())));
+            if (snapshot.get().size() >= size) {
+                return snapshot.get();
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("model did not reach " + size + " nicknames");
+    }
+
+    private static final class EndlessGenerator implements NicknameGenerator {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch stopped = new CountDownLatch(1);
+
+        @Override
+        public List<NicknameResult> generate(GenerationRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int generateInto(GenerationRequest request, Utf8NicknameSink target) throws IOException {
+            byte[] nickname = "Endless".getBytes(StandardCharsets.UTF_8);
+            try {
+                while (true) {
+                    target.accept(nickname, 0, nickname.length);
+                    started.countDown();
+                }
+            } finally {
+                stopped.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package io.github.yarikmogila.nickgen.tui;
+
+import io.github.yarikmogila.nickgen.common.GenerationRequest;
+import io.github.yarikmogila.nickgen.common.InvalidGenerationRequestException;
+import io.github.yarikmogila.nickgen.common.NicknameGenerator;
+import io.github.yarikmogila.nickgen.common.NotEnoughUniqueNicknamesException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+// Runs a request file through three stages connected by bounded queues: a parser thread reads and parses lines,
+// the calling thread generates and encodes records, and a writer thread drains 64 KiB chunks to the output.
+// A request's records are held back until it succeeds, so a failed line leaves nothing in the output. Memory is
+// bounded by the largest request however long the file is, and a slow disk only stalls generation once the chunk
+// queue is full.
+// Every request gets a fresh uniqueness scope from the warm registry, as if the CLI had been run once per line.
+final class BatchProcessor {
+
+    private static final int PARSED_QUEUE_CAPACITY = 256;
+    private static final int CHUNK_QUEUE_CAPACITY = 16;
+    private static final Job END_OF_REQUESTS = new Job(0, null, null, null);
+    private static final ByteBuffer END_OF_OUTPUT = ByteBuffer.allocate(0);
+
+    private final Supplier<NicknameGenerator> scopes;
+    private final GenerationRequest defaults;
+    private final OutputFormat format;
+    private final int threads;
+    private final boolean ordered;
+    private final PrintWriter errors;
+
+    BatchProcessor(
+            Supplier<NicknameGenerator> scopes,
+            GenerationRequest defaults,
+            OutputFormat format,
+            int threads,
+            boolean ordered,
+            PrintWriter errors
+    ) {
+        this.scopes = scopes;
+        this.defaults = defaults;
+        this.format = format;
+        this.threads = threads;
+        this.ordered = ordered;
+        this.errors = errors;
+    }
+
+    Result run(Path requests, WritableByteChannel output) throws IOException {
+        BlockingQueue<Job> jobs = new ArrayBlockingQueue<>(PARSED_QUEUE_CAPACITY);
+        Parser parser = new Parser(Files.newBufferedReader(requests, StandardCharsets.UTF_8), jobs);
+        Writer writer = new Writer(output);
+        Thread parserThread = start(parser, "nickgen-batch-parser");
+        Thread writerThread = start(writer, "nickgen-batch-writer");
+
+        int succeeded = 0;
+        int failed = 0;
+        try {
+            RecordEncoder encoder = RecordEncoder.tagged(format, writer);
+            encoder.finish();
+            writer.commit();
+            for (Job job = jobs.take(); job != END_OF_REQUESTS; job = jobs.take()) {
+                String error = job.error();
+                if (error == null) {
+                    error = generate(job, encoder, writer);
+                }
+                if (error == null) {
+                    succeeded++;
+                } else {
+                    failed++;
+                    errors.println("Error: request " + job.id() + " (line " + job.line() + "): " + error);
+                }
+            }
+            writer.close();
+            writerThread.join();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while processing requests");
+        } finally {
+            parserThread.interrupt();
+            writerThread.interrupt();
+            errors.flush();
+        }
+
+        if (writer.failure != null) {
+            throw writer.failure;
+        }
+        if (parser.failure != null) {
+            throw parser.failure;
+        }
+        return new Result(succeeded, failed);
+    }
+
+    private String generate(Job job, RecordEncoder encoder, Writer writer) throws IOException {
+        String error;
+        try {
+            encoder.describe(job.id(), job.spec().request());
+            scopes.get().generateInto(job.spec().request(), encoder, threads, ordered);
+            encoder.finish();
+            writer.commit();
+            return null;
+        } catch (InvalidGenerationRequestException
+                 | NotEnoughUniqueNicknamesException
+                 | IllegalArgumentException exception) {
+            error = exception.getMessage();
+        } catch (RuntimeException exception) {
+            // A failing profile must cost only its own line, not the rest of the file.
+            error = unexpected(exception);
+        }
+        encoder.discard();
+        writer.discard();
+        return error;
+    }
+
+    private Job parse(long line, String text) {
+        String id = Long.toString(line);
+        try {
+            RequestSpec spec = RequestSpec.parse(text, defaults);
+            if (spec.id() != null) {
+                id = spec.id();
+            }
+            if (spec.format() != null) {
+                return new Job(line, id, null, "format is set for the whole run with --format");
+            }
+            return new Job(line, id, spec, null);
+        } catch (InvalidGenerationRequestException exception) {
+            return new Job(line, id, null, exception.getMessage());
+        } catch (RuntimeException exception) {
+            return new Job(line, id, null, unexpected(exception));
+        }
+    }
+
+    static String unexpected(RuntimeException exception) {
+        String type = exception.getClass().getSimpleName();
+        return exception.getMessage() == null ? type : type + ": " + exception.getMessage();
+    }
+
+    private static Thread start(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    record Result(int succeeded, int failed) {
+    }
+
+    private record Job(long line, String id, RequestSpec spec, String error) {
+    }
+
+    private final class Parser implements Runnable {
+        private final BufferedReader reader;
+        private final BlockingQueue<Job> jobs;
+        private volatile IOException failure;
+
+        private Parser(BufferedReader reader, BlockingQueue<Job> jobs) {
+            this.reader = reader;
+            this.jobs = jobs;
+        }
+
+        @Override
+        public void run() {
+            try (reader) {
+                long line = 0;
+                for (String text = reader.readLine(); text != null; text = reader.readLine()) {
+                    line++;
+                    String trimmed = text.strip();
+                    if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                        jobs.put(parse(line, trimmed));
+                    }
+                }
+            } catch (IOException exception) {
+                failure = exception;
+            } catch (InterruptedException exception) {
+                return;
+            }
+            try {
+                jobs.put(END_OF_REQUESTS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // The encoder's channel: each flushed buffer is copied into a chunk that is staged until the request it belongs
+    // to is committed, then handed to the writer thread.
+    private static final class Writer implements WritableByteChannel, Runnable {
+        private final WritableByteChannel output;
+        private final BlockingQueue<ByteBuffer> chunks = new ArrayBlockingQueue<>(CHUNK_QUEUE_CAPACITY);
+        private final List<ByteBuffer> staged = new ArrayList<>();
+        private volatile IOException failure;
+        private boolean open = true;
+
+        private Writer(WritableByteChannel output) {
+            this.output = output;
+        }
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+            int length = source.remaining();
+            staged.add(ByteBuffer.allocate(length).put(source).flip());
+            return length;
+        }
+
+        private void commit() throws InterruptedIOException {
+            for (ByteBuffer chunk : staged) {
+                put(chunk);
+            }
+            staged.clear();
+        }
+
+        private void discard() {
+            staged.clear();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (open) {
+                open = false;
+                put(END_OF_OUTPUT);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (ByteBuffer chunk = chunks.take(); chunk != END_OF_OUTPUT; chunk = chunks.take()) {
+                    if (failure != null) {
+                        continue;
+                    }
+                    try {
+                        while (chunk.hasRemaining()) {
+                            output.write(chunk);
+                        }
+                    } catch (IOException exception) {
+                        failure = exception;
+                    }
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void put(ByteBuffer chunk) throws InterruptedIOException {
+            try {
+                chunks.put(chunk);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while writing nicknames");
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.yarikmogila.nickgen.tui;
+
+import io.github.yarikmogila.nickgen.common.NicknameGeneratorDescriptor;
+import io.github.yarikmogila.nickgen.common.StandardNicknameGenerators;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import picocli.CommandLine;
+
+// The training run behind the AppCDS archive of the runtime image (see tui/build.gradle). It drives the CLI through
+// every generator, locale, output format and run mode so that the classes a real invocation needs are loaded, and
+// therefore archived, before the JVM exits. Failures fail the build: an archive recorded from a broken run would
+// silently miss classes.
+final class CdsTraining {
+
+    private CdsTraining() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path workDir = Files.createTempDirectory("nickgen-cds-training");
+        try {
+            train(workDir);
+        } finally {
+            try (var files = Files.list(workDir)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(workDir);
+        }
+    }
+
+    private static void train(Path workDir) throws IOException {
+        Path output = workDir.resolve("nicknames.out");
+        Path requests = workDir.resolve("requests.txt");
+        List<String> requestLines = new ArrayList<>();
+
+        run("--help");
+        for (NicknameGeneratorDescriptor descriptor : StandardNicknameGenerators.defaultRegistry().descriptors()) {
+            String id = descriptor.id();
+            run("--generator", id, "--count", "20");
+            run("--generator", id, "--count", "20", "--locale", "RU", "--seed", "7", "--word", "ace");
+            for (OutputFormat format : OutputFormat.values()) {
+                run("--generator", id, "--count", "20", "--format", format.name(), "--output", output.toString());
+            }
+            requestLines.add("id=" + id + "&generator=" + id + "&count=5&seed=1");
+        }
+        run(
+                "--generator", StandardNicknameGenerators.COUNTER_STRIKE_16_CLASSIC,
+                "--count", "5000",
+                "--threads", "2",
+                "--seed", "3",
+                "--output", output.toString()
+        );
+
+        Files.write(requests, requestLines);
+        run("--requests", requests.toString(), "--format", "ndjson", "--output", output.toString());
+    }
+
+    private static void run(String... args) {
+        int exitCode = new CommandLine(new NicknameTuiApp())
+                .setOut(new PrintWriter(Writer.nullWriter()))
+                .setErr(new PrintWriter(System.err, true))
+                .execute(args);
+        if (exitCode != 0) {
+            throw new IllegalStateException("Training run failed with exit code " + exitCode + ": "
+                    + String.join(" ", args));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.yarikmogila.nickgen.tui;
+
+import io.github.yarikmogila.nickgen.common.GenerationRequest;
+import io.github.yarikmogila.nickgen.common.InvalidGenerationRequestException;
+import io.github.yarikmogila.nickgen.common.NicknameGenerator;
+import io.github.yarikmogila.nickgen.common.NotEnoughUniqueNicknamesException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+// Answers one request per input line for as long as the input stays open. Every line gets exactly one response:
+// "ok\t<id>\t<count>\n" followed by the records, or a single "error\t<id>\t<message>\n" line. Responses are
+// assembled in memory and written with one call, so a failed request never leaves partial records behind and
+// the reader sees each response as soon as it is complete.
+final class DaemonSession {
+
+    private final NicknameGenerator generator;
+    private final GenerationRequest defaults;
+    private final int threads;
+    private final boolean ordered;
+    private final ResponseBody body = new ResponseBody();
+    private final RecordEncoder encoder;
+    private final ByteBuffer[] response = new ByteBuffer[2];
+
+    DaemonSession(
+            NicknameGenerator generator,
+            GenerationRequest defaults,
+            OutputFormat format,
+            int threads,
+            boolean ordered
+    ) {
+        this.generator = generator;
+        this.defaults = defaults;
+        this.threads = threads;
+        this.ordered = ordered;
+        this.encoder = RecordEncoder.headerless(format, body);
+    }
+
+    int run(BufferedReader input, WritableByteChannel output) throws IOException {
+        int answered = 0;
+        for (String line = input.readLine(); line != null; line = input.readLine()) {
+            answered++;
+            write(output, respond(line.strip(), Integer.toString(answered)));
+        }
+        return answered;
+    }
+
+    private String respond(String line, String sequenceId) throws IOException {
+        String id = sequenceId;
+        body.clear();
+        try {
+            RequestSpec spec = RequestSpec.parse(line, defaults);
+            if (spec.id() != null) {
+                id = spec.id();
+            }
+            if (spec.format() != null) {
+                throw new InvalidGenerationRequestException("format is set for the whole session with --format");
+            }
+            encoder.describe(null, spec.request());
+            int written = generator.generateInto(spec.request(), encoder, threads, ordered);
+            encoder.finish();
+            return "ok\t" + singleField(id) + "\t" + written + "\n";
+        } catch (InvalidGenerationRequestException
+                 | NotEnoughUniqueNicknamesException
+                 | IllegalArgumentException exception) {
+            return error(id, exception.getMessage());
+        } catch (RuntimeException exception) {
+            // The warm engine outlives a failing profile: answer this request with an error and keep serving.
+            String type = exception.getClass().getSimpleName();
+            return error(id, exception.getMessage() == null ? type : type + ": " + exception.getMessage());
+        }
+    }
+
+    private String error(String id, String message) {
+        encoder.discard();
+        body.clear();
+        return "error\t" + singleField(id) + "\t" + singleField(message) + "\n";
+    }
+
+    private void write(WritableByteChannel output, String header) throws IOException {
+        response[0] = ByteBuffer.wrap(header.getBytes(StandardCharsets.UTF_8));
+        response[1] = body.bytes.flip();
+        if (output instanceof GatheringByteChannel gathering) {
+            while (response[1].hasRemaining() || response[0].hasRemaining()) {
+                gathering.write(response);
+            }
+            return;
+        }
+        for (ByteBuffer part : response) {
+            while (part.hasRemaining()) {
+                output.write(part);
+            }
+        }
+    }
+
+    private static String singleField(String value) {
+        return value == null ? "" : value.replace('\t', ' ').replace('\r', ' ').replace('\n', ' ');
+    }
+
+    private static final class ResponseBody implements WritableByteChannel {
+        private ByteBuffer bytes = ByteBuffer.allocate(1 << 12);
+
+        @Override
+        public int write(ByteBuffer source) {
+            int length = source.remaining();
+            if (bytes.remaining() < length) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(bytes.capacity() << 1, bytes.position() + length));
+                bytes = grown.put(bytes.flip());
+            }
+            bytes.put(source);
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private void clear() {
+            bytes.clear();
+        }
+    }
+}
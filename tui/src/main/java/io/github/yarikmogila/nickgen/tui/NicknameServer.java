@@ -0,0 +1,233 @@
+package io.github.yarikmogila.nickgen.tui;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.yarikmogila.nickgen.common.InvalidGenerationRequestException;
+import io.github.yarikmogila.nickgen.common.NicknameGenerator;
+import io.github.yarikmogila.nickgen.common.NicknameGeneratorDescriptor;
+import io.github.yarikmogila.nickgen.common.NotEnoughUniqueNicknamesException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+final class NicknameServer {
+
+    private static final System.Logger LOGGER = System.getLogger(NicknameServer.class.getName());
+    private static final String JSON = "application/json";
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    static {
+        // The JDK server writes headers and body separately; with Nagle's algorithm on, every keep-alive
+        // response then waits for the client's delayed ACK (about 40 ms on Linux).
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+    }
+
+    private final NicknameGenerator generator;
+    private final int maxCount;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final long startedAt = System.nanoTime();
+
+    NicknameServer(NicknameGenerator generator, InetSocketAddress address, int threads, int maxCount)
+            throws IOException {
+        this.generator = generator;
+        this.maxCount = maxCount;
+        this.server = HttpServer.create(address, 0);
+        this.executor = Executors.newFixedThreadPool(threads, new ServerThreadFactory());
+        server.setExecutor(executor);
+        register("/generate", this::generate);
+        register("/descriptors", exchange -> send(exchange, 200, JSON, descriptorsJson()));
+        register("/stats", exchange -> send(exchange, 200, JSON, statsJson()));
+    }
+
+    NicknameServer start() {
+        server.start();
+        return this;
+    }
+
+    InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        stopped.countDown();
+    }
+
+    void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    private void register(String path, Endpoint endpoint) {
+        EndpointStats endpointStats = new EndpointStats();
+        stats.put(path.substring(1), endpointStats);
+        server.createContext(path, exchange -> {
+            long start = System.nanoTime();
+            int status = 500;
+            try {
+                drain(exchange.getRequestBody());
+                if (!exchange.getRequestURI().getPath().equals(path)) {
+                    status = send(exchange, 404, JSON, errorJson("Not found"));
+                } else if (!"GET".equals(exchange.getRequestMethod())) {
+                    exchange.getResponseHeaders().set("Allow", "GET");
+                    status = send(exchange, 405, JSON, errorJson("Method not allowed"));
+                } else {
+                    status = endpoint.handle(exchange);
+                }
+            } catch (InvalidGenerationRequestException exception) {
+                status = send(exchange, 400, JSON, errorJson(exception.getMessage()));
+            } catch (NotEnoughUniqueNicknamesException exception) {
+                status = send(exchange, 409, JSON, errorJson(exception.getMessage()));
+            } catch (RuntimeException exception) {
+                LOGGER.log(System.Logger.Level.WARNING, "Failed to handle " + exchange.getRequestURI(), exception);
+                status = send(exchange, 500, JSON, errorJson("Internal error"));
+            } finally {
+                exchange.close();
+                endpointStats.record(System.nanoTime() - start, status);
+            }
+        });
+    }
+
+    private int generate(HttpExchange exchange) throws IOException {
+        RequestSpec spec = RequestSpec.parse(exchange.getRequestURI().getRawQuery());
+        if (spec.request().count() > maxCount) {
+            throw new InvalidGenerationRequestException("count must be <= " + maxCount);
+        }
+
+        // Buffered so that a failed request can still be answered with a proper status and Content-Length,
+        // which also keeps the connection reusable.
+        OutputFormat format = spec.format() == null ? OutputFormat.TEXT : spec.format();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(Math.min(spec.request().count(), 4096) * 16);
+        RecordEncoder encoder = RecordEncoder.forRequest(format, Channels.newChannel(body), spec.request());
+        generator.generateInto(spec.request(), encoder);
+        encoder.finish();
+
+        exchange.getResponseHeaders().set("Content-Type", format.contentType());
+        exchange.sendResponseHeaders(200, body.size());
+        try (OutputStream output = exchange.getResponseBody()) {
+            body.writeTo(output);
+        }
+        return 200;
+    }
+
+    private static int send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+        return status;
+    }
+
+    private static void drain(InputStream body) throws IOException {
+        try (body) {
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private String descriptorsJson() {
+        StringBuilder json = new StringBuilder("[");
+        for (NicknameGeneratorDescriptor descriptor : generator.availableGenerators()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":");
+            appendJsonString(json, descriptor.id());
+            json.append(",\"displayName\":");
+            appendJsonString(json, descriptor.displayName());
+            json.append(",\"description\":");
+            appendJsonString(json, descriptor.description());
+            json.append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    private String statsJson() {
+        StringBuilder json = new StringBuilder("{\"uptimeMillis\":")
+                .append((System.nanoTime() - startedAt) / 1_000_000)
+                .append(",\"endpoints\":{");
+        boolean first = true;
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            LatencyHistogram latency = entry.getValue().latency;
+            json.append('"').append(entry.getKey()).append("\":{")
+                    .append("\"requests\":").append(latency.count())
+                    .append(",\"errors\":").append(entry.getValue().errors.sum())
+                    .append(",\"p50Micros\":").append(latency.percentileMicros(50))
+                    .append(",\"p90Micros\":").append(latency.percentileMicros(90))
+                    .append(",\"p99Micros\":").append(latency.percentileMicros(99))
+                    .append(",\"p999Micros\":").append(latency.percentileMicros(99.9))
+                    .append(",\"maxMicros\":").append(latency.maxMicros())
+                    .append('}');
+        }
+        return json.append("}}").toString();
+    }
+
+    private static String errorJson(String message) {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        appendJsonString(json, message);
+        return json.append('}').toString();
+    }
+
+    private static void appendJsonString(StringBuilder json, String value) {
+        json.append('"');
+        for (int index = 0; index < value.length(); index++) {
+            char symbol = value.charAt(index);
+            if (symbol == '"' || symbol == '\\') {
+                json.append('\\').append(symbol);
+            } else if (symbol < 0x20) {
+                json.append(String.format("\\u%04x", (int) symbol));
+            } else {
+                json.append(symbol);
+            }
+        }
+        json.append('"');
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        int handle(HttpExchange exchange) throws IOException;
+    }
+
+    private static final class EndpointStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        private void record(long nanos, int status) {
+            latency.record(nanos);
+            if (status >= 400) {
+                errors.increment();
+            }
+        }
+    }
+
+    private static final class ServerThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, "nickgen-http-" + counter.incrementAndGet());
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package io.github.yarikmogila.nickgen.tui;
+
+import io.github.yarikmogila.nickgen.common.InvalidGenerationRequestException;
+import io.github.yarikmogila.nickgen.common.NicknameGenerator;
+import io.github.yarikmogila.nickgen.common.NotEnoughUniqueNicknamesException;
+import io.github.yarikmogila.nickgen.common.Utf8NicknameSink;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+
+// One selector thread accepts connections, decodes pipelined request frames, generates and queues the response
+// frames, so thousands of idle or chatty local clients cost a buffer pair each rather than a thread each.
+// Generation runs on the selector thread too: the shared engine serializes it anyway, and small requests finish in
+// microseconds, which is less than a hand-off to another thread would cost. --max-count bounds how long a single
+// request can hold the loop. A connection stops being read while more than MAX_PENDING_OUTPUT bytes of responses
+// wait for the client, so a client that pipelines without reading cannot grow the server's memory without bound.
+final class NicknameSocketServer {
+
+    private static final System.Logger LOGGER = System.getLogger(NicknameSocketServer.class.getName());
+    private static final int MAX_PENDING_OUTPUT = 1 << 20;
+    private static final int INITIAL_OUTPUT_SIZE = 1 << 14;
+    // correlation id, status and count precede the nicknames of an OK response
+    private static final int RESPONSE_PREFIX_BYTES = Integer.BYTES + 1 + Integer.BYTES;
+
+    private final NicknameGenerator generator;
+    private final Path path;
+    private final int maxCount;
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final Thread loop;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final ResponseSink sink = new ResponseSink();
+    private volatile boolean running = true;
+
+    NicknameSocketServer(NicknameGenerator generator, Path path, int maxCount) throws IOException {
+        this.generator = generator;
+        this.path = path;
+        this.maxCount = maxCount;
+        removeStaleSocket(path);
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(path));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        this.loop = new Thread(this::run, "nickgen-socket");
+    }
+
+    NicknameSocketServer start() {
+        loop.start();
+        return this;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    void stop() {
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        stopped.countDown();
+    }
+
+    void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+                for (SelectionKey key : selector.selectedKeys()) {
+                    handle(key);
+                }
+                selector.selectedKeys().clear();
+            }
+        } catch (IOException | ClosedSelectorException exception) {
+            LOGGER.log(System.Logger.Level.WARNING, "Socket server loop failed", exception);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            closeQuietly(selector);
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException exception) {
+                LOGGER.log(System.Logger.Level.WARNING, "Failed to delete socket " + path, exception);
+            }
+        }
+    }
+
+    private void handle(SelectionKey key) throws IOException {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            SocketChannel client = server.accept();
+            if (client != null) {
+                client.configureBlocking(false);
+                client.register(selector, SelectionKey.OP_READ, new Connection(client));
+            }
+            return;
+        }
+
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (key.isReadable() && connection.channel.read(connection.input) < 0) {
+                closeQuietly(key);
+                return;
+            }
+            if (key.isWritable()) {
+                connection.flush();
+            }
+            if (!connection.process()) {
+                closeQuietly(key);
+                return;
+            }
+            connection.flush();
+            key.interestOps((connection.hasPendingOutput() ? SelectionKey.OP_WRITE : 0)
+                    | (connection.acceptsInput() ? SelectionKey.OP_READ : 0));
+        } catch (IOException exception) {
+            closeQuietly(key);
+        }
+    }
+
+    private void respond(Connection connection, ByteBuffer payload) {
+        int correlationId = payload.getInt();
+        connection.ensureOutput(Integer.BYTES + RESPONSE_PREFIX_BYTES);
+        ByteBuffer output = connection.output;
+        int frameStart = output.position();
+        output.putInt(0).putInt(correlationId).put(SocketProtocol.STATUS_OK).putInt(0);
+        try {
+            SocketProtocol.Request request = SocketProtocol.decodeRequest(correlationId, payload);
+            if (request.request().count() > maxCount) {
+                throw new InvalidGenerationRequestException("count must be <= " + maxCount);
+            }
+            sink.connection = connection;
+            int written = generator.generateInto(request.request(), sink);
+            connection.output.putInt(frameStart + Integer.BYTES * 2 + 1, written);
+        } catch (InvalidGenerationRequestException | IllegalArgumentException exception) {
+            error(connection, frameStart, correlationId, SocketProtocol.STATUS_INVALID_REQUEST, exception);
+        } catch (NotEnoughUniqueNicknamesException exception) {
+            error(connection, frameStart, correlationId, SocketProtocol.STATUS_NOT_ENOUGH_UNIQUE, exception);
+        } catch (IOException | RuntimeException exception) {
+            LOGGER.log(System.Logger.Level.WARNING, "Failed to answer socket request " + correlationId, exception);
+            error(connection, frameStart, correlationId, SocketProtocol.STATUS_SERVER_ERROR, exception);
+        } finally {
+            sink.connection = null;
+        }
+        connection.output.putInt(frameStart, connection.output.position() - frameStart - Integer.BYTES);
+    }
+
+    private static void error(Connection connection, int frameStart, int correlationId, byte status,
+                              Exception exception) {
+        String message = exception.getMessage() == null ? exception.getClass().getName() : exception.getMessage();
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, 0xFFFF);
+        connection.output.position(frameStart);
+        connection.ensureOutput(Integer.BYTES * 2 + 1 + Short.BYTES + length);
+        connection.output.putInt(0).putInt(correlationId).put(status).putShort((short) length).put(bytes, 0, length);
+    }
+
+    // A socket file left behind by a crashed server is replaced; one that still accepts connections is not.
+    private static void removeStaleSocket(Path path) throws IOException {
+        if (!Files.exists(path) || Files.isRegularFile(path) || Files.isDirectory(path)) {
+            return;
+        }
+        boolean listening;
+        try (SocketChannel probe = SocketChannel.open(UnixDomainSocketAddress.of(path))) {
+            listening = probe.isConnected();
+        } catch (IOException exception) {
+            listening = false;
+        }
+        if (listening) {
+            throw new IOException("Another server is already listening on " + path);
+        }
+        Files.deleteIfExists(path);
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        closeQuietly(key.channel());
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception exception) {
+            LOGGER.log(System.Logger.Level.DEBUG, "Failed to close " + closeable, exception);
+        }
+    }
+
+    private final class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer input = ByteBuffer.allocate(SocketProtocol.HEADER_BYTES
+                + SocketProtocol.MAX_REQUEST_BYTES);
+        private ByteBuffer output = ByteBuffer.allocate(INITIAL_OUTPUT_SIZE);
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        // Answers every complete frame in the input buffer while the output stays under its limit;
+        // returns false on a frame that violates the protocol.
+        private boolean process() {
+            input.flip();
+            try {
+                while (output.position() < MAX_PENDING_OUTPUT && input.remaining() >= SocketProtocol.HEADER_BYTES) {
+                    int length = input.getInt(input.position());
+                    if (length < Integer.BYTES || length > SocketProtocol.MAX_REQUEST_BYTES) {
+                        return false;
+                    }
+                    if (input.remaining() < SocketProtocol.HEADER_BYTES + length) {
+                        break;
+                    }
+                    int payloadStart = input.position() + SocketProtocol.HEADER_BYTES;
+                    input.position(payloadStart + length);
+                    respond(this, input.slice(payloadStart, length));
+                }
+                return true;
+            } finally {
+                input.compact();
+            }
+        }
+
+        private void flush() throws IOException {
+            if (output.position() == 0) {
+                return;
+            }
+            output.flip();
+            channel.write(output);
+            output.compact();
+            if (output.position() == 0 && output.capacity() > MAX_PENDING_OUTPUT) {
+                output = ByteBuffer.allocate(INITIAL_OUTPUT_SIZE);
+            }
+        }
+
+        private boolean hasPendingOutput() {
+            return output.position() > 0;
+        }
+
+        private boolean acceptsInput() {
+            return output.position() < MAX_PENDING_OUTPUT;
+        }
+
+        private void ensureOutput(int required) {
+            if (output.remaining() < required) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(output.capacity() << 1, output.position() + required));
+                output = grown.put(output.flip());
+            }
+        }
+    }
+
+    private static final class ResponseSink implements Utf8NicknameSink {
+        private Connection connection;
+
+        @Override
+        public void accept(byte[] utf8, int offset, int length) throws IOException {
+            if (length > 0xFFFF) {
+                throw new IOException("Nickname is too long for the socket protocol: " + length + " bytes");
+            }
+            connection.ensureOutput(Short.BYTES + length);
+            connection.output.putShort((short) length).put(utf8, offset, length);
+        }
+    }
+}
@@ -5,14 +5,29 @@ import io.github.yarikmogila.nickgen.common.GenerationOptionKeys;
 import io.github.yarikmogila.nickgen.common.GenerationRequest;
 import io.github.yarikmogila.nickgen.common.InvalidGenerationRequestException;
 import io.github.yarikmogila.nickgen.common.NicknameGenerator;
+import io.github.yarikmogila.nickgen.common.NicknameGeneratorRegistry;
 import io.github.yarikmogila.nickgen.common.NicknameLocale;
-import io.github.yarikmogila.nickgen.common.NicknameResult;
 import io.github.yarikmogila.nickgen.common.NicknameTemplate;
 import io.github.yarikmogila.nickgen.common.NotEnoughUniqueNicknamesException;
 import io.github.yarikmogila.nickgen.common.StandardNicknameGenerators;
-import java.util.List;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
@@ -22,10 +37,13 @@ import picocli.CommandLine.Model.CommandSpec;
 @Command(
         name = "nickgen",
         mixinStandardHelpOptions = true,
-        description = "Generates unique and meaningful nicknames"
+        description = "Generates unique and meaningful nicknames",
+        subcommands = ServeCommand.class
 )
 public final class NicknameTuiApp implements Callable<Integer> {
 
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
     @Option(names = {"-c", "--count"}, defaultValue = "1", description = "Number of nicknames to generate")
     int count;
 
@@ -38,6 +56,12 @@ public final class NicknameTuiApp implements Callable<Integer> {
     @Option(names = "--seed", description = "Optional random seed for deterministic generation")
     Long seed;
 
+    @Option(
+            names = "--random-algorithm",
+            description = "Optional random algorithm, e.g. L64X128MixRandom (seeded default), Xoroshiro128PlusPlus, Random"
+    )
+    String randomAlgorithm;
+
     @Option(names = {"-w", "--word"}, description = "Optional user word that must be included in generated nicknames")
     String userWord;
 
@@ -48,21 +72,81 @@ public final class NicknameTuiApp implements Callable<Integer> {
     )
     String generatorId;
 
+    @Option(names = {"-o", "--output"}, description = "Write nicknames to this file instead of standard output")
+    Path output;
+
+    @Option(
+            names = {"-f", "--format"},
+            defaultValue = "text",
+            converter = OutputFormat.Converter.class,
+            description = "Output format: text, ndjson, csv, bin"
+    )
+    OutputFormat format;
+
+    @Option(
+            names = "--threads",
+            defaultValue = "1",
+            description = "Generator threads; seeded output is the same for any value above 1"
+    )
+    int threads;
+
+    @Option(
+            names = "--requests",
+            description = "Process one request per line from this file, tagging every record with its request id"
+    )
+    Path requests;
+
+    @Option(
+            names = "--daemon",
+            description = "Answer one request per standard input line until it closes, keeping the engine warm"
+    )
+    boolean daemon;
+
+    @Option(names = "--unordered", description = "Emit nicknames as threads produce them; not deterministic")
+    boolean unordered;
+
     @Spec
     private CommandSpec spec;
 
     private final NicknameGenerator generator;
+    private final Supplier<NicknameGenerator> requestScopes;
 
     public NicknameTuiApp() {
-        this(new ExtensibleNicknameGenerator());
+        this(StandardNicknameGenerators.defaultRegistry());
+    }
+
+    private NicknameTuiApp(NicknameGeneratorRegistry registry) {
+        this(new ExtensibleNicknameGenerator(registry), () -> new ExtensibleNicknameGenerator(registry));
     }
 
     NicknameTuiApp(NicknameGenerator generator) {
+        this(generator, () -> generator);
+    }
+
+    // requestScopes hands out a generator with its own uniqueness scope for each line of a --requests file.
+    NicknameTuiApp(NicknameGenerator generator, Supplier<NicknameGenerator> requestScopes) {
         this.generator = generator;
+        this.requestScopes = requestScopes;
+    }
+
+    NicknameGenerator generator() {
+        return generator;
     }
 
     @Override
     public Integer call() {
+        if (threads < 1) {
+            throw new CommandLine.ParameterException(spec.commandLine(), "--threads must be >= 1");
+        }
+        if (unordered && seed != null) {
+            throw new CommandLine.ParameterException(spec.commandLine(), "--unordered cannot be combined with --seed");
+        }
+        if (daemon && (requests != null || output != null)) {
+            throw new CommandLine.ParameterException(
+                    spec.commandLine(),
+                    "--daemon answers on standard output and cannot be combined with --requests or --output"
+            );
+        }
         try {
             GenerationRequest request = new GenerationRequest(
                     count,
@@ -72,24 +156,124 @@ public final class NicknameTuiApp implements Callable<Integer> {
                     generatorId,
                     resolveOptions()
             );
-            List<NicknameResult> results = generator.generate(request);
-            results.forEach(result -> spec.commandLine().getOut().println(result.value()));
+            if (daemon) {
+                runDaemon(request);
+                return 0;
+            }
+            if (requests != null) {
+                return processRequests(request);
+            }
+            if (format != OutputFormat.TEXT || threads > 1) {
+                writeRecords(request);
+            } else if (output != null) {
+                writeToFile(request);
+            } else {
+                writeToStandardOutput(request);
+            }
             return 0;
         } catch (InvalidGenerationRequestException | NotEnoughUniqueNicknamesException exception) {
             spec.commandLine().getErr().println("Error: " + exception.getMessage());
             return 2;
+        } catch (IOException exception) {
+            spec.commandLine().getErr().println("Error: failed to write nicknames: " + exception.getMessage());
+            return 1;
         }
     }
 
     public static void main(String[] args) {
-        int exitCode = new CommandLine(new NicknameTuiApp()).execute(args);
+        PrintWriter out = new PrintWriter(new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8),
+                OUTPUT_BUFFER_SIZE
+        ));
+        int exitCode = new CommandLine(new NicknameTuiApp()).setOut(out).execute(args);
+        out.flush();
         System.exit(exitCode);
     }
 
+    private void writeToFile(GenerationRequest request) throws IOException {
+        try (FileChannel channel = openOutput()) {
+            generator.generateInto(request, channel);
+        }
+    }
+
+    private void writeRecords(GenerationRequest request) throws IOException {
+        if (output == null) {
+            spec.commandLine().getOut().flush();
+            encodeRecords(request, Channels.newChannel(new FileOutputStream(FileDescriptor.out)));
+            return;
+        }
+        try (FileChannel channel = openOutput()) {
+            encodeRecords(request, channel);
+        }
+    }
+
+    private void runDaemon(GenerationRequest defaults) throws IOException {
+        spec.commandLine().getOut().flush();
+        new DaemonSession(generator, defaults, format, threads, !unordered).run(
+                new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+                new FileOutputStream(FileDescriptor.out).getChannel()
+        );
+    }
+
+    private int processRequests(GenerationRequest defaults) throws IOException {
+        BatchProcessor processor = new BatchProcessor(
+                requestScopes,
+                defaults,
+                format,
+                threads,
+                !unordered,
+                spec.commandLine().getErr()
+        );
+        BatchProcessor.Result result;
+        if (output == null) {
+            spec.commandLine().getOut().flush();
+            result = processor.run(requests, Channels.newChannel(new FileOutputStream(FileDescriptor.out)));
+        } else {
+            try (FileChannel channel = openOutput()) {
+                result = processor.run(requests, channel);
+            }
+        }
+        return result.failed() == 0 ? 0 : 2;
+    }
+
+    private void encodeRecords(GenerationRequest request, WritableByteChannel channel) throws IOException {
+        RecordEncoder encoder = RecordEncoder.forRequest(format, channel, request);
+        try {
+            generator.generateInto(request, encoder, threads, !unordered);
+        } finally {
+            encoder.finish();
+        }
+    }
+
+    private FileChannel openOutput() throws IOException {
+        return FileChannel.open(
+                output,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE
+        );
+    }
+
+    private void writeToStandardOutput(GenerationRequest request) throws IOException {
+        PrintWriter out = spec.commandLine().getOut();
+        try {
+            generator.generateInto(request, out);
+        } finally {
+            out.flush();
+        }
+        if (out.checkError()) {
+            throw new IOException("standard output is closed");
+        }
+    }
+
     private Map<String, String> resolveOptions() {
-        if (userWord == null || userWord.isBlank()) {
-            return Map.of();
+        Map<String, String> options = new LinkedHashMap<>();
+        if (userWord != null && !userWord.isBlank()) {
+            options.put(GenerationOptionKeys.USER_WORD, userWord.trim());
+        }
+        if (randomAlgorithm != null && !randomAlgorithm.isBlank()) {
+            options.put(GenerationOptionKeys.RANDOM_ALGORITHM, randomAlgorithm.trim());
         }
-        return Map.of(GenerationOptionKeys.USER_WORD, userWord.trim());
+        return Map.copyOf(options);
     }
 }
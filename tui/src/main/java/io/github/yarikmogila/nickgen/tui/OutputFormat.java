@@ -0,0 +1,34 @@
+package io.github.yarikmogila.nickgen.tui;
+
+import java.util.Locale;
+import picocli.CommandLine;
+
+enum OutputFormat {
+    TEXT("text/plain; charset=utf-8"),
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv; charset=utf-8"),
+    BIN("application/octet-stream");
+
+    private final String contentType;
+
+    OutputFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    String contentType() {
+        return contentType;
+    }
+
+    static final class Converter implements CommandLine.ITypeConverter<OutputFormat> {
+        @Override
+        public OutputFormat convert(String value) {
+            try {
+                return OutputFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException exception) {
+                throw new CommandLine.TypeConversionException(
+                        "expected one of text, ndjson, csv, bin but was '" + value + "'"
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package io.github.yarikmogila.nickgen.tui;
+
+import io.github.yarikmogila.nickgen.common.GenerationRequest;
+import io.github.yarikmogila.nickgen.common.Utf8NicknameSink;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+final class RecordEncoder implements Utf8NicknameSink {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NDJSON_PREFIX = "{\"value\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CSV_HEADER = "value,generatorId,locale,template\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TAGGED_CSV_HEADER = "requestId,value,generatorId,locale,template\n"
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputFormat format;
+    private final WritableByteChannel channel;
+    private byte[] prefix;
+    private byte[] tail;
+    private final ByteBuffer frameHeader = ByteBuffer.allocate(Integer.BYTES * 2);
+    private final ByteBuffer[] frame = new ByteBuffer[2];
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private int frameRecords;
+
+    private RecordEncoder(OutputFormat format, WritableByteChannel channel, byte[] csvHeader) {
+        this.format = format;
+        this.channel = channel;
+        if (format == OutputFormat.CSV && csvHeader != null) {
+            buffer.put(csvHeader);
+        }
+    }
+
+    static RecordEncoder forRequest(OutputFormat format, WritableByteChannel channel, GenerationRequest request) {
+        RecordEncoder encoder = new RecordEncoder(format, channel, CSV_HEADER);
+        encoder.describe(null, request);
+        return encoder;
+    }
+
+    // Records of a tagged encoder start with the id of the request they belong to.
+    static RecordEncoder tagged(OutputFormat format, WritableByteChannel channel) {
+        return new RecordEncoder(format, channel, TAGGED_CSV_HEADER);
+    }
+
+    static RecordEncoder headerless(OutputFormat format, WritableByteChannel channel) {
+        return new RecordEncoder(format, channel, null);
+    }
+
+    private static String generatorId(GenerationRequest request) {
+        return request.generatorId() == null || request.generatorId().isBlank()
+                ? GenerationRequest.DEFAULT_GENERATOR_ID
+                : request.generatorId().trim();
+    }
+
+    // Must be called before the first record of every request; requestId is null for untagged records.
+    void describe(String requestId, GenerationRequest request) {
+        tail = tail(format, generatorId(request), request.locale().name(), request.template().name());
+        if (requestId == null) {
+            prefix = format == OutputFormat.NDJSON ? NDJSON_PREFIX : new byte[0];
+            return;
+        }
+        byte[] id = requestId.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer tagged = ByteBuffer.allocate(NDJSON_PREFIX.length + 32 + id.length * 6);
+        switch (format) {
+            case TEXT -> tagged.put(id).put((byte) '\t');
+            case NDJSON -> {
+                tagged.put("{\"requestId\":\"".getBytes(StandardCharsets.US_ASCII));
+                putJsonEscaped(tagged, id, 0, id.length);
+                tagged.put("\",\"value\":\"".getBytes(StandardCharsets.US_ASCII));
+            }
+            case CSV -> {
+                putCsvField(tagged, id, 0, id.length);
+                tagged.put((byte) ',');
+            }
+            case BIN -> putShortString(tagged, id);
+        }
+        prefix = new byte[tagged.position()];
+        tagged.flip().get(prefix);
+    }
+
+    @Override
+    public void accept(byte[] utf8, int offset, int length) throws IOException {
+        switch (format) {
+            case TEXT -> {
+                ensure(prefix.length + length + 1);
+                buffer.put(prefix).put(utf8, offset, length).put((byte) '\n');
+            }
+            case NDJSON -> {
+                ensure(prefix.length + length * 6 + tail.length);
+                buffer.put(prefix);
+                putJsonEscaped(buffer, utf8, offset, length);
+                buffer.put(tail);
+            }
+            case CSV -> {
+                ensure(prefix.length + length * 2 + 2 + tail.length);
+                buffer.put(prefix);
+                putCsvField(buffer, utf8, offset, length);
+                buffer.put(tail);
+            }
+            case BIN -> {
+                if (length > 0xFFFF) {
+                    throw new IOException("Nickname is too long for the binary format: " + length + " bytes");
+                }
+                ensure(prefix.length + Short.BYTES + length + tail.length);
+                buffer.put(prefix).putShort((short) length).put(utf8, offset, length).put(tail);
+                frameRecords++;
+            }
+        }
+    }
+
+    void finish() throws IOException {
+        flush();
+    }
+
+    // Drops records that were encoded but not flushed yet.
+    void discard() {
+        buffer.clear();
+        frameRecords = 0;
+    }
+
+    private void ensure(int required) throws IOException {
+        if (buffer.remaining() >= required) {
+            return;
+        }
+        flush();
+        if (buffer.capacity() < required) {
+            buffer = ByteBuffer.allocate(required);
+        }
+    }
+
+    // Binary output is written in frames: a header with the record count and payload size, gathered together
+    // with the record buffer into one write so the payload is never copied.
+    private void flush() throws IOException {
+        buffer.flip();
+        if (format == OutputFormat.BIN) {
+            if (frameRecords > 0) {
+                frameHeader.clear();
+                frameHeader.putInt(frameRecords).putInt(buffer.remaining()).flip();
+                frame[0] = frameHeader;
+                frame[1] = buffer;
+                writeFully(frame);
+            }
+            frameRecords = 0;
+        } else {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer[] buffers) throws IOException {
+        if (channel instanceof GatheringByteChannel gathering) {
+            while (buffers[buffers.length - 1].hasRemaining()) {
+                gathering.write(buffers);
+            }
+            return;
+        }
+        for (ByteBuffer part : buffers) {
+            while (part.hasRemaining()) {
+                channel.write(part);
+            }
+        }
+    }
+
+    private static byte[] tail(OutputFormat format, String generatorId, String locale, String template) {
+        ByteBuffer tail = ByteBuffer.allocate(256 + generatorId.length() * 18);
+        byte[] id = generatorId.getBytes(StandardCharsets.UTF_8);
+        byte[] localeBytes = locale.getBytes(StandardCharsets.UTF_8);
+        byte[] templateBytes = template.getBytes(StandardCharsets.UTF_8);
+        switch (format) {
+            case TEXT -> {
+            }
+            case NDJSON -> {
+                tail.put("\",\"generatorId\":\"".getBytes(StandardCharsets.US_ASCII));
+                putJsonEscaped(tail, id, 0, id.length);
+                tail.put("\",\"locale\":\"".getBytes(StandardCharsets.US_ASCII));
+                putJsonEscaped(tail, localeBytes, 0, localeBytes.length);
+                tail.put("\",\"template\":\"".getBytes(StandardCharsets.US_ASCII));
+                putJsonEscaped(tail, templateBytes, 0, templateBytes.length);
+                tail.put("\"}\n".getBytes(StandardCharsets.US_ASCII));
+            }
+            case CSV -> {
+                tail.put((byte) ',');
+                putCsvField(tail, id, 0, id.length);
+                tail.put((byte) ',');
+                putCsvField(tail, localeBytes, 0, localeBytes.length);
+                tail.put((byte) ',');
+                putCsvField(tail, templateBytes, 0, templateBytes.length);
+                tail.put((byte) '\n');
+            }
+            case BIN -> {
+                putShortString(tail, id);
+                putShortString(tail, localeBytes);
+                putShortString(tail, templateBytes);
+            }
+        }
+        byte[] bytes = new byte[tail.position()];
+        tail.flip().get(bytes);
+        return bytes;
+    }
+
+    private static void putShortString(ByteBuffer target, byte[] value) {
+        if (value.length > 0xFF) {
+            throw new IllegalArgumentException("Value is too long for the binary format: " + value.length + " bytes");
+        }
+        target.put((byte) value.length).put(value);
+    }
+
+    // Works on UTF-8 bytes directly: multi-byte sequences never contain bytes below 0x80, so only ASCII needs escaping.
+    private static void putJsonEscaped(ByteBuffer target, byte[] utf8, int offset, int length) {
+        for (int index = offset; index < offset + length; index++) {
+            byte value = utf8[index];
+            if (value == '"' || value == '\\') {
+                target.put((byte) '\\').put(value);
+            } else if (value >= 0 && value < 0x20) {
+                target.put((byte) '\\').put((byte) 'u').put((byte) '0').put((byte) '0')
+                        .put(HEX[value >> 4]).put(HEX[value & 0xF]);
+            } else {
+                target.put(value);
+            }
+        }
+    }
+
+    private static void putCsvField(ByteBuffer target, byte[] utf8, int offset, int length) {
+        boolean quote = false;
+        for (int index = offset; index < offset + length && !quote; index++) {
+            byte value = utf8[index];
+            quote = value == ',' || value == '"' || value == '\n' || value == '\r';
+        }
+        if (!quote) {
+            target.put(utf8, offset, length);
+            return;
+        }
+        target.put((byte) '"');
+        for (int index = offset; index < offset + length; index++) {
+            if (utf8[index] == '"') {
+                target.put((byte) '"');
+            }
+            target.put(utf8[index]);
+        }
+        target.put((byte) '"');
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.yarikmogila.nickgen.tui;
+
+import io.github.yarikmogila.nickgen.common.GenerationOptionKeys;
+import io.github.yarikmogila.nickgen.common.GenerationRequest;
+import io.github.yarikmogila.nickgen.common.InvalidGenerationRequestException;
+import io.github.yarikmogila.nickgen.common.NicknameLocale;
+import io.github.yarikmogila.nickgen.common.NicknameTemplate;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+record RequestSpec(String id, GenerationRequest request, OutputFormat format) {
+
+    private static final GenerationRequest DEFAULTS = new GenerationRequest(
+            1,
+            NicknameLocale.EN,
+            NicknameTemplate.ADJ_NOUN,
+            null
+    );
+
+    static RequestSpec parse(String query) {
+        return parse(query, DEFAULTS);
+    }
+
+    // Parses the query-string form shared by every non-CLI entry point, e.g.
+    // "count=5&generator=cs-pro&locale=EN&word=Dragon&seed=42&format=ndjson". Parameters that are absent
+    // keep their value from the defaults; id and format stay null unless given.
+    static RequestSpec parse(String query, GenerationRequest defaults) {
+        String id = null;
+        int count = defaults.count();
+        NicknameLocale locale = defaults.locale();
+        NicknameTemplate template = defaults.template();
+        Long seed = defaults.seed();
+        String generatorId = defaults.generatorId();
+        OutputFormat format = null;
+        Map<String, String> options = new LinkedHashMap<>(defaults.options());
+
+        for (Map.Entry<String, String> parameter : parameters(query).entrySet()) {
+            String value = parameter.getValue();
+            switch (parameter.getKey()) {
+                case "id" -> id = value;
+                case "count" -> count = parseInt("count", value);
+                case "locale" -> locale = parseEnum(NicknameLocale.class, "locale", value);
+                case "template" -> template = parseEnum(NicknameTemplate.class, "template", value);
+                case "seed" -> seed = value.isBlank() ? null : parseLong("seed", value);
+                case "generator" -> generatorId = value.trim();
+                case "word" -> putOrRemove(options, GenerationOptionKeys.USER_WORD, value);
+                case "wordPosition" -> putOrRemove(options, GenerationOptionKeys.USER_WORD_POSITION, value);
+                case "randomAlgorithm" -> putOrRemove(options, GenerationOptionKeys.RANDOM_ALGORITHM, value);
+                case "format" -> format = parseEnum(OutputFormat.class, "format", value);
+                default -> throw new InvalidGenerationRequestException("Unknown parameter: " + parameter.getKey());
+            }
+        }
+        return new RequestSpec(id, new GenerationRequest(count, locale, template, seed, generatorId, options), format);
+    }
+
+    private static Map<String, String> parameters(String query) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        if (query == null || query.isBlank()) {
+            return parameters;
+        }
+        for (String pair : query.trim().split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int separator = pair.indexOf('=');
+            String key = decode(separator < 0 ? pair : pair.substring(0, separator));
+            String value = separator < 0 ? "" : decode(pair.substring(separator + 1));
+            if (parameters.put(key, value) != null) {
+                throw new InvalidGenerationRequestException("Duplicate parameter: " + key);
+            }
+        }
+        return parameters;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidGenerationRequestException("Malformed parameter encoding: " + value);
+        }
+    }
+
+    private static void putOrRemove(Map<String, String> options, String key, String value) {
+        if (value.isBlank()) {
+            options.remove(key);
+        } else {
+            options.put(key, value.trim());
+        }
+    }
+
+    private static int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException exception) {
+            throw new InvalidGenerationRequestException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static long parseLong(String name, String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException exception) {
+            throw new InvalidGenerationRequestException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidGenerationRequestException("Unknown " + name + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.yarikmogila.nickgen.tui;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParentCommand;
+import picocli.CommandLine.Spec;
+import picocli.CommandLine.Model.CommandSpec;
+
+@Command(
+        name = "serve",
+        mixinStandardHelpOptions = true,
+        description = "Serves /generate, /descriptors and /stats over HTTP, or a binary protocol over a Unix "
+                + "domain socket, from one warm generator"
+)
+final class ServeCommand implements Callable<Integer> {
+
+    @Option(names = {"-p", "--port"}, defaultValue = "8080", description = "Port to listen on (0 picks a free port)")
+    int port;
+
+    @Option(names = "--host", defaultValue = "127.0.0.1", description = "Address to bind")
+    String host;
+
+    @Option(names = "--threads", description = "Request handler threads (default: CPU count)")
+    Integer threads;
+
+    @Option(names = "--max-count", defaultValue = "100000", description = "Largest count a single request may ask for")
+    int maxCount;
+
+    @Option(
+            names = "--socket",
+            description = "Serve the binary protocol on this Unix domain socket path instead of HTTP"
+    )
+    Path socket;
+
+    @ParentCommand
+    private NicknameTuiApp parent;
+
+    @Spec
+    private CommandSpec spec;
+
+    @Override
+    public Integer call() throws InterruptedException {
+        int handlerThreads = threads == null ? Runtime.getRuntime().availableProcessors() : threads;
+        if (handlerThreads < 1) {
+            throw new CommandLine.ParameterException(spec.commandLine(), "--threads must be >= 1");
+        }
+        if (maxCount < 1) {
+            throw new CommandLine.ParameterException(spec.commandLine(), "--max-count must be >= 1");
+        }
+
+        if (socket != null) {
+            return serveSocket();
+        }
+
+        NicknameServer server;
+        try {
+            server = new NicknameServer(
+                    parent.generator(),
+                    new InetSocketAddress(host, port),
+                    handlerThreads,
+                    maxCount
+            ).start();
+        } catch (IOException exception) {
+            spec.commandLine().getErr().println("Error: failed to start server: " + exception.getMessage());
+            return 1;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "nickgen-http-shutdown"));
+
+        InetSocketAddress address = server.address();
+        spec.commandLine().getOut().println(
+                "Listening on http://" + address.getHostString() + ":" + address.getPort()
+        );
+        spec.commandLine().getOut().flush();
+        server.awaitStop();
+        return 0;
+    }
+
+    private int serveSocket() throws InterruptedException {
+        NicknameSocketServer server;
+        try {
+            server = new NicknameSocketServer(parent.generator(), socket, maxCount).start();
+        } catch (IOException | UnsupportedOperationException exception) {
+            spec.commandLine().getErr().println("Error: failed to start server: " + exception.getMessage());
+            return 1;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "nickgen-socket-shutdown"));
+
+        spec.commandLine().getOut().println("Listening on unix:" + server.path());
+        spec.commandLine().getOut().flush();
+        server.awaitStop();
+        return 0;
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.yarikmogila.nickgen.tui;
+
+import io.github.yarikmogila.nickgen.common.GenerationOptionKeys;
+import io.github.yarikmogila.nickgen.common.GenerationRequest;
+import io.github.yarikmogila.nickgen.common.InvalidGenerationRequestException;
+import io.github.yarikmogila.nickgen.common.NicknameLocale;
+import io.github.yarikmogila.nickgen.common.NicknameTemplate;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Every message is a frame: a big-endian u32 payload length followed by the payload.
+//
+// Request payload:  u32 correlationId, i32 count, u8 locale ordinal, u8 template ordinal, u8 flags (bit 0: seed
+//                   present), i64 seed (only when flagged), then generatorId, userWord, userWordPosition and
+//                   randomAlgorithm, each as u8 length + UTF-8 (empty means the default).
+// Response payload: u32 correlationId, u8 status, then for STATUS_OK a u32 count followed by count nicknames as
+//                   u16 length + UTF-8, otherwise an error message as u16 length + UTF-8.
+final class SocketProtocol {
+
+    static final int HEADER_BYTES = Integer.BYTES;
+    static final int MAX_REQUEST_BYTES = 4096;
+
+    static final byte STATUS_OK = 0;
+    static final byte STATUS_INVALID_REQUEST = 1;
+    static final byte STATUS_NOT_ENOUGH_UNIQUE = 2;
+    static final byte STATUS_SERVER_ERROR = 3;
+
+    private static final int FLAG_SEED = 1;
+
+    private SocketProtocol() {
+    }
+
+    record Request(int correlationId, GenerationRequest request) {
+    }
+
+    static Request decodeRequest(int correlationId, ByteBuffer payload) {
+        try {
+            int count = payload.getInt();
+            NicknameLocale locale = ordinal(NicknameLocale.values(), payload.get(), "locale");
+            NicknameTemplate template = ordinal(NicknameTemplate.values(), payload.get(), "template");
+            int flags = payload.get();
+            Long seed = (flags & FLAG_SEED) != 0 ? payload.getLong() : null;
+            String generatorId = readShortString(payload);
+            Map<String, String> options = new LinkedHashMap<>();
+            putIfPresent(options, GenerationOptionKeys.USER_WORD, readShortString(payload));
+            putIfPresent(options, GenerationOptionKeys.USER_WORD_POSITION, readShortString(payload));
+            putIfPresent(options, GenerationOptionKeys.RANDOM_ALGORITHM, readShortString(payload));
+            if (payload.hasRemaining()) {
+                throw new InvalidGenerationRequestException("Unexpected bytes after request");
+            }
+            return new Request(correlationId, new GenerationRequest(
+                    count,
+                    locale,
+                    template,
+                    seed,
+                    generatorId.isEmpty() ? null : generatorId,
+                    options
+            ));
+        } catch (BufferUnderflowException exception) {
+            throw new InvalidGenerationRequestException("Truncated request");
+        }
+    }
+
+    static void encodeRequest(int correlationId, GenerationRequest request, ByteBuffer target) {
+        int start = target.position();
+        target.putInt(0)
+                .putInt(correlationId)
+                .putInt(request.count())
+                .put((byte) request.locale().ordinal())
+                .put((byte) request.template().ordinal())
+                .put((byte) (request.seed() == null ? 0 : FLAG_SEED));
+        if (request.seed() != null) {
+            target.putLong(request.seed());
+        }
+        putShortString(target, request.generatorId());
+        putShortString(target, request.options().get(GenerationOptionKeys.USER_WORD));
+        putShortString(target, request.options().get(GenerationOptionKeys.USER_WORD_POSITION));
+        putShortString(target, request.options().get(GenerationOptionKeys.RANDOM_ALGORITHM));
+        target.putInt(start, target.position() - start - HEADER_BYTES);
+    }
+
+    private static <E extends Enum<E>> E ordinal(E[] values, byte ordinal, String name) {
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new InvalidGenerationRequestException("Unknown " + name + " ordinal: " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    private static void putIfPresent(Map<String, String> options, String key, String value) {
+        if (!value.isBlank()) {
+            options.put(key, value.trim());
+        }
+    }
+
+    private static String readShortString(ByteBuffer payload) {
+        byte[] bytes = new byte[Byte.toUnsignedInt(payload.get())];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putShortString(ByteBuffer target, String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFF) {
+            throw new IllegalArgumentException("Value is too long for the socket protocol: " + bytes.length + " bytes");
+        }
+        target.put((byte) bytes.length).put(bytes);
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.yarikmogila.nickgen.tui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.yarikmogila.nickgen.common.ExtensibleNicknameGenerator;
+import io.github.yarikmogila.nickgen.common.GenerationOptionKeys;
+import io.github.yarikmogila.nickgen.common.GenerationRequest;
+import io.github.yarikmogila.nickgen.common.NicknameGenerator;
+import io.github.yarikmogila.nickgen.common.NicknameLocale;
+import io.github.yarikmogila.nickgen.common.NicknameResult;
+import io.github.yarikmogila.nickgen.common.NicknameTemplate;
+import io.github.yarikmogila.nickgen.common.StandardNicknameGenerators;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class DaemonSessionTest {
+
+    private static final GenerationRequest DEFAULTS = new GenerationRequest(
+            1,
+            NicknameLocale.EN,
+            NicknameTemplate.ADJ_NOUN,
+            null,
+            StandardNicknameGenerators.COUNTER_STRIKE_PRO
+    );
+
+    @Test
+    void shouldAnswerEveryLineAndKeepUniquenessAcrossRequests() throws IOException {
+        List<String> lines = run(OutputFormat.TEXT, String.join("\n",
+                "count=3&seed=5",
+                "id=bad&count=0",
+                "id=again&count=3&seed=5",
+                "locale=XX",
+                ""
+        ));
+
+        List<NicknameResult> expected = new ExtensibleNicknameGenerator().generate(new GenerationRequest(
+                3,
+                NicknameLocale.EN,
+                NicknameTemplate.ADJ_NOUN,
+                5L,
+                StandardNicknameGenerators.COUNTER_STRIKE_PRO
+        ));
+        assertEquals("ok\t1\t3", lines.get(0));
+        for (int index = 0; index < 3; index++) {
+            assertEquals(expected.get(index).value(), lines.get(index + 1));
+        }
+        assertEquals("error\tbad\tcount must be >= 1", lines.get(4));
+        assertEquals("ok\tagain\t3", lines.get(5));
+        Set<String> all = new HashSet<>(lines.subList(1, 4));
+        all.addAll(lines.subList(6, 9));
+        assertEquals(6, all.size());
+        assertEquals("error\t4\tUnknown locale: XX", lines.get(9));
+        assertEquals(10, lines.size());
+    }
+
+    @Test
+    void shouldWriteHeaderlessRecordsInSessionFormat() throws IOException {
+        List<String> lines = run(OutputFormat.CSV, "count=2&generator=dota-pro\nformat=csv");
+
+        assertEquals("ok\t1\t2", lines.get(0));
+        assertTrue(lines.get(1).endsWith(",dota-pro,EN,ADJ_NOUN"));
+        assertTrue(lines.get(2).endsWith(",dota-pro,EN,ADJ_NOUN"));
+        assertFalse(lines.contains("value,generatorId,locale,template"));
+        assertEquals("error\t2\tformat is set for the whole session with --format", lines.get(3));
+    }
+
+    @Test
+    void shouldKeepServingAfterUnexpectedGeneratorFailure() throws IOException {
+        List<String> lines = run(new ExplodingGenerator(), OutputFormat.TEXT, String.join("\n",
+                "id=a",
+                "id=bad&word=boom",
+                "id=c"
+        ));
+
+        assertEquals(List.of(
+                "ok\ta\t1",
+                "SafeNick1",
+                "error\tbad\tIllegalStateException: profile exploded",
+                "ok\tc\t1",
+                "SafeNick3"
+        ), lines);
+    }
+
+    private static List<String> run(OutputFormat format, String input) throws IOException {
+        return run(new ExtensibleNicknameGenerator(), format, input);
+    }
+
+    private static List<String> run(NicknameGenerator generator, OutputFormat format, String input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new DaemonSession(generator, DEFAULTS, format, 1, true).run(
+                new BufferedReader(new StringReader(input)),
+                Channels.newChannel(output)
+        );
+        return output.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    // Numbers every call, so the test can tell that one generator instance served the whole session.
+    private static final class ExplodingGenerator implements NicknameGenerator {
+        private int calls;
+
+        @Override
+        public List<NicknameResult> generate(GenerationRequest request) {
+            calls++;
+            if ("boom".equals(request.options().get(GenerationOptionKeys.USER_WORD))) {
+                throw new IllegalStateException("profile exploded");
+            }
+            return List.of(new NicknameResult("SafeNick" + calls, request.locale(), request.template()));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.yarikmogila.nickgen.tui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    void shouldMapEveryValueIntoABucketThatContainsIt() {
+        for (long micros : new long[] {0, 1, 15, 16, 17, 31, 32, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.index(micros);
+            assertTrue(LatencyHistogram.upperBound(index) >= micros, Long.toString(micros));
+            assertTrue(index == 0 || LatencyHistogram.upperBound(index - 1) < micros, Long.toString(micros));
+        }
+    }
+
+    @Test
+    void shouldReportPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 1_000; micros++) {
+            histogram.record(micros * 1_000L);
+        }
+
+        assertEquals(1_000, histogram.count());
+        assertEquals(1_000, histogram.maxMicros());
+        assertEquals(1_000, histogram.percentileMicros(100));
+        long p50 = histogram.percentileMicros(50);
+        long p99 = histogram.percentileMicros(99);
+        assertTrue(p50 >= 500 && p50 <= 500 * 1.07, Long.toString(p50));
+        assertTrue(p99 >= 990 && p99 <= 1_000, Long.toString(p99));
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.yarikmogila.nickgen.tui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.yarikmogila.nickgen.common.ExtensibleNicknameGenerator;
+import io.github.yarikmogila.nickgen.common.GenerationOptionKeys;
+import io.github.yarikmogila.nickgen.common.GenerationRequest;
+import io.github.yarikmogila.nickgen.common.NicknameLocale;
+import io.github.yarikmogila.nickgen.common.NicknameResult;
+import io.github.yarikmogila.nickgen.common.NicknameTemplate;
+import io.github.yarikmogila.nickgen.common.StandardNicknameGenerators;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NicknameServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private NicknameServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new NicknameServer(
+                new ExtensibleNicknameGenerator(),
+                new InetSocketAddress("127.0.0.1", 0),
+                2,
+                1_000
+        ).start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void shouldGenerateLikeTheEngine() throws Exception {
+        HttpResponse<String> response = get("/generate?count=20&generator=cs-pro&seed=7&word=ace&locale=ru");
+
+        String expected = new ExtensibleNicknameGenerator().generate(new GenerationRequest(
+                20,
+                NicknameLocale.RU,
+                NicknameTemplate.ADJ_NOUN,
+                7L,
+                StandardNicknameGenerators.COUNTER_STRIKE_PRO,
+                Map.of(GenerationOptionKeys.USER_WORD, "ace")
+        )).stream().map(NicknameResult::value).collect(Collectors.joining("\n", "", "\n"));
+        assertEquals(200, response.statusCode());
+        assertEquals("text/plain; charset=utf-8", response.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals(expected, response.body());
+
+        HttpResponse<String> ndjson = get("/generate?count=2&generator=dota-pro&format=ndjson");
+        assertEquals(2, ndjson.body().lines().filter(line -> line.contains("\"generatorId\":\"dota-pro\"")).count());
+    }
+
+    @Test
+    void shouldMapErrorsToStatusCodes() throws Exception {
+        assertEquals(400, get("/generate?count=0").statusCode());
+        assertEquals(400, get("/generate?count=1001").statusCode());
+        assertEquals(400, get("/generate?generator=unknown-generator").statusCode());
+        assertEquals(400, get("/generate?colour=red").statusCode());
+        assertEquals(404, get("/generate/extra").statusCode());
+
+        HttpResponse<String> post = client.send(
+                HttpRequest.newBuilder(uri("/generate")).POST(HttpRequest.BodyPublishers.ofString("x")).build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(405, post.statusCode());
+    }
+
+    @Test
+    void shouldExposeDescriptorsAndStats() throws Exception {
+        HttpResponse<String> descriptors = get("/descriptors");
+        assertEquals(200, descriptors.statusCode());
+        assertTrue(descriptors.body().contains("{\"id\":\"minecraft-youtuber\",\"displayName\":"));
+
+        get("/generate?count=3");
+        get("/generate?count=-1");
+        String stats = get("/stats").body();
+        assertTrue(stats.contains("\"generate\":{\"requests\":2,\"errors\":1,\"p50Micros\":"), stats);
+        assertTrue(stats.contains("\"p99Micros\":"), stats);
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.address().getPort() + path);
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.yarikmogila.nickgen.tui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.yarikmogila.nickgen.common.ExtensibleNicknameGenerator;
+import io.github.yarikmogila.nickgen.common.GenerationOptionKeys;
+import io.github.yarikmogila.nickgen.common.GenerationRequest;
+import io.github.yarikmogila.nickgen.common.NicknameLocale;
+import io.github.yarikmogila.nickgen.common.NicknameResult;
+import io.github.yarikmogila.nickgen.common.NicknameTemplate;
+import io.github.yarikmogila.nickgen.common.StandardNicknameGenerators;
+import java.io.IOException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NicknameSocketServerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private NicknameSocketServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new NicknameSocketServer(new ExtensibleNicknameGenerator(), tempDir.resolve("nickgen.sock"), 1_000)
+                .start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void shouldAnswerPipelinedRequestsInOrder() throws Exception {
+        GenerationRequest proRequest = new GenerationRequest(
+                20,
+                NicknameLocale.RU,
+                NicknameTemplate.ADJ_NOUN,
+                7L,
+                StandardNicknameGenerators.COUNTER_STRIKE_PRO,
+                Map.of(GenerationOptionKeys.USER_WORD, "ace")
+        );
+        GenerationRequest tooLarge = new GenerationRequest(5_000, NicknameLocale.EN, NicknameTemplate.ADJ_NOUN, 1L);
+        GenerationRequest defaultRequest = new GenerationRequest(3, NicknameLocale.EN, NicknameTemplate.NOUN_VERB, 9L);
+
+        try (SocketChannel client = SocketChannel.open(UnixDomainSocketAddress.of(server.path()))) {
+            ByteBuffer requests = ByteBuffer.allocate(1 << 12);
+            SocketProtocol.encodeRequest(11, proRequest, requests);
+            SocketProtocol.encodeRequest(12, tooLarge, requests);
+            SocketProtocol.encodeRequest(13, defaultRequest, requests);
+            client.write(requests.flip());
+
+            ByteBuffer first = readFrame(client);
+            assertEquals(11, first.getInt());
+            assertEquals(SocketProtocol.STATUS_OK, first.get());
+            assertEquals(expected(proRequest), readNicknames(first));
+
+            ByteBuffer second = readFrame(client);
+            assertEquals(12, second.getInt());
+            assertEquals(SocketProtocol.STATUS_INVALID_REQUEST, second.get());
+            assertTrue(readString(second).contains("1000"));
+
+            ByteBuffer third = readFrame(client);
+            assertEquals(13, third.getInt());
+            assertEquals(SocketProtocol.STATUS_OK, third.get());
+            assertEquals(expected(defaultRequest), readNicknames(third));
+        }
+    }
+
+    @Test
+    void shouldCloseConnectionOnOversizedFrame() throws Exception {
+        try (SocketChannel client = SocketChannel.open(UnixDomainSocketAddress.of(server.path()))) {
+            client.write(ByteBuffer.allocate(Integer.BYTES).putInt(SocketProtocol.MAX_REQUEST_BYTES + 1).flip());
+
+            assertEquals(-1, client.read(ByteBuffer.allocate(1)));
+        }
+    }
+
+    @Test
+    void shouldDeleteSocketFileOnStop() {
+        Path path = server.path();
+        assertTrue(Files.exists(path));
+
+        server.stop();
+
+        assertFalse(Files.exists(path));
+    }
+
+    private static List<String> expected(GenerationRequest request) {
+        return new ExtensibleNicknameGenerator().generate(request).stream().map(NicknameResult::value).toList();
+    }
+
+    private static ByteBuffer readFrame(SocketChannel client) throws IOException {
+        ByteBuffer header = readFully(client, ByteBuffer.allocate(Integer.BYTES));
+        return readFully(client, ByteBuffer.allocate(header.getInt()));
+    }
+
+    private static ByteBuffer readFully(SocketChannel client, ByteBuffer target) throws IOException {
+        while (target.hasRemaining()) {
+            if (client.read(target) < 0) {
+                throw new IOException("Connection closed");
+            }
+        }
+        return target.flip();
+    }
+
+    private static List<String> readNicknames(ByteBuffer payload) {
+        int count = payload.getInt();
+        List<String> nicknames = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            nicknames.add(readString(payload));
+        }
+        assertFalse(payload.hasRemaining());
+        return nicknames;
+    }
+
+    private static String readString(ByteBuffer payload) {
+        byte[] bytes = new byte[Short.toUnsignedInt(payload.getShort())];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,8 +1,10 @@
 package io.github.yarikmogila.nickgen.tui;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.github.yarikmogila.nickgen.common.ExtensibleNicknameGenerator;
 import io.github.yarikmogila.nickgen.common.GenerationRequest;
 import io.github.yarikmogila.nickgen.common.GenerationOptionKeys;
 import io.github.yarikmogila.nickgen.common.InvalidGenerationRequestException;
@@ -10,15 +12,28 @@ import io.github.yarikmogila.nickgen.common.NicknameGenerator;
 import io.github.yarikmogila.nickgen.common.NicknameLocale;
 import io.github.yarikmogila.nickgen.common.NicknameResult;
 import io.github.yarikmogila.nickgen.common.NicknameTemplate;
+import io.github.yarikmogila.nickgen.common.NotEnoughUniqueNicknamesException;
 import io.github.yarikmogila.nickgen.common.StandardNicknameGenerators;
+import io.github.yarikmogila.nickgen.common.Utf8NicknameSink;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import picocli.CommandLine;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class NicknameTuiAppTest {
 
+    @TempDir
+    Path directory;
+
     @Test
     void shouldParseArgumentsAndGenerateNicknames() {
         CapturingGenerator generator = new CapturingGenerator();
@@ -50,6 +65,180 @@ class NicknameTuiAppTest {
         assertTrue(outputText.contains("TestNickTwo"));
     }
 
+    @Test
+    void shouldStreamNicknamesIntoOutputFile() throws IOException {
+        Path file = directory.resolve("nicknames.txt");
+        CommandLine commandLine = new CommandLine(new NicknameTuiApp());
+
+        int exitCode = commandLine.execute(
+                "--count", "500",
+                "--generator", "minecraft-youtuber",
+                "--seed", "9",
+                "--output", file.toString()
+        );
+
+        List<String> expected = new ExtensibleNicknameGenerator().generate(new GenerationRequest(
+                500,
+                NicknameLocale.EN,
+                NicknameTemplate.ADJ_NOUN,
+                9L,
+                StandardNicknameGenerators.MINECRAFT_YOUTUBER
+        )).stream().map(NicknameResult::value).toList();
+        assertEquals(0, exitCode);
+        assertEquals(expected, Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldWriteStructuredFormats() throws IOException {
+        Path ndjson = directory.resolve("nicknames.ndjson");
+        Path csv = directory.resolve("nicknames.csv");
+        Path bin = directory.resolve("nicknames.bin");
+        String[] arguments = {"--generator", "cs-pro", "--locale", "RU"};
+        NicknameGenerator generator = new FixedGenerator("TestNickOne", "Test \"Nick\"\tTwo");
+
+        assertEquals(0, execute(generator, withFormat(arguments, "ndjson", ndjson)));
+        assertEquals(0, execute(generator, withFormat(arguments, "CSV", csv)));
+        assertEquals(0, execute(generator, withFormat(arguments, "bin", bin)));
+
+        assertEquals(List.of(
+                "{\"value\":\"TestNickOne\",\"generatorId\":\"cs-pro\",\"locale\":\"RU\","
+                        + "\"template\":\"ADJ_NOUN\"}",
+                "{\"value\":\"Test \\\"Nick\\\"\\u0009Two\",\"generatorId\":\"cs-pro\",\"locale\":\"RU\","
+                        + "\"template\":\"ADJ_NOUN\"}"
+        ), Files.readAllLines(ndjson, StandardCharsets.UTF_8));
+        assertEquals(List.of(
+                "value,generatorId,locale,template",
+                "TestNickOne,cs-pro,RU,ADJ_NOUN",
+                "\"Test \"\"Nick\"\"\tTwo\",cs-pro,RU,ADJ_NOUN"
+        ), Files.readAllLines(csv, StandardCharsets.UTF_8));
+
+        ByteBuffer binary = ByteBuffer.wrap(Files.readAllBytes(bin));
+        assertEquals(2, binary.getInt());
+        int payloadLength = binary.getInt();
+        assertEquals(binary.remaining(), payloadLength);
+        assertEquals("TestNickOne", readBinaryRecord(binary));
+        assertEquals("Test \"Nick\"\tTwo", readBinaryRecord(binary));
+        assertFalse(binary.hasRemaining());
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        ByteArrayOutputStream errorOutput = new ByteArrayOutputStream();
+        CommandLine commandLine = new CommandLine(new NicknameTuiApp(new CapturingGenerator()));
+        commandLine.setErr(new PrintWriter(errorOutput, true));
+
+        assertEquals(2, commandLine.execute("--format", "xml"));
+        assertTrue(errorOutput.toString().contains("expected one of text, ndjson, csv, bin"));
+    }
+
+    @Test
+    void shouldWriteSameSeededOutputForAnyThreadCount() throws IOException {
+        Path two = directory.resolve("two.txt");
+        Path four = directory.resolve("four.txt");
+        String[] arguments = {"--count", "3000", "--generator", "dota-pro", "--seed", "3"};
+
+        assertEquals(0, execute(new ExtensibleNicknameGenerator(), withThreads(arguments, "2", two)));
+        assertEquals(0, execute(new ExtensibleNicknameGenerator(), withThreads(arguments, "4", four)));
+
+        List<String> lines = Files.readAllLines(two, StandardCharsets.UTF_8);
+        assertEquals(3000, lines.stream().distinct().count());
+        assertEquals(lines, Files.readAllLines(four, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldProcessRequestFileAndReportBadLines() throws IOException {
+        Path requests = directory.resolve("requests.txt");
+        Path file = directory.resolve("tagged.txt");
+        Files.writeString(requests, String.join("\n",
+                "id=first&count=3&generator=cs-pro&seed=1&word=ace",
+                "# comment",
+                "",
+                "count=2&generator=unknown-generator",
+                "locale=XX",
+                "id=b&format=csv",
+                "count=2&generator=dota-pro&locale=ru"
+        ), StandardCharsets.UTF_8);
+        ByteArrayOutputStream errorOutput = new ByteArrayOutputStream();
+        CommandLine commandLine = new CommandLine(new NicknameTuiApp());
+        commandLine.setErr(new PrintWriter(errorOutput, true));
+
+        int exitCode = commandLine.execute("--requests", requests.toString(), "--output", file.toString());
+
+        List<String> expected = new ArrayList<>();
+        new ExtensibleNicknameGenerator().generate(new GenerationRequest(
+                3,
+                NicknameLocale.EN,
+                NicknameTemplate.ADJ_NOUN,
+                1L,
+                StandardNicknameGenerators.COUNTER_STRIKE_PRO,
+                Map.of(GenerationOptionKeys.USER_WORD, "ace")
+        )).forEach(result -> expected.add("first\t" + result.value()));
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(2, exitCode);
+        assertEquals(expected, lines.subList(0, 3));
+        assertEquals(2, lines.subList(3, lines.size()).stream().filter(line -> line.startsWith("7\t")).count());
+        assertEquals(5, lines.size());
+        String errors = errorOutput.toString();
+        assertTrue(errors.contains("request 4 (line 4): Unknown generatorId"), errors);
+        assertTrue(errors.contains("request 5 (line 5): Unknown locale: XX"), errors);
+        assertTrue(errors.contains("request b (line 6): format is set for the whole run"), errors);
+    }
+
+    @Test
+    void shouldKeepProcessingRequestFileAfterUnexpectedGeneratorFailure() throws IOException {
+        Path requests = directory.resolve("requests.txt");
+        Path file = directory.resolve("tagged.txt");
+        Files.writeString(requests, String.join("\n",
+                "id=a",
+                "id=bad&word=boom",
+                "id=c"
+        ), StandardCharsets.UTF_8);
+        ByteArrayOutputStream errorOutput = new ByteArrayOutputStream();
+        CommandLine commandLine = new CommandLine(new NicknameTuiApp(new ExplodingGenerator()));
+        commandLine.setErr(new PrintWriter(errorOutput, true));
+
+        int exitCode = commandLine.execute("--requests", requests.toString(), "--output", file.toString());
+
+        assertEquals(2, exitCode);
+        assertEquals(List.of("a\tSafeNick", "c\tSafeNick"), Files.readAllLines(file, StandardCharsets.UTF_8));
+        String errors = errorOutput.toString();
+        assertTrue(errors.contains("request bad (line 2): IllegalStateException: profile exploded"), errors);
+    }
+
+    @Test
+    void shouldLeaveNoRecordsOfRequestThatFailsMidway() throws IOException {
+        Path requests = directory.resolve("requests.txt");
+        Path file = directory.resolve("tagged.txt");
+        Files.writeString(requests, String.join("\n",
+                "id=a&count=2",
+                "id=bad&count=20000",
+                "id=c&count=1"
+        ), StandardCharsets.UTF_8);
+        ByteArrayOutputStream errorOutput = new ByteArrayOutputStream();
+        CommandLine commandLine = new CommandLine(new NicknameTuiApp(new ExhaustingGenerator(10_000)));
+        commandLine.setErr(new PrintWriter(errorOutput, true));
+
+        int exitCode = commandLine.execute("--requests", requests.toString(), "--output", file.toString());
+
+        assertEquals(2, exitCode);
+        assertEquals(
+                List.of("a\tNick0", "a\tNick1", "c\tNick0"),
+                Files.readAllLines(file, StandardCharsets.UTF_8)
+        );
+        String errors = errorOutput.toString();
+        assertTrue(errors.contains("request bad (line 2): Could not generate 20000"), errors);
+    }
+
+    @Test
+    void shouldRejectUnorderedSeededGeneration() {
+        ByteArrayOutputStream errorOutput = new ByteArrayOutputStream();
+        CommandLine commandLine = new CommandLine(new NicknameTuiApp(new CapturingGenerator()));
+        commandLine.setErr(new PrintWriter(errorOutput, true));
+
+        assertEquals(2, commandLine.execute("--threads", "4", "--unordered", "--seed", "1"));
+        assertTrue(errorOutput.toString().contains("--unordered cannot be combined with --seed"));
+    }
+
     @Test
     void shouldReturnValidationErrorForInvalidCount() {
         NicknameTuiApp app = new NicknameTuiApp(new ValidatingGenerator());
@@ -78,6 +267,37 @@ class NicknameTuiAppTest {
         assertTrue(errorOutput.toString().contains("Unknown generatorId"));
     }
 
+    private static int execute(NicknameGenerator generator, String... arguments) {
+        return new CommandLine(new NicknameTuiApp(generator)).execute(arguments);
+    }
+
+    private static String[] withFormat(String[] arguments, String format, Path file) {
+        List<String> all = new ArrayList<>(List.of(arguments));
+        all.addAll(List.of("--format", format, "--output", file.toString()));
+        return all.toArray(String[]::new);
+    }
+
+    private static String[] withThreads(String[] arguments, String threads, Path file) {
+        List<String> all = new ArrayList<>(List.of(arguments));
+        all.addAll(List.of("--threads", threads, "--output", file.toString()));
+        return all.toArray(String[]::new);
+    }
+
+    private static String readBinaryRecord(ByteBuffer binary) {
+        byte[] value = new byte[Short.toUnsignedInt(binary.getShort())];
+        binary.get(value);
+        assertEquals("cs-pro", readShortString(binary));
+        assertEquals("RU", readShortString(binary));
+        assertEquals("ADJ_NOUN", readShortString(binary));
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static String readShortString(ByteBuffer binary) {
+        byte[] value = new byte[Byte.toUnsignedInt(binary.get())];
+        binary.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
     private static final class CapturingGenerator implements NicknameGenerator {
         private GenerationRequest lastRequest;
 
@@ -91,6 +311,21 @@ class NicknameTuiAppTest {
         }
     }
 
+    private static final class FixedGenerator implements NicknameGenerator {
+        private final List<String> values;
+
+        private FixedGenerator(String... values) {
+            this.values = List.of(values);
+        }
+
+        @Override
+        public List<NicknameResult> generate(GenerationRequest request) {
+            return values.stream()
+                    .map(value -> new NicknameResult(value, request.locale(), request.template()))
+                    .toList();
+        }
+    }
+
     private static final class ValidatingGenerator implements NicknameGenerator {
         @Override
         public List<NicknameResult> generate(GenerationRequest request) {
@@ -100,4 +335,40 @@ class NicknameTuiAppTest {
             return List.of(new NicknameResult("FallbackNick", request.locale(), request.template()));
         }
     }
+
+    // Writes nicknames straight into the sink and runs out of them after limit, like a profile with a small space.
+    private static final class ExhaustingGenerator implements NicknameGenerator {
+        private final int limit;
+
+        private ExhaustingGenerator(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public List<NicknameResult> generate(GenerationRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int generateInto(GenerationRequest request, Utf8NicknameSink target) throws IOException {
+            for (int index = 0; index < request.count(); index++) {
+                if (index == limit) {
+                    throw new NotEnoughUniqueNicknamesException("Could not generate " + request.count() + " nicknames");
+                }
+                byte[] value = ("Nick" + index).getBytes(StandardCharsets.UTF_8);
+                target.accept(value, 0, value.length);
+            }
+            return request.count();
+        }
+    }
+
+    private static final class ExplodingGenerator implements NicknameGenerator {
+        @Override
+        public List<NicknameResult> generate(GenerationRequest request) {
+            if ("boom".equals(request.options().get(GenerationOptionKeys.USER_WORD))) {
+                throw new IllegalStateException("profile exploded");
+            }
+            return List.of(new NicknameResult("SafeNick", request.locale(), request.template()));
+        }
+    }
 }
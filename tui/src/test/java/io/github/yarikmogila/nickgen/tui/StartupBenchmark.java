@@ -0,0 +1,98 @@
+package io.github.yarikmogila.nickgen.tui;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+// Time to first nickname of `nickgen --count 1` in fresh processes: the application jars on the full JDK, the same
+// jars on the trimmed runtime, and the image launcher, which adds the AppCDS archive. Run with
+// `gradle :tui:startupBenchmark`, which builds the image first.
+public final class StartupBenchmark {
+
+    private static final int DEFAULT_RUNS = 21;
+    private static final String MAIN_CLASS = NicknameTuiApp.class.getName();
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path image = Path.of(args[0]);
+        Path fullJdkJava = Path.of(args[1]);
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_RUNS;
+        String classPath = imageClassPath(image);
+
+        List<List<String>> commands = List.of(
+                List.of(fullJdkJava.toString(), "-cp", classPath, MAIN_CLASS, "--count", "1"),
+                List.of(image.resolve("runtime/bin/java").toString(), "-cp", classPath, MAIN_CLASS, "--count", "1"),
+                List.of(image.resolve("bin/nickgen").toString(), "--count", "1")
+        );
+        String[] labels = {"jdk", "jlink", "jlink+appcds"};
+
+        System.out.printf(Locale.ROOT, "time to first nickname, median of %d fresh processes%n", runs);
+        long[][] firstNicknameNanos = new long[commands.size()][runs];
+        long[][] processNanos = new long[commands.size()][runs];
+        for (List<String> command : commands) {
+            run(command);
+        }
+        // Configurations take turns, so drift in machine load spreads evenly over all of them.
+        for (int run = 0; run < runs; run++) {
+            for (int command = 0; command < commands.size(); command++) {
+                long started = System.nanoTime();
+                firstNicknameNanos[command][run] = run(commands.get(command)) - started;
+                processNanos[command][run] = System.nanoTime() - started;
+            }
+        }
+        for (int command = 0; command < commands.size(); command++) {
+            System.out.printf(
+                    Locale.ROOT,
+                    "%-13s first nickname=%7.1f ms  process=%7.1f ms%n",
+                    labels[command],
+                    median(firstNicknameNanos[command]) / 1_000_000.0,
+                    median(processNanos[command]) / 1_000_000.0
+            );
+        }
+    }
+
+    // Same jars in the same order as the launcher, so the runs differ only in runtime and archive.
+    private static String imageClassPath(Path image) throws IOException {
+        String launcher = Files.readString(image.resolve("bin/nickgen"));
+        int start = launcher.indexOf("CLASSPATH=") + "CLASSPATH=".length();
+        String jars = launcher.substring(start, launcher.indexOf('\n', start));
+        return String.join(
+                File.pathSeparator,
+                Stream.of(jars.split(":")).map(jar -> jar.replace("$APP_HOME", image.toString())).toList()
+        );
+    }
+
+    // Returns System.nanoTime() at the end of the first output line, then waits for the process to exit.
+    private static long run(List<String> command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(new ArrayList<>(command))
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        long firstLine = 0;
+        try (InputStream output = process.getInputStream()) {
+            for (int next = output.read(); next >= 0; next = output.read()) {
+                if (next == '\n' && firstLine == 0) {
+                    firstLine = System.nanoTime();
+                }
+            }
+        }
+        if (process.waitFor() != 0 || firstLine == 0) {
+            throw new IllegalStateException("Startup run failed: " + command);
+        }
+        return firstLine;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}